@@ -0,0 +1,80 @@
+package engine.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BasicBlock {
+    private final int id;
+    private final int startIndex;
+    private final int endIndex;
+    private final long cycles;
+    private final List<Integer> successors;
+    private final List<Integer> predecessors;
+    private boolean exitsProgram;
+
+    BasicBlock(int id, int startIndex, int endIndex, long cycles) {
+        this.id = id;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.cycles = cycles;
+        this.successors = new ArrayList<>(2);
+        this.predecessors = new ArrayList<>(2);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    public int getEndIndex() {
+        return endIndex;
+    }
+
+    public int getLastIndex() {
+        return endIndex - 1;
+    }
+
+    public int size() {
+        return endIndex - startIndex;
+    }
+
+    public boolean contains(int instructionIndex) {
+        return instructionIndex >= startIndex && instructionIndex < endIndex;
+    }
+
+    public long getCycles() {
+        return cycles;
+    }
+
+    public List<Integer> getSuccessors() {
+        return Collections.unmodifiableList(successors);
+    }
+
+    public List<Integer> getPredecessors() {
+        return Collections.unmodifiableList(predecessors);
+    }
+
+    public boolean exitsProgram() {
+        return exitsProgram;
+    }
+
+    void addSuccessor(BasicBlock successor) {
+        if (!successors.contains(successor.id)) {
+            successors.add(successor.id);
+            successor.predecessors.add(id);
+        }
+    }
+
+    void markExit() {
+        exitsProgram = true;
+    }
+
+    @Override
+    public String toString() {
+        return "B" + id + "[" + startIndex + ".." + endIndex + ")";
+    }
+}
@@ -0,0 +1,453 @@
+package engine.analysis;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.model.SEmulatorConstants;
+import engine.model.SProgramImpl;
+import engine.model.instruction.basic.NeutralInstruction;
+import engine.model.instruction.synthetic.GotoLabelInstruction;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConstantPropagator {
+    private static final int UNKNOWN = -1;
+    private static final int NONE = -1;
+    private static final int WRITTEN = 1;
+
+    private enum Decision {
+        UNKNOWN,
+        TAKEN,
+        NOT_TAKEN
+    }
+
+    public SProgram propagate(SProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        int size = program.size();
+        if (size == 0) {
+            return program;
+        }
+
+        Map<String, Integer> variableIds = new HashMap<>();
+        int[] variables = new int[size];
+        int[] sources = new int[size];
+        for (int i = 0; i < size; i++) {
+            SInstruction instruction = program.instructionAt(i);
+            variables[i] = intern(variableIds, instruction.getVariable());
+            sources[i] = intern(variableIds, instruction.getSourceVariable());
+        }
+
+        int variableCount = variableIds.size();
+        boolean[] working = new boolean[variableCount];
+        int[] entry = new int[variableCount * 2];
+        for (Map.Entry<String, Integer> variable : variableIds.entrySet()) {
+            working[variable.getValue()] = SEmulatorConstants.Z_VARIABLE_PATTERN.matcher(variable.getKey()).matches();
+            if (SEmulatorConstants.X_VARIABLE_PATTERN.matcher(variable.getKey()).matches()) {
+                entry[variable.getValue()] = UNKNOWN;
+            }
+        }
+
+        Propagation propagation = new Propagation(program, ControlFlowGraph.of(program), variables, sources, entry);
+        SInstruction[] rewritten = new SInstruction[size];
+        boolean changed = propagation.fold(rewritten, working);
+        for (int i = 0; i < size; i++) {
+            if (rewritten[i] == null) {
+                rewritten[i] = program.instructionAt(i);
+            }
+        }
+
+        while (eliminateDeadStores(program, rewritten, variables, sources, working)) {
+            changed = true;
+        }
+        if (!changed) {
+            return program;
+        }
+
+        SInstruction[] ancestors = new SInstruction[size];
+        for (int i = 0; i < size; i++) {
+            ancestors[i] = program.sourceInstructionAt(i);
+        }
+
+        SProgramImpl optimized = new SProgramImpl(program.getName());
+        mergeFoldedRuns(rewritten, ancestors, optimized);
+        optimized.setFunctionRegistry(program.getFunctionRegistry());
+        optimized.freeze();
+        return optimized;
+    }
+
+    private static int intern(Map<String, Integer> variableIds, String variable) {
+        if (variable == null || variable.trim().isEmpty()) {
+            return NONE;
+        }
+        return variableIds.computeIfAbsent(variable.trim(), name -> variableIds.size());
+    }
+
+    private static boolean eliminateDeadStores(SProgram program, SInstruction[] rewritten, int[] variables,
+                                               int[] sources, boolean[] working) {
+        SProgramImpl current = new SProgramImpl(program.getName());
+        for (SInstruction instruction : rewritten) {
+            current.addInstruction(instruction);
+        }
+        ControlFlowGraph graph = ControlFlowGraph.of(current);
+        List<BasicBlock> blocks = graph.getBlocks();
+
+        BitSet[] liveIn = new BitSet[blocks.size()];
+        for (int id = 0; id < liveIn.length; id++) {
+            liveIn[id] = new BitSet();
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int id = blocks.size() - 1; id >= 0; id--) {
+                BasicBlock block = blocks.get(id);
+                BitSet live = liveOut(block, liveIn, working.length);
+                for (int i = block.getLastIndex(); i >= block.getStartIndex(); i--) {
+                    applyInstruction(rewritten[i], variables[i], sources[i], working.length, live);
+                }
+                if (!live.equals(liveIn[id])) {
+                    liveIn[id] = live;
+                    changed = true;
+                }
+            }
+        }
+
+        boolean eliminated = false;
+        for (BasicBlock block : blocks) {
+            BitSet live = liveOut(block, liveIn, working.length);
+            for (int i = block.getLastIndex(); i >= block.getStartIndex(); i--) {
+                SInstruction instruction = rewritten[i];
+                int variable = variables[i];
+                if (isStore(instruction) && variable != NONE && working[variable] && !live.get(variable)) {
+                    rewritten[i] = neutralize(instruction, instruction.getCycles());
+                    eliminated = true;
+                    continue;
+                }
+                applyInstruction(instruction, variable, sources[i], working.length, live);
+            }
+        }
+        return eliminated;
+    }
+
+    private static BitSet liveOut(BasicBlock block, BitSet[] liveIn, int variableCount) {
+        BitSet out = new BitSet();
+        if (block.exitsProgram()) {
+            out.set(0, variableCount);
+        }
+        for (int successor : block.getSuccessors()) {
+            out.or(liveIn[successor]);
+        }
+        return out;
+    }
+
+    private static void applyInstruction(SInstruction instruction, int variable, int source, int variableCount, BitSet live) {
+        switch (instruction.getName()) {
+            case SEmulatorConstants.INCREASE_NAME:
+            case SEmulatorConstants.DECREASE_NAME:
+            case SEmulatorConstants.JUMP_NOT_ZERO_NAME:
+            case SEmulatorConstants.JUMP_ZERO_NAME:
+            case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME:
+                live.set(variable);
+                break;
+            case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME:
+                live.set(variable);
+                live.set(source);
+                break;
+            case SEmulatorConstants.ZERO_VARIABLE_NAME:
+            case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+                live.clear(variable);
+                break;
+            case SEmulatorConstants.ASSIGNMENT_NAME:
+                live.clear(variable);
+                live.set(source);
+                break;
+            case SEmulatorConstants.QUOTE_NAME:
+            case SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME:
+                live.set(0, variableCount);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean isStore(SInstruction instruction) {
+        switch (instruction.getName()) {
+            case SEmulatorConstants.INCREASE_NAME:
+            case SEmulatorConstants.DECREASE_NAME:
+            case SEmulatorConstants.ZERO_VARIABLE_NAME:
+            case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+            case SEmulatorConstants.ASSIGNMENT_NAME:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static SInstruction neutralize(SInstruction instruction, int cycles) {
+        return new NeutralInstruction(instruction.getVariable(), instruction.getLabel(), cycles, null);
+    }
+
+    private static void mergeFoldedRuns(SInstruction[] instructions, SInstruction[] ancestors, SProgramImpl target) {
+        List<SInstruction> merged = new ArrayList<>(instructions.length);
+        List<SInstruction> mergedAncestors = new ArrayList<>(instructions.length);
+        for (int i = 0; i < instructions.length; i++) {
+            SInstruction instruction = instructions[i];
+            int last = merged.size() - 1;
+            SInstruction previous = last >= 0 ? merged.get(last) : null;
+            if (previous == null || !SEmulatorConstants.NEUTRAL_NAME.equals(previous.getName()) || instruction.getLabel() != null) {
+                merged.add(instruction);
+                mergedAncestors.add(ancestors[i]);
+                continue;
+            }
+
+            int cycles = previous.getCycles() + instruction.getCycles();
+            if (SEmulatorConstants.NEUTRAL_NAME.equals(instruction.getName())) {
+                merged.set(last, new NeutralInstruction(instruction.getVariable(), previous.getLabel(), cycles, null));
+                mergedAncestors.set(last, ancestors[i]);
+            } else if (SEmulatorConstants.GOTO_LABEL_NAME.equals(instruction.getName()) &&
+                       !instruction.getTargetLabel().trim().equals(previous.getLabel())) {
+                merged.set(last, new GotoLabelInstruction(instruction.getVariable(), previous.getLabel(),
+                    instruction.getTargetLabel(), cycles, null));
+                mergedAncestors.set(last, ancestors[i]);
+            } else {
+                merged.add(instruction);
+                mergedAncestors.add(ancestors[i]);
+            }
+        }
+        for (int i = 0; i < merged.size(); i++) {
+            target.addInstruction(merged.get(i), mergedAncestors.get(i));
+        }
+    }
+
+    private static final class Propagation {
+        private final SProgram program;
+        private final ControlFlowGraph graph;
+        private final int[] variables;
+        private final int[] sources;
+        private final int variableCount;
+        private final int[][] blockStates;
+
+        private Propagation(SProgram program, ControlFlowGraph graph, int[] variables, int[] sources, int[] entry) {
+            this.program = program;
+            this.graph = graph;
+            this.variables = variables;
+            this.sources = sources;
+            this.variableCount = entry.length / 2;
+            this.blockStates = new int[graph.getBlockCount()][];
+            blockStates[0] = entry;
+            solve();
+        }
+
+        private void solve() {
+            List<Integer> order = graph.getReversePostOrder();
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int id : order) {
+                    if (blockStates[id] == null) {
+                        continue;
+                    }
+                    BasicBlock block = graph.getBlock(id);
+                    int[] state = blockStates[id].clone();
+                    for (int i = block.getStartIndex(); i < block.getEndIndex(); i++) {
+                        transfer(i, state);
+                    }
+                    for (int successor : block.getSuccessors()) {
+                        int[] edge = edgeState(block, state, successor);
+                        if (edge != null && merge(successor, edge)) {
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean fold(SInstruction[] rewritten, boolean[] working) {
+            boolean changed = false;
+            for (BasicBlock block : graph.getBlocks()) {
+                if (blockStates[block.getId()] == null) {
+                    continue;
+                }
+                int[] state = blockStates[block.getId()].clone();
+                for (int i = block.getStartIndex(); i < block.getEndIndex(); i++) {
+                    SInstruction instruction = program.instructionAt(i);
+                    if (isRedundantStore(instruction, variables[i], state, working)) {
+                        rewritten[i] = neutralize(instruction, instruction.getCycles());
+                        changed = true;
+                    } else if (!SEmulatorConstants.GOTO_LABEL_NAME.equals(instruction.getName())) {
+                        Decision decision = decide(i, state);
+                        if (decision == Decision.TAKEN) {
+                            rewritten[i] = new GotoLabelInstruction(instruction.getVariable(), instruction.getLabel(),
+                                instruction.getTargetLabel(), instruction.getCycles(), null);
+                            changed = true;
+                        } else if (decision == Decision.NOT_TAKEN) {
+                            rewritten[i] = neutralize(instruction, instruction.getCycles());
+                            changed = true;
+                        }
+                    }
+                    transfer(i, state);
+                }
+            }
+            return changed;
+        }
+
+        private boolean isRedundantStore(SInstruction instruction, int variable, int[] state, boolean[] working) {
+            if (variable == NONE || !working[variable] || state[variable] == UNKNOWN ||
+                state[variableCount + variable] != WRITTEN) {
+                return false;
+            }
+            switch (instruction.getName()) {
+                case SEmulatorConstants.ZERO_VARIABLE_NAME:
+                    return state[variable] == 0;
+                case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+                    return state[variable] == instruction.getConstantValue();
+                case SEmulatorConstants.DECREASE_NAME:
+                    return state[variable] == 0;
+                default:
+                    return false;
+            }
+        }
+
+        private void transfer(int index, int[] state) {
+            int variable = variables[index];
+            if (variable == NONE) {
+                return;
+            }
+            SInstruction instruction = program.instructionAt(index);
+            if (isStore(instruction) || SEmulatorConstants.QUOTE_NAME.equals(instruction.getName())) {
+                state[variableCount + variable] = WRITTEN;
+            }
+            switch (instruction.getName()) {
+                case SEmulatorConstants.INCREASE_NAME:
+                    state[variable] = state[variable] == UNKNOWN || state[variable] == Integer.MAX_VALUE
+                        ? UNKNOWN : state[variable] + 1;
+                    break;
+                case SEmulatorConstants.DECREASE_NAME:
+                    state[variable] = state[variable] == UNKNOWN ? UNKNOWN : Math.max(0, state[variable] - 1);
+                    break;
+                case SEmulatorConstants.ZERO_VARIABLE_NAME:
+                    state[variable] = 0;
+                    break;
+                case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+                    state[variable] = instruction.getConstantValue();
+                    break;
+                case SEmulatorConstants.ASSIGNMENT_NAME:
+                    state[variable] = sources[index] == NONE ? UNKNOWN : state[sources[index]];
+                    break;
+                case SEmulatorConstants.QUOTE_NAME:
+                    state[variable] = UNKNOWN;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private Decision decide(int index, int[] state) {
+            int variable = variables[index];
+            int value = variable != NONE ? state[variable] : UNKNOWN;
+            SInstruction instruction = program.instructionAt(index);
+            switch (instruction.getName()) {
+                case SEmulatorConstants.GOTO_LABEL_NAME:
+                    return Decision.TAKEN;
+                case SEmulatorConstants.JUMP_NOT_ZERO_NAME:
+                    return value == UNKNOWN ? Decision.UNKNOWN : value != 0 ? Decision.TAKEN : Decision.NOT_TAKEN;
+                case SEmulatorConstants.JUMP_ZERO_NAME:
+                    return value == UNKNOWN ? Decision.UNKNOWN : value == 0 ? Decision.TAKEN : Decision.NOT_TAKEN;
+                case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME:
+                    return value == UNKNOWN ? Decision.UNKNOWN
+                        : value == instruction.getConstantValue() ? Decision.TAKEN : Decision.NOT_TAKEN;
+                case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME:
+                    int source = sources[index];
+                    if (source == variable) {
+                        return Decision.TAKEN;
+                    }
+                    int compared = source != NONE ? state[source] : UNKNOWN;
+                    return value == UNKNOWN || compared == UNKNOWN ? Decision.UNKNOWN
+                        : value == compared ? Decision.TAKEN : Decision.NOT_TAKEN;
+                default:
+                    return Decision.UNKNOWN;
+            }
+        }
+
+        private int[] edgeState(BasicBlock block, int[] state, int successor) {
+            int last = block.getLastIndex();
+            int target = graph.getJumpTarget(last);
+            if (target == ControlFlowGraph.NO_TARGET) {
+                return state;
+            }
+
+            Decision decision = decide(last, state);
+            boolean viaJump = decision != Decision.NOT_TAKEN && target >= 0 && target < graph.getInstructionCount() &&
+                graph.getBlockAt(target).getId() == successor;
+            boolean viaFallthrough = decision != Decision.TAKEN && last + 1 < graph.getInstructionCount() &&
+                graph.getBlockAt(last + 1).getId() == successor;
+            if (viaJump && viaFallthrough) {
+                return state;
+            }
+            if (viaJump) {
+                return refineTaken(last, state);
+            }
+            if (viaFallthrough) {
+                return refineNotTaken(last, state);
+            }
+            return null;
+        }
+
+        private int[] refineTaken(int index, int[] state) {
+            int variable = variables[index];
+            if (variable == NONE) {
+                return state;
+            }
+            int[] refined = state.clone();
+            SInstruction instruction = program.instructionAt(index);
+            switch (instruction.getName()) {
+                case SEmulatorConstants.JUMP_ZERO_NAME:
+                    refined[variable] = 0;
+                    break;
+                case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME:
+                    refined[variable] = instruction.getConstantValue();
+                    break;
+                case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME:
+                    int source = sources[index];
+                    if (source != NONE && refined[variable] == UNKNOWN) {
+                        refined[variable] = refined[source];
+                    } else if (source != NONE && refined[source] == UNKNOWN) {
+                        refined[source] = refined[variable];
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return refined;
+        }
+
+        private int[] refineNotTaken(int index, int[] state) {
+            int variable = variables[index];
+            if (variable == NONE || !SEmulatorConstants.JUMP_NOT_ZERO_NAME.equals(program.instructionAt(index).getName())) {
+                return state;
+            }
+            int[] refined = state.clone();
+            refined[variable] = 0;
+            return refined;
+        }
+
+        private boolean merge(int blockId, int[] edge) {
+            int[] current = blockStates[blockId];
+            if (current == null) {
+                blockStates[blockId] = edge.clone();
+                return true;
+            }
+            boolean changed = false;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] != UNKNOWN && current[i] != edge[i]) {
+                    current[i] = UNKNOWN;
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+    }
+}
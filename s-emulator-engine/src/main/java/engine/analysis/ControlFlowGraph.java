@@ -0,0 +1,359 @@
+package engine.analysis;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.model.SEmulatorConstants;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class ControlFlowGraph {
+    public static final int NO_TARGET = -1;
+    public static final int EXIT_TARGET = -2;
+
+    private static final Map<SProgram, ControlFlowGraph> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int instructionCount;
+    private final List<BasicBlock> blocks;
+    private final int[] blockOfInstruction;
+    private final int[] jumpTargets;
+    private final int[] reversePostOrder;
+    private final int[] immediateDominators;
+    private final int[] postOrderNumbers;
+    private final List<NaturalLoop> loops;
+
+    private ControlFlowGraph(SProgram program) {
+        this.instructionCount = program.size();
+        this.jumpTargets = resolveJumpTargets(program);
+        this.blockOfInstruction = new int[instructionCount];
+        this.blocks = buildBlocks(program);
+        connectBlocks(program);
+
+        this.postOrderNumbers = new int[blocks.size()];
+        this.reversePostOrder = computeReversePostOrder();
+        this.immediateDominators = computeDominators();
+        this.loops = findLoops();
+    }
+
+    public static ControlFlowGraph of(SProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        ControlFlowGraph graph = CACHE.get(program);
+        if (graph == null || graph.instructionCount != program.size()) {
+            graph = new ControlFlowGraph(program);
+            CACHE.put(program, graph);
+        }
+        return graph;
+    }
+
+    public static void invalidate(SProgram program) {
+        if (program != null) {
+            CACHE.remove(program);
+        }
+    }
+
+    public int getInstructionCount() {
+        return instructionCount;
+    }
+
+    public List<BasicBlock> getBlocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    public BasicBlock getBlock(int blockId) {
+        return blocks.get(blockId);
+    }
+
+    public BasicBlock getEntryBlock() {
+        return blocks.isEmpty() ? null : blocks.get(0);
+    }
+
+    public BasicBlock getBlockAt(int instructionIndex) {
+        if (instructionIndex < 0 || instructionIndex >= instructionCount) {
+            throw new IndexOutOfBoundsException("Instruction index " + instructionIndex + " is outside 0-" + (instructionCount - 1));
+        }
+        return blocks.get(blockOfInstruction[instructionIndex]);
+    }
+
+    public int getJumpTarget(int instructionIndex) {
+        return jumpTargets[instructionIndex];
+    }
+
+    public boolean isReachable(int blockId) {
+        return immediateDominators[blockId] != NO_TARGET;
+    }
+
+    public List<BasicBlock> getUnreachableBlocks() {
+        List<BasicBlock> unreachable = new ArrayList<>();
+        for (BasicBlock block : blocks) {
+            if (!isReachable(block.getId())) {
+                unreachable.add(block);
+            }
+        }
+        return unreachable;
+    }
+
+    public int getImmediateDominator(int blockId) {
+        int dominator = immediateDominators[blockId];
+        return dominator == blockId ? NO_TARGET : dominator;
+    }
+
+    public boolean dominates(int dominator, int blockId) {
+        if (!isReachable(blockId) || !isReachable(dominator)) {
+            return false;
+        }
+        int current = blockId;
+        while (true) {
+            if (current == dominator) {
+                return true;
+            }
+            int next = immediateDominators[current];
+            if (next == current) {
+                return false;
+            }
+            current = next;
+        }
+    }
+
+    public List<Integer> getReversePostOrder() {
+        List<Integer> order = new ArrayList<>(reversePostOrder.length);
+        for (int blockId : reversePostOrder) {
+            order.add(blockId);
+        }
+        return order;
+    }
+
+    public List<NaturalLoop> getLoops() {
+        return loops;
+    }
+
+    public NaturalLoop getInnermostLoop(int blockId) {
+        NaturalLoop innermost = null;
+        for (NaturalLoop loop : loops) {
+            if (loop.containsBlock(blockId) && (innermost == null || loop.getBlockCount() < innermost.getBlockCount())) {
+                innermost = loop;
+            }
+        }
+        return innermost;
+    }
+
+    private static int[] resolveJumpTargets(SProgram program) {
+        int size = program.size();
+        Map<String, Integer> labelIndexes = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String label = program.instructionAt(i).getLabel();
+            if (label != null) {
+                labelIndexes.put(label, i);
+            }
+        }
+
+        int[] targets = new int[size];
+        for (int i = 0; i < size; i++) {
+            String targetLabel = program.instructionAt(i).getTargetLabel();
+            if (targetLabel == null) {
+                targets[i] = NO_TARGET;
+                continue;
+            }
+            String trimmed = targetLabel.trim();
+            Integer index = labelIndexes.get(trimmed);
+            if (SEmulatorConstants.EXIT_LABEL.equals(trimmed) || index == null) {
+                targets[i] = EXIT_TARGET;
+            } else {
+                targets[i] = index == i ? i + 1 : index;
+            }
+        }
+        return targets;
+    }
+
+    private static boolean isUnconditionalJump(SInstruction instruction) {
+        return SEmulatorConstants.GOTO_LABEL_NAME.equals(instruction.getName());
+    }
+
+    private List<BasicBlock> buildBlocks(SProgram program) {
+        BitSet leaders = new BitSet(instructionCount + 1);
+        if (instructionCount > 0) {
+            leaders.set(0);
+        }
+        for (int i = 0; i < instructionCount; i++) {
+            if (jumpTargets[i] == NO_TARGET) {
+                continue;
+            }
+            leaders.set(i + 1);
+            if (jumpTargets[i] >= 0) {
+                leaders.set(jumpTargets[i]);
+            }
+        }
+        leaders.clear(instructionCount);
+
+        List<BasicBlock> result = new ArrayList<>();
+        int start = leaders.nextSetBit(0);
+        while (start >= 0 && start < instructionCount) {
+            int next = leaders.nextSetBit(start + 1);
+            int end = next < 0 ? instructionCount : next;
+            long cycles = 0;
+            for (int i = start; i < end; i++) {
+                cycles += program.instructionAt(i).getCycles();
+                blockOfInstruction[i] = result.size();
+            }
+            result.add(new BasicBlock(result.size(), start, end, cycles));
+            start = next;
+        }
+        return result;
+    }
+
+    private void connectBlocks(SProgram program) {
+        for (BasicBlock block : blocks) {
+            int last = block.getLastIndex();
+            int target = jumpTargets[last];
+            boolean fallsThrough = target == NO_TARGET || !isUnconditionalJump(program.instructionAt(last));
+
+            if (target == EXIT_TARGET) {
+                block.markExit();
+            } else if (target >= 0) {
+                linkTo(block, target);
+            }
+            if (fallsThrough) {
+                linkTo(block, last + 1);
+            }
+        }
+    }
+
+    private void linkTo(BasicBlock block, int instructionIndex) {
+        if (instructionIndex >= instructionCount) {
+            block.markExit();
+        } else {
+            block.addSuccessor(blocks.get(blockOfInstruction[instructionIndex]));
+        }
+    }
+
+    private int[] computeReversePostOrder() {
+        int blockCount = blocks.size();
+        Arrays.fill(postOrderNumbers, NO_TARGET);
+        if (blockCount == 0) {
+            return new int[0];
+        }
+
+        int[] postOrder = new int[blockCount];
+        int visitedCount = 0;
+        boolean[] visited = new boolean[blockCount];
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[] {0, 0});
+        visited[0] = true;
+
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            List<Integer> successors = blocks.get(frame[0]).getSuccessors();
+            if (frame[1] < successors.size()) {
+                int successor = successors.get(frame[1]++);
+                if (!visited[successor]) {
+                    visited[successor] = true;
+                    stack.push(new int[] {successor, 0});
+                }
+            } else {
+                stack.pop();
+                postOrderNumbers[frame[0]] = visitedCount;
+                postOrder[visitedCount++] = frame[0];
+            }
+        }
+
+        int[] order = new int[visitedCount];
+        for (int i = 0; i < visitedCount; i++) {
+            order[i] = postOrder[visitedCount - 1 - i];
+        }
+        return order;
+    }
+
+    private int[] computeDominators() {
+        int[] dominators = new int[blocks.size()];
+        Arrays.fill(dominators, NO_TARGET);
+        if (reversePostOrder.length == 0) {
+            return dominators;
+        }
+
+        dominators[reversePostOrder[0]] = reversePostOrder[0];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < reversePostOrder.length; i++) {
+                int blockId = reversePostOrder[i];
+                int newDominator = NO_TARGET;
+                for (int predecessor : blocks.get(blockId).getPredecessors()) {
+                    if (dominators[predecessor] == NO_TARGET) {
+                        continue;
+                    }
+                    newDominator = newDominator == NO_TARGET ? predecessor : intersect(dominators, predecessor, newDominator);
+                }
+                if (dominators[blockId] != newDominator) {
+                    dominators[blockId] = newDominator;
+                    changed = true;
+                }
+            }
+        }
+        return dominators;
+    }
+
+    private int intersect(int[] dominators, int left, int right) {
+        while (left != right) {
+            while (postOrderNumbers[left] < postOrderNumbers[right]) {
+                left = dominators[left];
+            }
+            while (postOrderNumbers[right] < postOrderNumbers[left]) {
+                right = dominators[right];
+            }
+        }
+        return left;
+    }
+
+    private List<NaturalLoop> findLoops() {
+        Map<Integer, List<Integer>> latchesByHeader = new LinkedHashMap<>();
+        for (int blockId : reversePostOrder) {
+            for (int successor : blocks.get(blockId).getSuccessors()) {
+                if (dominates(successor, blockId)) {
+                    latchesByHeader.computeIfAbsent(successor, header -> new ArrayList<>()).add(blockId);
+                }
+            }
+        }
+
+        List<NaturalLoop> result = new ArrayList<>(latchesByHeader.size());
+        for (Map.Entry<Integer, List<Integer>> entry : latchesByHeader.entrySet()) {
+            int header = entry.getKey();
+            BitSet body = new BitSet(blocks.size());
+            body.set(header);
+            Deque<Integer> worklist = new ArrayDeque<>();
+            for (int latch : entry.getValue()) {
+                if (!body.get(latch)) {
+                    body.set(latch);
+                    worklist.push(latch);
+                }
+            }
+            while (!worklist.isEmpty()) {
+                for (int predecessor : blocks.get(worklist.pop()).getPredecessors()) {
+                    if (isReachable(predecessor) && !body.get(predecessor)) {
+                        body.set(predecessor);
+                        worklist.push(predecessor);
+                    }
+                }
+            }
+
+            long cycles = 0;
+            for (int blockId = body.nextSetBit(0); blockId >= 0; blockId = body.nextSetBit(blockId + 1)) {
+                cycles += blocks.get(blockId).getCycles();
+            }
+            result.add(new NaturalLoop(header, body, entry.getValue(), cycles));
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,47 @@
+package engine.analysis;
+
+import java.util.BitSet;
+import java.util.List;
+
+public class NaturalLoop {
+    private final int headerBlock;
+    private final BitSet bodyBlocks;
+    private final List<Integer> latchBlocks;
+    private final long bodyCycles;
+
+    NaturalLoop(int headerBlock, BitSet bodyBlocks, List<Integer> latchBlocks, long bodyCycles) {
+        this.headerBlock = headerBlock;
+        this.bodyBlocks = bodyBlocks;
+        this.latchBlocks = List.copyOf(latchBlocks);
+        this.bodyCycles = bodyCycles;
+    }
+
+    public int getHeaderBlock() {
+        return headerBlock;
+    }
+
+    public List<Integer> getLatchBlocks() {
+        return latchBlocks;
+    }
+
+    public boolean containsBlock(int blockId) {
+        return blockId >= 0 && bodyBlocks.get(blockId);
+    }
+
+    public int getBlockCount() {
+        return bodyBlocks.cardinality();
+    }
+
+    public int[] getBlocks() {
+        return bodyBlocks.stream().toArray();
+    }
+
+    public long getBodyCycles() {
+        return bodyCycles;
+    }
+
+    @Override
+    public String toString() {
+        return "Loop(header=B" + headerBlock + ", blocks=" + bodyBlocks + ")";
+    }
+}
@@ -0,0 +1,347 @@
+package engine.analysis;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.model.SEmulatorConstants;
+import engine.model.SProgramImpl;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class WorkingVariableCompactor {
+    private static final int NONE = -1;
+
+    private enum ZeroEffect {
+        NONE,
+        ZERO,
+        NONZERO,
+        COPY
+    }
+
+    public SProgram compact(SProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+
+        int size = program.size();
+        Map<String, Integer> variableIds = new HashMap<>();
+        int[] uses = new int[size * 2];
+        int[] definitions = new int[size];
+        int[] sources = new int[size];
+        ZeroEffect[] effects = new ZeroEffect[size];
+        boolean[] zeroOnFallthrough = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            SInstruction instruction = program.instructionAt(i);
+            int variable = intern(variableIds, instruction.getVariable());
+            int source = intern(variableIds, instruction.getSourceVariable());
+            uses[i * 2] = NONE;
+            uses[i * 2 + 1] = NONE;
+            definitions[i] = NONE;
+            sources[i] = source;
+            effects[i] = ZeroEffect.NONE;
+
+            switch (instruction.getName()) {
+                case SEmulatorConstants.INCREASE_NAME:
+                    uses[i * 2] = variable;
+                    definitions[i] = variable;
+                    effects[i] = ZeroEffect.NONZERO;
+                    break;
+                case SEmulatorConstants.DECREASE_NAME:
+                    uses[i * 2] = variable;
+                    definitions[i] = variable;
+                    break;
+                case SEmulatorConstants.JUMP_NOT_ZERO_NAME:
+                    uses[i * 2] = variable;
+                    zeroOnFallthrough[i] = variable != NONE;
+                    break;
+                case SEmulatorConstants.JUMP_ZERO_NAME:
+                case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME:
+                    uses[i * 2] = variable;
+                    break;
+                case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME:
+                    uses[i * 2] = variable;
+                    uses[i * 2 + 1] = source;
+                    break;
+                case SEmulatorConstants.ZERO_VARIABLE_NAME:
+                    definitions[i] = variable;
+                    effects[i] = ZeroEffect.ZERO;
+                    break;
+                case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+                    definitions[i] = variable;
+                    effects[i] = instruction.getConstantValue() == 0 ? ZeroEffect.ZERO : ZeroEffect.NONZERO;
+                    break;
+                case SEmulatorConstants.ASSIGNMENT_NAME:
+                    uses[i * 2] = source;
+                    definitions[i] = variable;
+                    effects[i] = ZeroEffect.COPY;
+                    break;
+                case SEmulatorConstants.NEUTRAL_NAME:
+                case SEmulatorConstants.GOTO_LABEL_NAME:
+                    break;
+                default:
+                    return program;
+            }
+        }
+
+        int variableCount = variableIds.size();
+        if (variableCount == 0) {
+            return program;
+        }
+
+        Analysis analysis = new Analysis(ControlFlowGraph.of(program), variableCount, uses, definitions,
+            sources, effects, zeroOnFallthrough);
+        int[] slots = assignSlots(analysis.buildInterference(), variableCount);
+
+        String[] names = new String[variableCount];
+        for (Map.Entry<String, Integer> entry : variableIds.entrySet()) {
+            names[entry.getValue()] = "z" + (slots[entry.getValue()] + 1);
+        }
+
+        SProgramImpl compacted = new SProgramImpl(program.getName());
+        for (int i = 0; i < size; i++) {
+            SInstruction instruction = program.instructionAt(i);
+            compacted.addInstruction(instruction.withOperands(
+                rename(variableIds, names, instruction.getVariable()),
+                instruction.getLabel(),
+                instruction.getTargetLabel(),
+                rename(variableIds, names, instruction.getSourceVariable()),
+                program.sourceInstructionAt(i)));
+        }
+        compacted.setFunctionRegistry(program.getFunctionRegistry());
+        compacted.freeze();
+        return compacted;
+    }
+
+    private static int intern(Map<String, Integer> variableIds, String variable) {
+        if (variable == null || !SEmulatorConstants.Z_VARIABLE_PATTERN.matcher(variable.trim()).matches()) {
+            return NONE;
+        }
+        return variableIds.computeIfAbsent(variable.trim(), name -> variableIds.size());
+    }
+
+    private static String rename(Map<String, Integer> variableIds, String[] names, String variable) {
+        if (variable == null) {
+            return null;
+        }
+        Integer id = variableIds.get(variable.trim());
+        return id != null ? names[id] : variable;
+    }
+
+    private static int[] assignSlots(BitSet[] interference, int variableCount) {
+        int[] slots = new int[variableCount];
+        BitSet taken = new BitSet();
+        for (int variable = 0; variable < variableCount; variable++) {
+            taken.clear();
+            BitSet neighbours = interference[variable];
+            for (int other = neighbours.nextSetBit(0); other >= 0 && other < variable; other = neighbours.nextSetBit(other + 1)) {
+                taken.set(slots[other]);
+            }
+            slots[variable] = taken.nextClearBit(0);
+        }
+        return slots;
+    }
+
+    private static final class Analysis {
+        private final ControlFlowGraph graph;
+        private final List<BasicBlock> blocks;
+        private final int variableCount;
+        private final int[] uses;
+        private final int[] definitions;
+        private final int[] sources;
+        private final ZeroEffect[] effects;
+        private final boolean[] zeroOnFallthrough;
+        private final BitSet[] liveIn;
+        private final BitSet[] zeroIn;
+
+        private Analysis(ControlFlowGraph graph, int variableCount, int[] uses, int[] definitions, int[] sources,
+                         ZeroEffect[] effects, boolean[] zeroOnFallthrough) {
+            this.graph = graph;
+            this.blocks = graph.getBlocks();
+            this.variableCount = variableCount;
+            this.uses = uses;
+            this.definitions = definitions;
+            this.sources = sources;
+            this.effects = effects;
+            this.zeroOnFallthrough = zeroOnFallthrough;
+            this.zeroIn = computeZeroIn();
+            this.liveIn = computeLiveIn();
+        }
+
+        private BitSet[] computeLiveIn() {
+            BitSet[] generated = new BitSet[blocks.size()];
+            BitSet[] killed = new BitSet[blocks.size()];
+            BitSet[] result = new BitSet[blocks.size()];
+
+            for (BasicBlock block : blocks) {
+                BitSet[] zeroBefore = zeroStates(block);
+                BitSet gen = new BitSet(variableCount);
+                BitSet kill = new BitSet(variableCount);
+                for (int i = block.getLastIndex(); i >= block.getStartIndex(); i--) {
+                    if (definitions[i] != NONE) {
+                        gen.clear(definitions[i]);
+                        kill.set(definitions[i]);
+                    }
+                    addUses(gen, i, zeroBefore[i - block.getStartIndex()]);
+                }
+                generated[block.getId()] = gen;
+                killed[block.getId()] = kill;
+                result[block.getId()] = (BitSet) gen.clone();
+            }
+
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int id = blocks.size() - 1; id >= 0; id--) {
+                    BitSet in = liveOut(blocks.get(id), result);
+                    in.andNot(killed[id]);
+                    in.or(generated[id]);
+                    if (!in.equals(result[id])) {
+                        result[id] = in;
+                        changed = true;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private BitSet[] computeZeroIn() {
+            BitSet[] result = new BitSet[blocks.size()];
+            if (blocks.isEmpty()) {
+                return result;
+            }
+
+            List<Integer> order = graph.getReversePostOrder();
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int id : order) {
+                    BitSet in = new BitSet(variableCount);
+                    in.set(0, variableCount);
+                    boolean reached = id == 0;
+                    for (int predecessor : blocks.get(id).getPredecessors()) {
+                        if (result[predecessor] != null) {
+                            in.and(edgeOut(blocks.get(predecessor), result[predecessor], id));
+                            reached = true;
+                        }
+                    }
+                    if (reached && !in.equals(result[id])) {
+                        result[id] = in;
+                        changed = true;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private BitSet edgeOut(BasicBlock block, BitSet in, int successor) {
+            BitSet out = (BitSet) in.clone();
+            for (int i = block.getStartIndex(); i < block.getEndIndex(); i++) {
+                transfer(out, i);
+            }
+
+            int last = block.getLastIndex();
+            if (zeroOnFallthrough[last]) {
+                int target = graph.getJumpTarget(last);
+                boolean reachedByJump = target >= 0 && target < graph.getInstructionCount() &&
+                    graph.getBlockAt(target).getId() == successor;
+                boolean reachedByFallthrough = last + 1 < graph.getInstructionCount() &&
+                    graph.getBlockAt(last + 1).getId() == successor;
+                if (reachedByFallthrough && !reachedByJump) {
+                    out.set(uses[last * 2]);
+                } else {
+                    out.clear(uses[last * 2]);
+                }
+            }
+            return out;
+        }
+
+        private void transfer(BitSet zeros, int index) {
+            int definition = definitions[index];
+            if (definition == NONE) {
+                return;
+            }
+            switch (effects[index]) {
+                case ZERO:
+                    zeros.set(definition);
+                    break;
+                case NONZERO:
+                    zeros.clear(definition);
+                    break;
+                case COPY:
+                    zeros.set(definition, sources[index] != NONE && zeros.get(sources[index]));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private BitSet[] buildInterference() {
+            BitSet[] interference = new BitSet[variableCount];
+            for (int i = 0; i < variableCount; i++) {
+                interference[i] = new BitSet();
+            }
+
+            for (BasicBlock block : blocks) {
+                BitSet[] zeroBefore = zeroStates(block);
+                BitSet live = liveOut(block, liveIn);
+                for (int i = block.getLastIndex(); i >= block.getStartIndex(); i--) {
+                    BitSet knownZero = zeroBefore[i - block.getStartIndex()];
+                    int definition = definitions[i];
+                    if (definition != NONE) {
+                        for (int other = live.nextSetBit(0); other >= 0; other = live.nextSetBit(other + 1)) {
+                            if (other != definition) {
+                                addEdge(interference, definition, other);
+                            }
+                        }
+                        live.clear(definition);
+                    }
+                    requireZeroSlot(interference, knownZero, uses[i * 2]);
+                    requireZeroSlot(interference, knownZero, uses[i * 2 + 1]);
+                    addUses(live, i, knownZero);
+                }
+            }
+            return interference;
+        }
+
+        private void requireZeroSlot(BitSet[] interference, BitSet knownZero, int variable) {
+            if (variable == NONE || !knownZero.get(variable)) {
+                return;
+            }
+            for (int other = knownZero.nextClearBit(0); other < variableCount; other = knownZero.nextClearBit(other + 1)) {
+                addEdge(interference, variable, other);
+            }
+        }
+
+        private static void addEdge(BitSet[] interference, int left, int right) {
+            interference[left].set(right);
+            interference[right].set(left);
+        }
+
+        private BitSet liveOut(BasicBlock block, BitSet[] live) {
+            BitSet out = new BitSet(variableCount);
+            for (int successor : block.getSuccessors()) {
+                out.or(live[successor]);
+            }
+            return out;
+        }
+
+        private BitSet[] zeroStates(BasicBlock block) {
+            BitSet[] zeroBefore = new BitSet[block.size()];
+            BitSet zeros = zeroIn[block.getId()] != null ? (BitSet) zeroIn[block.getId()].clone() : new BitSet();
+            for (int i = block.getStartIndex(); i < block.getEndIndex(); i++) {
+                zeroBefore[i - block.getStartIndex()] = (BitSet) zeros.clone();
+                transfer(zeros, i);
+            }
+            return zeroBefore;
+        }
+
+        private void addUses(BitSet live, int index, BitSet knownZero) {
+            for (int use : new int[] {uses[index * 2], uses[index * 2 + 1]}) {
+                if (use != NONE && !knownZero.get(use)) {
+                    live.set(use);
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package engine.api;
 
+import java.math.BigInteger;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,16 +9,16 @@ public class ExecutionResult {
     private final int runNumber;
     private final int expansionLevel;
     private final List<Integer> inputs;
-    private final int yValue;
-    private final Map<String, Integer> inputVariables;
-    private final Map<String, Integer> workingVariables;
-    private final int totalCycles;
+    private final BigInteger yValue;
+    private final Map<String, BigInteger> inputVariables;
+    private final Map<String, BigInteger> workingVariables;
+    private final long totalCycles;
     private final List<SInstruction> executedInstructions;
 
     public ExecutionResult(int runNumber, int expansionLevel, List<Integer> inputs, 
-                          int yValue, Map<String, Integer> inputVariables, 
-                          Map<String, Integer> workingVariables,
-                          int totalCycles, List<SInstruction> executedInstructions) {
+                          BigInteger yValue, Map<String, BigInteger> inputVariables, 
+                          Map<String, BigInteger> workingVariables,
+                          long totalCycles, List<SInstruction> executedInstructions) {
         if (inputs == null) {
             throw new IllegalArgumentException("Inputs cannot be null");
         }
@@ -27,6 +28,9 @@ public class ExecutionResult {
         if (workingVariables == null) {
             throw new IllegalArgumentException("Working variables cannot be null");
         }
+        if (yValue == null) {
+            throw new IllegalArgumentException("Y value cannot be null");
+        }
         if (executedInstructions == null) {
             throw new IllegalArgumentException("Executed instructions cannot be null");
         }
@@ -62,19 +66,19 @@ public class ExecutionResult {
         return inputs;
     }
 
-    public int getYValue() {
+    public BigInteger getYValue() {
         return yValue;
     }
 
-    public Map<String, Integer> getInputVariables() {
+    public Map<String, BigInteger> getInputVariables() {
         return inputVariables;
     }
 
-    public Map<String, Integer> getWorkingVariables() {
+    public Map<String, BigInteger> getWorkingVariables() {
         return workingVariables;
     }
 
-    public int getTotalCycles() {
+    public long getTotalCycles() {
         return totalCycles;
     }
 
@@ -0,0 +1,12 @@
+package engine.api;
+
+@FunctionalInterface
+public interface LoadProgressListener {
+    void onProgress(LoadStage stage, double progress);
+
+    static void report(LoadProgressListener listener, LoadStage stage, double fraction) {
+        if (listener != null) {
+            listener.onProgress(stage, stage.progressAt(fraction));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package engine.api;
+
+public enum LoadStage {
+    VALIDATING(0.0, 0.25),
+    PARSING(0.25, 0.7),
+    CONVERTING_FUNCTIONS(0.7, 0.85),
+    LINKING(0.85, 0.95),
+    WARMING_UP(0.95, 1.0),
+    COMPLETE(1.0, 1.0);
+
+    private final double start;
+    private final double end;
+
+    LoadStage(double start, double end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public double progressAt(double fraction) {
+        double clamped = Math.max(0.0, Math.min(1.0, fraction));
+        return start + (end - start) * clamped;
+    }
+}
@@ -2,13 +2,25 @@ package engine.api;
 
 import engine.exception.SProgramException;
 import engine.execution.ExecutionContext;
+import engine.expansion.ExpansionEstimate;
 import engine.model.FunctionRegistry;
+import engine.model.ValueMode;
+import engine.reload.ReloadReport;
+import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
 
 public interface SEmulatorEngine {
     void loadProgram(String xmlFilePath) throws SProgramException;
     
+    void loadProgram(String xmlFilePath, LoadProgressListener listener) throws SProgramException;
+    
+    void saveProgram(String filePath) throws SProgramException;
+    
+    ReloadReport reloadProgram() throws SProgramException;
+    
+    String getCurrentFilePath();
+    
     SProgram getCurrentProgram();
     
     boolean isProgramLoaded();
@@ -30,6 +42,30 @@ public interface SEmulatorEngine {
     
     int getMaxExpansionLevel();
     
+    ExpansionEstimate estimateExpansion(SProgram program) throws SProgramException;
+    
+    long getExpansionBudget();
+    
+    void setExpansionBudget(long maxInstructions);
+    
+    boolean isLazyExpansionEnabled();
+    
+    void setLazyExpansionEnabled(boolean lazyExpansionEnabled);
+    
+    boolean isOptimizationEnabled();
+    
+    void setOptimizationEnabled(boolean optimizationEnabled);
+    
+    ValueMode getValueMode();
+    
+    void setValueMode(ValueMode valueMode);
+    
+    void trustProgramHash(String sha256);
+    
+    String getProgramCacheDirectory();
+    
+    void setProgramCacheDirectory(String directory) throws SProgramException;
+    
     void startDebugSession(int expansionLevel, List<Integer> inputs) throws SProgramException;
     
     void startDebugSessionForProgram(SProgram program, int expansionLevel, List<Integer> inputs) throws SProgramException;
@@ -44,9 +80,9 @@ public interface SEmulatorEngine {
     
     ExecutionContext getCurrentExecutionState();
     
-    Map<String, Integer> getChangedVariables();
+    Map<String, BigInteger> getChangedVariables();
     
     FunctionRegistry getFunctionRegistry();
     
-    SProgram getFunction(String functionName);
+    SProgram getFunction(String functionName) throws SProgramException;
 }
@@ -17,6 +17,19 @@ public interface SInstruction {
     
     Map<String, String> getArguments();
     
+    String getTargetLabel();
+    
+    String getSourceVariable();
+    
+    Integer getConstantValue();
+    
+    String getFunctionName();
+    
+    String getFunctionArguments();
+    
+    SInstruction withOperands(String variable, String label, String targetLabel,
+                              String sourceVariable, SInstruction sourceInstruction);
+    
     int getCycles();
     
     List<SInstruction> expand(ExpansionContext context);
@@ -27,9 +40,7 @@ public interface SInstruction {
     
     SInstruction getSourceInstruction();
     
-    List<SInstruction> getAncestryChain();
-    
-    String toStringWithHistory(int currentLineNumber);
+    String toStringWithHistory(int currentLineNumber, List<SInstruction> ancestryChain);
     
     String toStringWithMultiLevelHistory(List<engine.expansion.MultiLevelExpansion.InstructionAncestor> ancestry);
 }
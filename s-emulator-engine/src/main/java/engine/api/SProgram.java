@@ -8,6 +8,14 @@ public interface SProgram {
     
     List<SInstruction> getInstructions();
     
+    SInstruction instructionAt(int index);
+    
+    SInstruction sourceInstructionAt(int index);
+    
+    List<SInstruction> ancestryChainAt(int index);
+    
+    int size();
+    
     List<String> getInputVariables();
     
     List<String> getLabels();
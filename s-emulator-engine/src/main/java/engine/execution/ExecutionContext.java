@@ -3,6 +3,8 @@ package engine.execution;
 import engine.api.SInstruction;
 import engine.model.FunctionRegistry;
 import engine.model.SEmulatorConstants;
+import engine.model.ValueMode;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,7 +13,7 @@ import java.util.Map;
 public class ExecutionContext {
     private final VariableManager variableManager;
     private int currentInstructionIndex;
-    private int totalCycles;
+    private long totalCycles;
     private boolean programTerminated;
     private String terminationReason;
     private Map<String, Integer> labelToIndexMap;
@@ -20,15 +22,19 @@ public class ExecutionContext {
     
     private boolean debugMode;
     private boolean pauseRequested;
-    private Map<String, Integer> previousVariableState;
-    private Map<String, Integer> changedVariables;
+    private Map<String, BigInteger> previousVariableState;
+    private Map<String, BigInteger> changedVariables;
     
     private boolean virtualExecutionMode;
     
     private FunctionRegistry functionRegistry;
 
     public ExecutionContext() {
-        this.variableManager = new VariableManager();
+        this(ValueMode.LONG);
+    }
+
+    public ExecutionContext(ValueMode valueMode) {
+        this.variableManager = new VariableManager(valueMode);
         this.currentInstructionIndex = 0;
         this.totalCycles = 0;
         this.programTerminated = false;
@@ -51,6 +57,10 @@ public class ExecutionContext {
         return variableManager;
     }
 
+    public ValueMode getValueMode() {
+        return variableManager.getValueMode();
+    }
+
     public int getCurrentInstructionIndex() {
         return currentInstructionIndex;
     }
@@ -62,11 +72,11 @@ public class ExecutionContext {
         this.currentInstructionIndex = currentInstructionIndex;
     }
 
-    public int getTotalCycles() {
+    public long getTotalCycles() {
         return totalCycles;
     }
 
-    public void addCycles(int cycles) {
+    public void addCycles(long cycles) {
         if (cycles < 0) {
             throw new IllegalArgumentException("Cycles cannot be negative: " + cycles);
         }
@@ -207,10 +217,10 @@ public class ExecutionContext {
         
         previousVariableState.clear();
         
-        Map<String, Integer> inputVars = variableManager.getSortedInputVariablesMap();
+        Map<String, BigInteger> inputVars = variableManager.getSortedInputVariablesMap();
         previousVariableState.putAll(inputVars);
         
-        Map<String, Integer> workingVars = variableManager.getSortedWorkingVariablesMap();
+        Map<String, BigInteger> workingVars = variableManager.getSortedWorkingVariablesMap();
         previousVariableState.putAll(workingVars);
         
         previousVariableState.put("y", variableManager.getYValue());
@@ -223,36 +233,36 @@ public class ExecutionContext {
         
         changedVariables.clear();
         
-        Map<String, Integer> currentInputVars = variableManager.getSortedInputVariablesMap();
-        for (Map.Entry<String, Integer> entry : currentInputVars.entrySet()) {
+        Map<String, BigInteger> currentInputVars = variableManager.getSortedInputVariablesMap();
+        for (Map.Entry<String, BigInteger> entry : currentInputVars.entrySet()) {
             String varName = entry.getKey();
-            Integer currentValue = entry.getValue();
-            Integer previousValue = previousVariableState.get(varName);
+            BigInteger currentValue = entry.getValue();
+            BigInteger previousValue = previousVariableState.get(varName);
             
             if (previousValue == null || !previousValue.equals(currentValue)) {
                 changedVariables.put(varName, currentValue);
             }
         }
         
-        Map<String, Integer> currentWorkingVars = variableManager.getSortedWorkingVariablesMap();
-        for (Map.Entry<String, Integer> entry : currentWorkingVars.entrySet()) {
+        Map<String, BigInteger> currentWorkingVars = variableManager.getSortedWorkingVariablesMap();
+        for (Map.Entry<String, BigInteger> entry : currentWorkingVars.entrySet()) {
             String varName = entry.getKey();
-            Integer currentValue = entry.getValue();
-            Integer previousValue = previousVariableState.get(varName);
+            BigInteger currentValue = entry.getValue();
+            BigInteger previousValue = previousVariableState.get(varName);
             
             if (previousValue == null || !previousValue.equals(currentValue)) {
                 changedVariables.put(varName, currentValue);
             }
         }
         
-        int currentY = variableManager.getYValue();
-        Integer previousY = previousVariableState.get("y");
+        BigInteger currentY = variableManager.getYValue();
+        BigInteger previousY = previousVariableState.get("y");
         if (previousY == null || !previousY.equals(currentY)) {
             changedVariables.put("y", currentY);
         }
     }
     
-    public Map<String, Integer> getChangedVariables() {
+    public Map<String, BigInteger> getChangedVariables() {
         return new HashMap<>(changedVariables);
     }
 
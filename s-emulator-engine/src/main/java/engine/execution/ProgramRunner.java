@@ -4,12 +4,30 @@ import engine.api.ExecutionResult;
 import engine.api.SInstruction;
 import engine.api.SProgram;
 import engine.exception.ExecutionException;
+import engine.exception.ExpansionException;
+import engine.expansion.StreamingExpansion;
+import engine.model.SEmulatorConstants;
+import engine.model.ValueMode;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class ProgramRunner {
-    private static final int MAX_EXECUTION_STEPS = 1000000;
+    private static final int MAX_EXECUTION_STEPS = SEmulatorConstants.MAX_EXECUTION_STEPS;
+
+    private ValueMode valueMode = ValueMode.LONG;
+
+    public ValueMode getValueMode() {
+        return valueMode;
+    }
+
+    public void setValueMode(ValueMode valueMode) {
+        if (valueMode == null) {
+            throw new IllegalArgumentException("Value mode cannot be null");
+        }
+        this.valueMode = valueMode;
+    }
 
     public ExecutionResult executeProgram(SProgram program, List<Integer> inputs, int runNumber, int expansionLevel) throws ExecutionException {
         if (program == null) {
@@ -30,7 +48,7 @@ public class ProgramRunner {
             throw new ExecutionException("Program must contain at least one instruction");
         }
 
-        ExecutionContext context = new ExecutionContext();
+        ExecutionContext context = new ExecutionContext(valueMode);
         context.initializeInputs(inputs);
         
         Map<String, Integer> labelToIndexMap = buildLabelToIndexMap(instructions);
@@ -39,7 +57,7 @@ public class ProgramRunner {
         executeInstructionLoop(instructions, context);
 
         VariableManager variableManager = context.getVariableManager();
-        int result = variableManager.getYValue();
+        BigInteger result = variableManager.getYValue();
         
         return new ExecutionResult(
             runNumber,
@@ -73,7 +91,7 @@ public class ProgramRunner {
             throw new ExecutionException("Program must contain at least one instruction");
         }
 
-        ExecutionContext context = new ExecutionContext();
+        ExecutionContext context = new ExecutionContext(valueMode);
         context.initializeInputs(inputs);
         
         context.enableVirtualExecutionMode();
@@ -87,7 +105,7 @@ public class ProgramRunner {
         executeInstructionLoop(instructions, context);
 
         VariableManager variableManager = context.getVariableManager();
-        int result = variableManager.getYValue();
+        BigInteger result = variableManager.getYValue();
         
         return new ExecutionResult(
             runNumber,
@@ -101,6 +119,56 @@ public class ProgramRunner {
         );
     }
 
+    public ExecutionResult executeStreamingExpansion(StreamingExpansion expansion, List<Integer> inputs, int runNumber,
+                                                     engine.model.FunctionRegistry functionRegistry) throws ExecutionException {
+        if (expansion == null) {
+            throw new ExecutionException("Expansion cannot be null");
+        }
+        if (inputs == null) {
+            throw new ExecutionException("Inputs cannot be null");
+        }
+        if (runNumber <= 0) {
+            throw new ExecutionException("Run number must be positive: " + runNumber);
+        }
+        if (expansion.size() == 0) {
+            throw new ExecutionException("Program must contain at least one instruction");
+        }
+
+        ExecutionContext context = new ExecutionContext(valueMode);
+        context.initializeInputs(inputs);
+
+        context.enableVirtualExecutionMode();
+        if (functionRegistry != null) {
+            context.setFunctionRegistry(functionRegistry);
+        }
+
+        context.setLabelToIndexMap(expansion.getLabelToIndexMap());
+
+        try {
+            executeInstructionLoop(expansion.getInstructions(), context);
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof ExpansionException) {
+                throw new ExecutionException("Failed to expand instruction at index " +
+                    context.getCurrentInstructionIndex() + ": " + e.getMessage(), e.getCause());
+            }
+            throw e;
+        }
+
+        VariableManager variableManager = context.getVariableManager();
+        BigInteger result = variableManager.getYValue();
+
+        return new ExecutionResult(
+            runNumber,
+            expansion.getTargetLevel(),
+            inputs,
+            result,
+            variableManager.getSortedInputVariablesMap(),
+            variableManager.getSortedWorkingVariablesMap(),
+            context.getTotalCycles(),
+            context.getExecutedInstructions()
+        );
+    }
+
     private Map<String, Integer> buildLabelToIndexMap(List<SInstruction> instructions) {
         Map<String, Integer> labelToIndexMap = new HashMap<>();
         
@@ -171,7 +239,7 @@ public class ProgramRunner {
             throw new ExecutionException("Program must contain at least one instruction");
         }
         
-        ExecutionContext context = new ExecutionContext();
+        ExecutionContext context = new ExecutionContext(valueMode);
         context.initializeInputs(inputs);
         context.enableDebugMode();
         
@@ -192,16 +260,14 @@ public class ProgramRunner {
             throw new ExecutionException("Context must be in debug mode");
         }
         
-        List<SInstruction> instructions = program.getInstructions();
-        
-        if (context.isProgramTerminated() || context.getCurrentInstructionIndex() >= instructions.size()) {
+        if (context.isProgramTerminated() || context.getCurrentInstructionIndex() >= program.size()) {
             return false;
         }
         
         context.takeVariableSnapshot();
         
         int currentIndex = context.getCurrentInstructionIndex();
-        SInstruction currentInstruction = instructions.get(currentIndex);
+        SInstruction currentInstruction = program.instructionAt(currentIndex);
         context.addExecutedInstruction(currentInstruction);
         
         try {
@@ -234,11 +300,11 @@ public class ProgramRunner {
         
         VariableManager variableManager = context.getVariableManager();
         List<Integer> originalInputs = new java.util.ArrayList<>();
-        Map<String, Integer> inputVars = variableManager.getSortedInputVariablesMap();
+        Map<String, BigInteger> inputVars = variableManager.getSortedInputVariablesMap();
         
         for (int i = 1; i <= inputVars.size(); i++) {
             String varName = "x" + i;
-            originalInputs.add(inputVars.getOrDefault(varName, 0));
+            originalInputs.add(inputVars.getOrDefault(varName, BigInteger.ZERO).intValue());
         }
         
         return new ExecutionResult(
@@ -1,49 +1,146 @@
 package engine.execution;
 
 import engine.model.SEmulatorConstants;
+import engine.model.ValueMode;
 
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class VariableManager {
-    private final Map<String, Integer> variables;
+    private final ValueMode valueMode;
+    private final Map<String, Long> variables;
+    private final Map<String, BigInteger> bigVariables;
 
     public VariableManager() {
+        this(ValueMode.LONG);
+    }
+
+    public VariableManager(ValueMode valueMode) {
+        if (valueMode == null) {
+            throw new IllegalArgumentException("Value mode cannot be null");
+        }
+        this.valueMode = valueMode;
         this.variables = new HashMap<>();
+        this.bigVariables = new HashMap<>();
     }
 
-    public int getValue(String variableName) {
-        if (variableName == null || variableName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Variable name cannot be null or empty");
+    public ValueMode getValueMode() {
+        return valueMode;
+    }
+
+    public long getValue(String variableName) {
+        String name = requireName(variableName);
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            BigInteger value = bigVariables.get(name);
+            if (value == null) {
+                return 0;
+            }
+            if (value.bitLength() >= Long.SIZE) {
+                throw new ArithmeticException("Variable " + name + " exceeds the 64-bit range: " + value);
+            }
+            return value.longValue();
         }
-        return variables.getOrDefault(variableName.trim(), 0);
+        return variables.getOrDefault(name, 0L);
     }
 
-    public void setValue(String variableName, int value) {
-        if (variableName == null || variableName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Variable name cannot be null or empty");
+    public BigInteger getBigValue(String variableName) {
+        String name = requireName(variableName);
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            return bigVariables.getOrDefault(name, BigInteger.ZERO);
         }
+        return BigInteger.valueOf(variables.getOrDefault(name, 0L));
+    }
+
+    public void setValue(String variableName, long value) {
+        String name = requireName(variableName);
         if (value < 0) {
             throw new IllegalArgumentException("Variable value cannot be negative: " + value);
         }
-        String trimmedName = variableName.trim();
-        variables.put(trimmedName, value);
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            bigVariables.put(name, BigInteger.valueOf(value));
+        } else {
+            variables.put(name, value);
+        }
+    }
+
+    public void setBigValue(String variableName, BigInteger value) {
+        String name = requireName(variableName);
+        if (value == null) {
+            throw new IllegalArgumentException("Variable value cannot be null");
+        }
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException("Variable value cannot be negative: " + value);
+        }
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            bigVariables.put(name, value);
+        } else if (value.bitLength() >= Long.SIZE) {
+            throw new ArithmeticException("Variable " + name + " exceeds the 64-bit range: " + value);
+        } else {
+            variables.put(name, value.longValue());
+        }
+    }
+
+    public boolean isZero(String variableName) {
+        String name = requireName(variableName);
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            BigInteger value = bigVariables.get(name);
+            return value == null || value.signum() == 0;
+        }
+        return variables.getOrDefault(name, 0L) == 0;
+    }
+
+    public boolean valueEquals(String variableName, long value) {
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            return getBigValue(variableName).equals(BigInteger.valueOf(value));
+        }
+        return getValue(variableName) == value;
+    }
+
+    public boolean valuesEqual(String variableName, String otherVariableName) {
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            return getBigValue(variableName).equals(getBigValue(otherVariableName));
+        }
+        return getValue(variableName) == getValue(otherVariableName);
+    }
+
+    public void copyValue(String sourceVariableName, String targetVariableName) {
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            setBigValue(targetVariableName, getBigValue(sourceVariableName));
+        } else {
+            setValue(targetVariableName, getValue(sourceVariableName));
+        }
     }
 
     public void increment(String variableName) {
-        setValue(variableName, getValue(variableName) + 1);
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            setBigValue(variableName, getBigValue(variableName).add(BigInteger.ONE));
+            return;
+        }
+        long currentValue = getValue(variableName);
+        if (currentValue == Long.MAX_VALUE) {
+            throw new ArithmeticException("Variable " + variableName.trim() + " exceeds the 64-bit range; " +
+                "run in " + ValueMode.BIG_INTEGER + " mode for unbounded values");
+        }
+        setValue(variableName, currentValue + 1);
     }
 
     public void decrement(String variableName) {
-        int currentValue = getValue(variableName);
+        if (valueMode == ValueMode.BIG_INTEGER) {
+            BigInteger currentValue = getBigValue(variableName);
+            setBigValue(variableName, currentValue.signum() > 0 ? currentValue.subtract(BigInteger.ONE) : currentValue);
+            return;
+        }
+        long currentValue = getValue(variableName);
         setValue(variableName, Math.max(0, currentValue - 1));
     }
 
     public List<String> getInputVariables() {
-        return variables.keySet().stream()
+        return variableNames().stream()
                 .filter(name -> SEmulatorConstants.X_VARIABLE_PATTERN.matcher(name).matches())
                 .sorted((a, b) -> {
                     int numA = Integer.parseInt(a.substring(1));
@@ -54,7 +151,7 @@ public class VariableManager {
     }
 
     public List<String> getWorkingVariables() {
-        return variables.keySet().stream()
+        return variableNames().stream()
                 .filter(name -> SEmulatorConstants.Z_VARIABLE_PATTERN.matcher(name).matches())
                 .sorted((a, b) -> {
                     int numA = Integer.parseInt(a.substring(1));
@@ -64,22 +161,22 @@ public class VariableManager {
                 .collect(Collectors.toList());
     }
 
-    public int getYValue() {
-        return getValue(SEmulatorConstants.RESULT_VARIABLE);
+    public BigInteger getYValue() {
+        return getBigValue(SEmulatorConstants.RESULT_VARIABLE);
     }
 
-    public Map<String, Integer> getSortedInputVariablesMap() {
+    public Map<String, BigInteger> getSortedInputVariablesMap() {
         List<String> sortedInputVariables = getInputVariables();
-        Map<String, Integer> inputVars = new LinkedHashMap<>();
-        sortedInputVariables.forEach(var -> inputVars.put(var, getValue(var)));
+        Map<String, BigInteger> inputVars = new LinkedHashMap<>();
+        sortedInputVariables.forEach(var -> inputVars.put(var, getBigValue(var)));
 
         return inputVars;
     }
 
-    public Map<String, Integer> getSortedWorkingVariablesMap() {
+    public Map<String, BigInteger> getSortedWorkingVariablesMap() {
         List<String> sortedWorkingVariables = getWorkingVariables();
-        Map<String, Integer> workingVars = new LinkedHashMap<>();
-        sortedWorkingVariables.forEach(var -> workingVars.put(var, getValue(var)));
+        Map<String, BigInteger> workingVars = new LinkedHashMap<>();
+        sortedWorkingVariables.forEach(var -> workingVars.put(var, getBigValue(var)));
 
         return workingVars;
     }
@@ -98,5 +195,17 @@ public class VariableManager {
 
     public void reset() {
         variables.clear();
+        bigVariables.clear();
+    }
+
+    private Set<String> variableNames() {
+        return valueMode == ValueMode.BIG_INTEGER ? bigVariables.keySet() : variables.keySet();
+    }
+
+    private static String requireName(String variableName) {
+        if (variableName == null || variableName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Variable name cannot be null or empty");
+        }
+        return variableName.trim();
     }
 }
@@ -1,9 +1,7 @@
 package engine.expansion;
 
 import engine.model.FunctionRegistry;
-import engine.model.SEmulatorConstants;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -12,18 +10,18 @@ public class ExpansionContext {
     private int currentLevel;
     private final Map<String, String> labelMappings;
     private final Map<String, String> variableMappings;
-    private final Set<String> usedWorkingVariables;
-    private int workingVariableCounter;
+    private final NameAllocator workingVariables;
     private int currentOriginalLineNumber;
     private FunctionRegistry functionRegistry;
+    private int generatedLabelCount;
+    private int generatedWorkingVariableCount;
 
     public ExpansionContext() {
         this.labelManager = new LabelManager();
         this.currentLevel = 0;
         this.labelMappings = new HashMap<>();
         this.variableMappings = new HashMap<>();
-        this.usedWorkingVariables = new HashSet<>();
-        this.workingVariableCounter = 1;
+        this.workingVariables = new NameAllocator('z');
         this.currentOriginalLineNumber = -1;
     }
 
@@ -32,24 +30,45 @@ public class ExpansionContext {
         this.currentLevel = 0;
         this.labelMappings = new HashMap<>();
         this.variableMappings = new HashMap<>();
-        this.usedWorkingVariables = new HashSet<>(existingVariables);
-        this.workingVariableCounter = findNextWorkingVariableCounter(existingVariables);
+        this.workingVariables = new NameAllocator('z');
+        for (String variable : existingVariables) {
+            workingVariables.advancePast(workingVariables.markUsed(variable));
+        }
         this.currentOriginalLineNumber = -1;
     }
 
     public String getUniqueLabel() {
-        return labelManager.generateUniqueLabel();
+        return labelManager.formatLabel(getUniqueLabelNumber());
+    }
+
+    public int getUniqueLabelNumber() {
+        generatedLabelCount++;
+        return labelManager.generateUniqueLabelNumber();
     }
 
     public String getUniqueWorkingVariable() {
-        String variable;
-        do {
-            variable = "z" + workingVariableCounter;
-            workingVariableCounter++;
-        } while (usedWorkingVariables.contains(variable));
-        
-        usedWorkingVariables.add(variable);
-        return variable;
+        return workingVariables.format(getUniqueWorkingVariableNumber());
+    }
+
+    public int getUniqueWorkingVariableNumber() {
+        generatedWorkingVariableCount++;
+        return workingVariables.allocateNumber();
+    }
+
+    public int getNextLabelNumber() {
+        return labelManager.getNextLabelNumber();
+    }
+
+    public int getNextWorkingVariableNumber() {
+        return workingVariables.getNextNumber();
+    }
+
+    public void advanceToLabelNumber(int labelNumber) {
+        labelManager.advanceToLabelNumber(labelNumber);
+    }
+
+    public void advanceToWorkingVariableNumber(int variableNumber) {
+        workingVariables.advancePast(variableNumber - 1);
     }
 
     public void mapLabel(String original, String replacement) {
@@ -86,6 +105,14 @@ public class ExpansionContext {
         return variableMappings.getOrDefault(original.trim(), original.trim());
     }
 
+    public int getGeneratedLabelCount() {
+        return generatedLabelCount;
+    }
+
+    public int getGeneratedWorkingVariableCount() {
+        return generatedWorkingVariableCount;
+    }
+
     public int getCurrentLevel() {
         return currentLevel;
     }
@@ -117,33 +144,18 @@ public class ExpansionContext {
 
     public void markVariableAsUsed(String variable) {
         if (variable != null && !variable.trim().isEmpty()) {
-            usedWorkingVariables.add(variable.trim());
+            workingVariables.markUsed(variable.trim());
         }
     }
 
     public ExpansionContext createChildContext() {
         ExpansionContext child = new ExpansionContext();
         child.labelManager.copyUsedLabelsFrom(this.labelManager);
-        child.usedWorkingVariables.addAll(this.usedWorkingVariables);
-        child.workingVariableCounter = this.workingVariableCounter;
+        child.workingVariables.copyFrom(this.workingVariables);
         child.currentLevel = this.currentLevel + 1;
         return child;
     }
 
-    private int findNextWorkingVariableCounter(Set<String> existingVariables) {
-        int maxCounter = 0;
-        for (String variable : existingVariables) {
-            if (SEmulatorConstants.Z_VARIABLE_PATTERN.matcher(variable).matches()) {
-                try {
-                    int counter = Integer.parseInt(variable.substring(1));
-                    maxCounter = Math.max(maxCounter, counter);
-                } catch (NumberFormatException e) {
-                }
-            }
-        }
-        return maxCounter + 1;
-    }
-
     public int getCurrentOriginalLineNumber() {
         return currentOriginalLineNumber;
     }
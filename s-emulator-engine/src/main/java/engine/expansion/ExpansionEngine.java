@@ -88,11 +88,12 @@ public class ExpansionEngine {
         for (SInstruction instruction : currentInstructions) {
             expandedProgram.addInstruction(instruction);
         }
+        expandedProgram.freeze();
         
         return expandedProgram;
     }
 
-    private ExpansionContext createExpansionContext(SProgram program) {
+    static ExpansionContext createExpansionContext(SProgram program) {
         Set<String> existingLabels = new HashSet<>(program.getLabels());
         Set<String> existingVariables = new HashSet<>();
         
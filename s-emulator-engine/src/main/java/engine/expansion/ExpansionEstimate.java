@@ -0,0 +1,66 @@
+package engine.expansion;
+
+public class ExpansionEstimate {
+    private final long[] instructionCounts;
+    private final long[] newLabelCounts;
+    private final long[] newWorkingVariableCounts;
+
+    public ExpansionEstimate(long[] instructionCounts, long[] newLabelCounts, long[] newWorkingVariableCounts) {
+        if (instructionCounts == null || newLabelCounts == null || newWorkingVariableCounts == null) {
+            throw new IllegalArgumentException("Estimate counts cannot be null");
+        }
+        if (instructionCounts.length == 0 ||
+            instructionCounts.length != newLabelCounts.length ||
+            instructionCounts.length != newWorkingVariableCounts.length) {
+            throw new IllegalArgumentException("Estimate counts must cover the same non-empty range of levels");
+        }
+        this.instructionCounts = instructionCounts.clone();
+        this.newLabelCounts = newLabelCounts.clone();
+        this.newWorkingVariableCounts = newWorkingVariableCounts.clone();
+    }
+
+    public int getMaxLevel() {
+        return instructionCounts.length - 1;
+    }
+
+    public long getInstructionCount(int level) {
+        return instructionCounts[checkLevel(level)];
+    }
+
+    public long getNewLabelCount(int level) {
+        return newLabelCounts[checkLevel(level)];
+    }
+
+    public long getNewWorkingVariableCount(int level) {
+        return newWorkingVariableCounts[checkLevel(level)];
+    }
+
+    public long getTotalInstructionCount(int upToLevel) {
+        checkLevel(upToLevel);
+        long total = 0;
+        for (int level = 0; level <= upToLevel; level++) {
+            total = ExpansionEstimator.saturatedAdd(total, instructionCounts[level]);
+        }
+        return total;
+    }
+
+    private int checkLevel(int level) {
+        if (level < 0 || level > getMaxLevel()) {
+            throw new IllegalArgumentException("Level " + level + " is outside the estimated range 0-" + getMaxLevel());
+        }
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("ExpansionEstimate{");
+        for (int level = 0; level <= getMaxLevel(); level++) {
+            if (level > 0) {
+                result.append(", ");
+            }
+            result.append(String.format("L%d: instructions=%d, newLabels=%d, newWorkingVariables=%d",
+                level, instructionCounts[level], newLabelCounts[level], newWorkingVariableCounts[level]));
+        }
+        return result.append("}").toString();
+    }
+}
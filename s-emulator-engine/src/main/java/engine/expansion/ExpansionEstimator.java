@@ -0,0 +1,274 @@
+package engine.expansion;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.ExpansionException;
+import engine.model.FunctionRegistry;
+import engine.model.InstructionType;
+import engine.model.SEmulatorConstants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ExpansionEstimator {
+
+    public ExpansionEstimate estimate(SProgram program) throws ExpansionException {
+        if (program == null) {
+            throw new ExpansionException("Program cannot be null");
+        }
+        return estimate(program, program.getMaxExpansionLevel());
+    }
+
+    public ExpansionEstimate estimate(SProgram program, int maxLevel) throws ExpansionException {
+        if (program == null) {
+            throw new ExpansionException("Program cannot be null");
+        }
+        if (maxLevel < 0) {
+            throw new ExpansionException("Maximum estimation level cannot be negative: " + maxLevel);
+        }
+
+        ShapeTable shapes = new ShapeTable(program.getFunctionRegistry(), maxLevel);
+        long[] instructionCounts = new long[maxLevel + 1];
+        long[] newLabelCounts = new long[maxLevel + 1];
+        long[] newWorkingVariableCounts = new long[maxLevel + 1];
+
+        for (SInstruction instruction : program.getInstructions()) {
+            Shape shape = shapes.resolve(instruction);
+            for (int level = 0; level <= maxLevel; level++) {
+                instructionCounts[level] = saturatedAdd(instructionCounts[level], shape.sizeAt(level));
+                newLabelCounts[level] = saturatedAdd(newLabelCounts[level], shape.labelsAt(level));
+                newWorkingVariableCounts[level] = saturatedAdd(newWorkingVariableCounts[level], shape.variablesAt(level));
+            }
+        }
+
+        return new ExpansionEstimate(instructionCounts, newLabelCounts, newWorkingVariableCounts);
+    }
+
+    public List<ExpansionEstimate> estimateInstructions(SProgram program, int maxLevel) throws ExpansionException {
+        if (program == null) {
+            throw new ExpansionException("Program cannot be null");
+        }
+        if (maxLevel < 0) {
+            throw new ExpansionException("Maximum estimation level cannot be negative: " + maxLevel);
+        }
+
+        ShapeTable shapes = new ShapeTable(program.getFunctionRegistry(), maxLevel);
+        List<SInstruction> instructions = program.getInstructions();
+        List<ExpansionEstimate> estimates = new ArrayList<>(instructions.size());
+
+        for (SInstruction instruction : instructions) {
+            Shape shape = shapes.resolve(instruction);
+            long[] instructionCounts = new long[maxLevel + 1];
+            long[] newLabelCounts = new long[maxLevel + 1];
+            long[] newWorkingVariableCounts = new long[maxLevel + 1];
+            for (int level = 0; level <= maxLevel; level++) {
+                instructionCounts[level] = shape.sizeAt(level);
+                newLabelCounts[level] = shape.labelsAt(level);
+                newWorkingVariableCounts[level] = shape.variablesAt(level);
+            }
+            estimates.add(new ExpansionEstimate(instructionCounts, newLabelCounts, newWorkingVariableCounts));
+        }
+
+        return estimates;
+    }
+
+    static long saturatedAdd(long left, long right) {
+        long sum = left + right;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long value, long factor) {
+        if (value != 0 && factor > Long.MAX_VALUE / value) {
+            return Long.MAX_VALUE;
+        }
+        return value * factor;
+    }
+
+    private static String shapeKey(SInstruction instruction) {
+        StringBuilder key = new StringBuilder(instruction.getName());
+        key.append(instruction.getLabel() != null ? "|labeled" : "|plain");
+
+        switch (instruction.getName()) {
+            case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+            case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME:
+                key.append('|').append(instruction.getConstantValue());
+                break;
+            case SEmulatorConstants.QUOTE_NAME:
+            case SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME:
+                key.append('|').append(instruction.getFunctionName());
+                key.append('|').append(normalizeFunctionArguments(instruction.getFunctionArguments()));
+                break;
+            default:
+                break;
+        }
+        return key.toString();
+    }
+
+    private static String normalizeFunctionArguments(String functionArguments) {
+        if (functionArguments == null) {
+            return "";
+        }
+
+        StringBuilder normalized = new StringBuilder(functionArguments.length());
+        int tokenStart = -1;
+        for (int i = 0; i <= functionArguments.length(); i++) {
+            char c = i < functionArguments.length() ? functionArguments.charAt(i) : ',';
+            boolean separator = c == ',' || c == '(' || c == ')' || Character.isWhitespace(c);
+            if (!separator) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+                continue;
+            }
+            if (tokenStart >= 0) {
+                String token = functionArguments.substring(tokenStart, i);
+                normalized.append(isVariableToken(token) ? "v" : token);
+                tokenStart = -1;
+            }
+            if (i < functionArguments.length() && !Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isVariableToken(String token) {
+        if (token.equals(SEmulatorConstants.RESULT_VARIABLE)) {
+            return true;
+        }
+        if (token.length() < 2 || (token.charAt(0) != 'x' && token.charAt(0) != 'z')) {
+            return false;
+        }
+        for (int i = 1; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class ShapeTable {
+        private final FunctionRegistry functionRegistry;
+        private final int maxLevel;
+        private final Map<String, Shape> shapes;
+
+        private ShapeTable(FunctionRegistry functionRegistry, int maxLevel) {
+            this.functionRegistry = functionRegistry;
+            this.maxLevel = maxLevel;
+            this.shapes = new HashMap<>();
+        }
+
+        private Shape resolve(SInstruction instruction) {
+            return shapes.computeIfAbsent(shapeKey(instruction), key -> new Shape(this, instruction));
+        }
+    }
+
+    private static final class Shape {
+        private final ShapeTable table;
+        private final SInstruction representative;
+        private final boolean expandable;
+        private final long[] sizes;
+        private final long[] labels;
+        private final long[] variables;
+        private Map<Shape, Long> children;
+        private int ownLabels;
+        private int ownVariables;
+
+        private Shape(ShapeTable table, SInstruction representative) {
+            this.table = table;
+            this.representative = representative;
+            this.expandable = representative.getType() != InstructionType.BASIC;
+            this.sizes = newMemo(table.maxLevel);
+            this.labels = newMemo(table.maxLevel);
+            this.variables = newMemo(table.maxLevel);
+        }
+
+        private static long[] newMemo(int maxLevel) {
+            long[] memo = new long[maxLevel + 1];
+            Arrays.fill(memo, -1);
+            return memo;
+        }
+
+        private long sizeAt(int level) throws ExpansionException {
+            if (level == 0 || !expandable) {
+                return 1;
+            }
+            if (sizes[level] < 0) {
+                long size = representative.getLabel() != null ? 1 : 0;
+                for (Map.Entry<Shape, Long> child : expandOnce().entrySet()) {
+                    size = saturatedAdd(size, saturatedMultiply(child.getKey().sizeAt(level - 1), child.getValue()));
+                }
+                sizes[level] = size;
+            }
+            return sizes[level];
+        }
+
+        private long labelsAt(int level) throws ExpansionException {
+            if (level == 0 || !expandable) {
+                return 0;
+            }
+            if (labels[level] < 0) {
+                long count = 0;
+                if (level == 1) {
+                    expandOnce();
+                    count = ownLabels;
+                } else {
+                    for (Map.Entry<Shape, Long> child : expandOnce().entrySet()) {
+                        count = saturatedAdd(count, saturatedMultiply(child.getKey().labelsAt(level - 1), child.getValue()));
+                    }
+                }
+                labels[level] = count;
+            }
+            return labels[level];
+        }
+
+        private long variablesAt(int level) throws ExpansionException {
+            if (level == 0 || !expandable) {
+                return 0;
+            }
+            if (variables[level] < 0) {
+                long count = 0;
+                if (level == 1) {
+                    expandOnce();
+                    count = ownVariables;
+                } else {
+                    for (Map.Entry<Shape, Long> child : expandOnce().entrySet()) {
+                        count = saturatedAdd(count, saturatedMultiply(child.getKey().variablesAt(level - 1), child.getValue()));
+                    }
+                }
+                variables[level] = count;
+            }
+            return variables[level];
+        }
+
+        private Map<Shape, Long> expandOnce() throws ExpansionException {
+            if (children != null) {
+                return children;
+            }
+
+            ExpansionContext context = new ExpansionContext();
+            context.setFunctionRegistry(table.functionRegistry);
+
+            List<SInstruction> expanded;
+            try {
+                expanded = representative.expand(context);
+            } catch (RuntimeException e) {
+                throw new ExpansionException("Failed to estimate expansion of instruction '" +
+                    representative.getDisplayFormat() + "': " + e.getMessage(), e);
+            }
+
+            Map<Shape, Long> grouped = new LinkedHashMap<>();
+            for (SInstruction child : expanded) {
+                grouped.merge(table.resolve(child), 1L, Long::sum);
+            }
+
+            this.ownLabels = context.getGeneratedLabelCount();
+            this.ownVariables = context.getGeneratedWorkingVariableCount();
+            this.children = grouped;
+            return children;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package engine.expansion;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.model.SEmulatorConstants;
+import engine.model.instruction.InstructionInterner;
+import engine.model.instruction.synthetic.AssignmentInstruction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FunctionTemplate {
+    private final String functionName;
+    private final List<TemplateInstruction> body;
+    private final int labelSlotCount;
+
+    private FunctionTemplate(String functionName, List<TemplateInstruction> body, int labelSlotCount) {
+        this.functionName = functionName;
+        this.body = List.copyOf(body);
+        this.labelSlotCount = labelSlotCount;
+    }
+
+    public static FunctionTemplate fromProgram(SProgram functionProgram) {
+        if (functionProgram == null) {
+            throw new IllegalArgumentException("Function program cannot be null");
+        }
+
+        Map<String, Integer> labelSlots = new HashMap<>();
+        for (String label : functionProgram.getLabels()) {
+            if (!label.equals(SEmulatorConstants.EXIT_LABEL)) {
+                labelSlots.put(label, labelSlots.size());
+            }
+        }
+
+        List<SInstruction> instructions = functionProgram.getInstructions();
+        List<TemplateInstruction> body = new ArrayList<>(instructions.size());
+        for (SInstruction instruction : instructions) {
+            body.add(lowerInstruction(instruction, labelSlots));
+        }
+
+        return new FunctionTemplate(functionProgram.getName(), body, labelSlots.size());
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public int getBodySize() {
+        return body.size();
+    }
+
+    public int getLabelSlotCount() {
+        return labelSlotCount;
+    }
+
+    public void instantiate(List<String> args, String resultVar, SInstruction source,
+                            ExpansionContext context, List<SInstruction> expandedInstructions) {
+        String[] inputBindings = new String[args.size()];
+        for (int i = 0; i < inputBindings.length; i++) {
+            inputBindings[i] = context.getUniqueWorkingVariable();
+        }
+
+        String resultBinding = context.getUniqueWorkingVariable();
+
+        String[] labelBindings = new String[labelSlotCount];
+        for (int i = 0; i < labelBindings.length; i++) {
+            labelBindings[i] = context.getUniqueLabel();
+        }
+
+        String endLabel = context.getUniqueLabel();
+
+        Bindings bindings = new Bindings(inputBindings, resultBinding, labelBindings, endLabel);
+
+        if (expandedInstructions instanceof ArrayList) {
+            ((ArrayList<SInstruction>) expandedInstructions).ensureCapacity(
+                expandedInstructions.size() + inputBindings.length + body.size() + 1);
+        }
+
+        for (int i = 0; i < inputBindings.length; i++) {
+            expandedInstructions.add(new AssignmentInstruction(inputBindings[i], null,
+                args.get(i), source));
+        }
+
+        for (TemplateInstruction instruction : body) {
+            expandedInstructions.add(instruction.bind(bindings));
+        }
+
+        expandedInstructions.add(new AssignmentInstruction(resultVar, endLabel,
+            resultBinding, source));
+    }
+
+    private static TemplateInstruction lowerInstruction(SInstruction instruction, Map<String, Integer> labelSlots) {
+        return new TemplateInstruction(instruction,
+            lowerVariable(instruction.getVariable()),
+            lowerDefinedLabel(instruction.getLabel(), labelSlots),
+            lowerTargetLabel(instruction.getTargetLabel(), labelSlots),
+            lowerVariable(instruction.getSourceVariable()));
+    }
+
+    private static Operand lowerVariable(String variable) {
+        if (variable == null) {
+            return Operand.literal(null);
+        }
+        if (variable.equals(SEmulatorConstants.RESULT_VARIABLE)) {
+            return Operand.RESULT;
+        }
+        int inputSlot = parseInputSlot(variable);
+        if (inputSlot >= 0) {
+            return new Operand(OperandKind.INPUT, inputSlot, variable);
+        }
+        return Operand.literal(variable);
+    }
+
+    private static int parseInputSlot(String variable) {
+        if (!SEmulatorConstants.X_VARIABLE_PATTERN.matcher(variable).matches() || variable.charAt(1) == '0') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(variable.substring(1)) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Operand lowerDefinedLabel(String label, Map<String, Integer> labelSlots) {
+        if (label == null) {
+            return Operand.literal(null);
+        }
+        Integer slot = labelSlots.get(label);
+        return slot != null ? new Operand(OperandKind.LABEL, slot, label) : Operand.literal(label);
+    }
+
+    private static Operand lowerTargetLabel(String label, Map<String, Integer> labelSlots) {
+        if (SEmulatorConstants.EXIT_LABEL.equals(label)) {
+            return Operand.END;
+        }
+        return lowerDefinedLabel(label, labelSlots);
+    }
+
+    private enum OperandKind {
+        LITERAL,
+        INPUT,
+        RESULT,
+        LABEL,
+        END
+    }
+
+    private static final class Operand {
+        private static final Operand RESULT = new Operand(OperandKind.RESULT, -1, SEmulatorConstants.RESULT_VARIABLE);
+        private static final Operand END = new Operand(OperandKind.END, -1, SEmulatorConstants.EXIT_LABEL);
+
+        private final OperandKind kind;
+        private final int slot;
+        private final String literal;
+
+        private Operand(OperandKind kind, int slot, String literal) {
+            this.kind = kind;
+            this.slot = slot;
+            this.literal = literal;
+        }
+
+        private static Operand literal(String value) {
+            return new Operand(OperandKind.LITERAL, -1, value);
+        }
+
+        private String resolve(Bindings bindings) {
+            switch (kind) {
+                case INPUT:
+                    return slot < bindings.inputs.length ? bindings.inputs[slot] : literal;
+                case RESULT:
+                    return bindings.result;
+                case LABEL:
+                    return bindings.labels[slot];
+                case END:
+                    return bindings.endLabel;
+                default:
+                    return literal;
+            }
+        }
+    }
+
+    private static final class Bindings {
+        private final String[] inputs;
+        private final String result;
+        private final String[] labels;
+        private final String endLabel;
+
+        private Bindings(String[] inputs, String result, String[] labels, String endLabel) {
+            this.inputs = inputs;
+            this.result = result;
+            this.labels = labels;
+            this.endLabel = endLabel;
+        }
+    }
+
+    private static final class TemplateInstruction {
+        private final SInstruction original;
+        private final Operand variable;
+        private final Operand label;
+        private final Operand targetLabel;
+        private final Operand sourceVariable;
+
+        private TemplateInstruction(SInstruction original, Operand variable, Operand label,
+                                    Operand targetLabel, Operand sourceVariable) {
+            this.original = original;
+            this.variable = variable;
+            this.label = label;
+            this.targetLabel = targetLabel;
+            this.sourceVariable = sourceVariable;
+        }
+
+        private SInstruction bind(Bindings bindings) {
+            try {
+                return InstructionInterner.intern(original.withOperands(variable.resolve(bindings),
+                    label.resolve(bindings), targetLabel.resolve(bindings), sourceVariable.resolve(bindings), null));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Failed to substitute instruction: " +
+                    original.getDisplayFormat(), e);
+            }
+        }
+    }
+}
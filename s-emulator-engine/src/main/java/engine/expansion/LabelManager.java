@@ -1,89 +1,94 @@
 package engine.expansion;
 
-import engine.model.SEmulatorConstants;
 import java.util.HashSet;
 import java.util.Set;
 
 public class LabelManager {
-    private final Set<String> usedLabels;
-    private int labelCounter;
+    private final NameAllocator numberedLabels;
+    private final Set<String> otherLabels;
 
     public LabelManager() {
-        this.usedLabels = new HashSet<>();
-        this.labelCounter = 1;
+        this.numberedLabels = new NameAllocator('L');
+        this.otherLabels = new HashSet<>();
     }
 
     public LabelManager(Set<String> existingLabels) {
-        this.usedLabels = new HashSet<>(existingLabels != null ? existingLabels : Set.of());
-        this.labelCounter = findNextLabelCounter(this.usedLabels);
+        this();
+        if (existingLabels != null) {
+            for (String label : existingLabels) {
+                markUsed(label);
+            }
+        }
     }
 
     public String generateUniqueLabel() {
-        String label;
-        do {
-            label = "L" + labelCounter;
-            labelCounter++;
-        } while (usedLabels.contains(label));
-        
-        usedLabels.add(label);
-        return label;
+        return numberedLabels.allocate();
+    }
+
+    public int generateUniqueLabelNumber() {
+        return numberedLabels.allocateNumber();
+    }
+
+    public String formatLabel(int labelNumber) {
+        return numberedLabels.format(labelNumber);
     }
 
     public void markLabelAsUsed(String label) {
+        markUsed(label);
+    }
+
+    private void markUsed(String label) {
         if (label != null && !label.trim().isEmpty()) {
             String trimmedLabel = label.trim();
-            usedLabels.add(trimmedLabel);
-            
-            if (SEmulatorConstants.LABEL_PATTERN.matcher(trimmedLabel).matches() && 
-                trimmedLabel.startsWith("L") && !trimmedLabel.equals(SEmulatorConstants.EXIT_LABEL)) {
-                try {
-                    int labelNum = Integer.parseInt(trimmedLabel.substring(1));
-                    if (labelNum >= labelCounter) {
-                        labelCounter = labelNum + 1;
-                    }
-                } catch (NumberFormatException e) {
-                    throw new RuntimeException("Invalid label format: " + trimmedLabel, e);
-                }
+            int labelNumber = numberedLabels.markUsed(trimmedLabel);
+            if (labelNumber >= 0) {
+                numberedLabels.advancePast(labelNumber);
+            } else {
+                otherLabels.add(trimmedLabel);
             }
         }
     }
 
     public boolean isLabelUsed(String label) {
-        return label != null && usedLabels.contains(label.trim());
+        if (label == null) {
+            return false;
+        }
+        String trimmedLabel = label.trim();
+        return numberedLabels.isUsed(trimmedLabel) || otherLabels.contains(trimmedLabel);
+    }
+
+    public boolean isLabelUsed(int labelNumber) {
+        return numberedLabels.isUsed(labelNumber);
     }
 
     public Set<String> getUsedLabels() {
-        return Set.copyOf(usedLabels);
+        Set<String> labels = new HashSet<>(otherLabels);
+        numberedLabels.getUsedNumbers().stream()
+            .forEach(labelNumber -> labels.add(numberedLabels.format(labelNumber)));
+        return Set.copyOf(labels);
+    }
+
+    public int getNextLabelNumber() {
+        return numberedLabels.getNextNumber();
+    }
+
+    public void advanceToLabelNumber(int labelNumber) {
+        numberedLabels.advancePast(labelNumber - 1);
     }
 
     public void copyUsedLabelsFrom(LabelManager other) {
         if (other != null) {
-            this.usedLabels.addAll(other.usedLabels);
-            this.labelCounter = Math.max(this.labelCounter, other.labelCounter);
+            this.numberedLabels.copyFrom(other.numberedLabels);
+            this.otherLabels.addAll(other.otherLabels);
         }
     }
 
     public void reset() {
-        usedLabels.clear();
-        labelCounter = 1;
+        numberedLabels.reset();
+        otherLabels.clear();
     }
 
     public int getLabelCount() {
-        return usedLabels.size();
-    }
-
-    private int findNextLabelCounter(Set<String> existingLabels) {
-        int maxCounter = 0;
-        for (String label : existingLabels) {
-            if (label.startsWith("L") && !label.equals(SEmulatorConstants.EXIT_LABEL)) {
-                try {
-                    int counter = Integer.parseInt(label.substring(1));
-                    maxCounter = Math.max(maxCounter, counter);
-                } catch (NumberFormatException e) {
-                    throw new RuntimeException("Invalid label format: " + label, e);
-                }
-            }
-        }
-        return maxCounter + 1;
+        return numberedLabels.getUsedCount() + otherLabels.size();
     }
 }
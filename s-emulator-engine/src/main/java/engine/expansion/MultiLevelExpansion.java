@@ -49,8 +49,8 @@ public class MultiLevelExpansion {
             
             InstructionMapping mapping = mappings.get(currentIndex);
             SProgram sourceProgram = getLevel(mapping.fromLevel);
-            if (sourceProgram != null && mapping.fromIndex < sourceProgram.getInstructions().size()) {
-                SInstruction sourceInstruction = sourceProgram.getInstructions().get(mapping.fromIndex);
+            if (sourceProgram != null && mapping.fromIndex < sourceProgram.size()) {
+                SInstruction sourceInstruction = sourceProgram.instructionAt(mapping.fromIndex);
                 ancestry.add(new InstructionAncestor(mapping.fromLevel, mapping.fromIndex + 1, sourceInstruction));
             }
             
@@ -12,14 +12,22 @@ import java.util.Set;
 public class MultiLevelExpansionEngine {
     
     public MultiLevelExpansion expandProgramToAllLevels(SProgram program) throws ExpansionException {
+        return expandProgramToLevel(program, program.getMaxExpansionLevel());
+    }
+    
+    public MultiLevelExpansion expandProgramToLevel(SProgram program, int targetLevel) throws ExpansionException {
+        if (targetLevel < 0 || targetLevel > program.getMaxExpansionLevel()) {
+            throw new ExpansionException("Target level " + targetLevel + 
+                " is outside the program's expansion range 0-" + program.getMaxExpansionLevel());
+        }
+        
         MultiLevelExpansion multiLevel = new MultiLevelExpansion();
         
         multiLevel.addLevel(0, program);
         
-        int maxLevel = program.getMaxExpansionLevel();
         SProgram currentProgram = program;
         
-        for (int level = 1; level <= maxLevel; level++) {
+        for (int level = 1; level <= targetLevel; level++) {
             SProgram expandedProgram = expandToNextLevel(currentProgram, level, multiLevel);
             multiLevel.addLevel(level, expandedProgram);
             currentProgram = expandedProgram;
@@ -68,6 +76,7 @@ public class MultiLevelExpansionEngine {
                 }
             }
         }
+        expandedProgram.freeze();
         
         return expandedProgram;
     }
@@ -0,0 +1,99 @@
+package engine.expansion;
+
+import java.util.BitSet;
+
+public class NameAllocator {
+    private final char prefix;
+    private final BitSet usedNumbers;
+    private int nextNumber;
+
+    public NameAllocator(char prefix) {
+        this.prefix = prefix;
+        this.usedNumbers = new BitSet();
+        this.nextNumber = 1;
+    }
+
+    public int allocateNumber() {
+        int number = usedNumbers.nextClearBit(nextNumber);
+        usedNumbers.set(number);
+        nextNumber = number + 1;
+        return number;
+    }
+
+    public String allocate() {
+        return format(allocateNumber());
+    }
+
+    public String format(int number) {
+        return prefix + Integer.toString(number);
+    }
+
+    public int parseNumber(String name) {
+        if (name == null || name.length() < 2 || name.charAt(0) != prefix) {
+            return -1;
+        }
+        if (name.charAt(1) == '0' && name.length() > 2) {
+            return -1;
+        }
+
+        int number = 0;
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            if (number > (Integer.MAX_VALUE - (c - '0')) / 10) {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    public int markUsed(String name) {
+        int number = parseNumber(name);
+        if (number >= 0) {
+            usedNumbers.set(number);
+        }
+        return number;
+    }
+
+    public void advancePast(int number) {
+        if (number >= nextNumber) {
+            nextNumber = number + 1;
+        }
+    }
+
+    public boolean isUsed(String name) {
+        int number = parseNumber(name);
+        return number >= 0 && usedNumbers.get(number);
+    }
+
+    public boolean isUsed(int number) {
+        return number >= 0 && usedNumbers.get(number);
+    }
+
+    public void copyFrom(NameAllocator other) {
+        if (other != null) {
+            usedNumbers.or(other.usedNumbers);
+            nextNumber = Math.max(nextNumber, other.nextNumber);
+        }
+    }
+
+    public int getNextNumber() {
+        return nextNumber;
+    }
+
+    public int getUsedCount() {
+        return usedNumbers.cardinality();
+    }
+
+    public BitSet getUsedNumbers() {
+        return (BitSet) usedNumbers.clone();
+    }
+
+    public void reset() {
+        usedNumbers.clear();
+        nextNumber = 1;
+    }
+}
@@ -0,0 +1,267 @@
+package engine.expansion;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.ExpansionException;
+import engine.model.InstructionType;
+import engine.model.compact.CompactProgram;
+import engine.model.instruction.InstructionInterner;
+import engine.model.instruction.basic.NeutralInstruction;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+public class StreamingExpansion {
+    private final SProgram program;
+    private final List<SInstruction> sourceInstructions;
+    private final int targetLevel;
+    private final long materializationLimit;
+    private final int[] blockOffsets;
+    private final int[][] blockLabelStarts;
+    private final int[][] blockVariableStarts;
+    private final List<List<SInstruction>> blocks;
+    private final Map<String, Integer> labelToIndexMap;
+    private final List<SInstruction> instructionView;
+    private int materializedBlockCount;
+    private long materializedInstructionCount;
+    private int lastBlockIndex;
+
+    public StreamingExpansion(SProgram program, int targetLevel, ExpansionEstimator estimator,
+                              long materializationLimit) throws ExpansionException {
+        if (program == null) {
+            throw new ExpansionException("Program cannot be null");
+        }
+        if (targetLevel < 0) {
+            throw new ExpansionException("Target expansion level cannot be negative: " + targetLevel);
+        }
+        if (targetLevel > program.getMaxExpansionLevel()) {
+            throw new ExpansionException("Target level " + targetLevel +
+                " exceeds program's maximum expansion level " + program.getMaxExpansionLevel());
+        }
+        if (materializationLimit <= 0) {
+            throw new ExpansionException("Materialization limit must be positive: " + materializationLimit);
+        }
+
+        this.program = program;
+        this.sourceInstructions = program.getInstructions();
+        this.targetLevel = targetLevel;
+        this.materializationLimit = materializationLimit;
+
+        int blockCount = sourceInstructions.size();
+        List<ExpansionEstimate> estimates = estimator.estimateInstructions(program, targetLevel);
+        ExpansionContext baseContext = ExpansionEngine.createExpansionContext(program);
+
+        this.blockOffsets = new int[blockCount + 1];
+        this.blockLabelStarts = new int[blockCount][targetLevel + 1];
+        this.blockVariableStarts = new int[blockCount][targetLevel + 1];
+
+        long nextLabel = baseContext.getNextLabelNumber();
+        long nextVariable = baseContext.getNextWorkingVariableNumber();
+        for (int level = 1; level <= targetLevel; level++) {
+            for (int block = 0; block < blockCount; block++) {
+                ExpansionEstimate estimate = estimates.get(block);
+                blockLabelStarts[block][level] = toIndex(nextLabel, "label numbers");
+                blockVariableStarts[block][level] = toIndex(nextVariable, "working variable numbers");
+                nextLabel += estimate.getNewLabelCount(level);
+                nextVariable += estimate.getNewWorkingVariableCount(level);
+            }
+        }
+
+        long offset = 0;
+        for (int block = 0; block < blockCount; block++) {
+            blockOffsets[block] = toIndex(offset, "instructions");
+            offset += estimates.get(block).getInstructionCount(targetLevel);
+        }
+        blockOffsets[blockCount] = toIndex(offset, "instructions");
+
+        this.blocks = new ArrayList<>(blockCount);
+        for (int block = 0; block < blockCount; block++) {
+            blocks.add(null);
+        }
+
+        this.labelToIndexMap = new HashMap<>();
+        for (int block = 0; block < blockCount; block++) {
+            String label = sourceInstructions.get(block).getLabel();
+            if (label != null && !label.trim().isEmpty()) {
+                labelToIndexMap.put(label.trim(), blockOffsets[block]);
+            }
+        }
+
+        this.instructionView = new InstructionView();
+        this.lastBlockIndex = 0;
+    }
+
+    public SProgram getProgram() {
+        return program;
+    }
+
+    public int getTargetLevel() {
+        return targetLevel;
+    }
+
+    public int size() {
+        return blockOffsets[blockOffsets.length - 1];
+    }
+
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    public int getMaterializedBlockCount() {
+        return materializedBlockCount;
+    }
+
+    public long getMaterializedInstructionCount() {
+        return materializedInstructionCount;
+    }
+
+    public SInstruction instructionAt(int index) throws ExpansionException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Instruction index " + index + " is outside 0-" + (size() - 1));
+        }
+        int block = findBlock(index);
+        return materializeBlock(block).get(index - blockOffsets[block]);
+    }
+
+    public List<SInstruction> getInstructions() {
+        return instructionView;
+    }
+
+    public CompactProgram toCompactProgram() throws ExpansionException {
+        if (size() > materializationLimit) {
+            throw new ExpansionException("Expanding '" + program.getName() + "' to level " + targetLevel +
+                " requires " + size() + " instructions, which exceeds the limit of " + materializationLimit);
+        }
+
+        CompactProgram compactProgram = new CompactProgram(program.getName(), program.getInputVariables());
+        for (int block = 0; block < blocks.size(); block++) {
+            for (SInstruction instruction : expandBlock(block)) {
+                compactProgram.addInstruction(instruction);
+            }
+        }
+        compactProgram.setFunctionRegistry(program.getFunctionRegistry());
+        compactProgram.freeze();
+        return compactProgram;
+    }
+
+    public Map<String, Integer> getLabelToIndexMap() {
+        return labelToIndexMap;
+    }
+
+    private int findBlock(int index) {
+        if (index >= blockOffsets[lastBlockIndex] && index < blockOffsets[lastBlockIndex + 1]) {
+            return lastBlockIndex;
+        }
+        int position = Arrays.binarySearch(blockOffsets, index);
+        int block = position >= 0 ? position : -position - 2;
+        while (blockOffsets[block + 1] == blockOffsets[block]) {
+            block++;
+        }
+        lastBlockIndex = block;
+        return block;
+    }
+
+    private List<SInstruction> materializeBlock(int block) throws ExpansionException {
+        List<SInstruction> instructions = blocks.get(block);
+        if (instructions != null) {
+            return instructions;
+        }
+
+        int expectedSize = blockOffsets[block + 1] - blockOffsets[block];
+        if (materializedInstructionCount + expectedSize > materializationLimit) {
+            throw new ExpansionException("Expanding '" + program.getName() + "' to level " + targetLevel +
+                " requires more than " + materializationLimit + " materialized instructions");
+        }
+
+        List<SInstruction> expanded = expandBlock(block);
+        if (expanded.size() != expectedSize) {
+            throw new ExpansionException("Instruction " + (block + 1) + " expanded to " + expanded.size() +
+                " instructions at level " + targetLevel + " but " + expectedSize + " were estimated");
+        }
+
+        instructions = new ArrayList<>(expanded.size());
+        for (int i = 0; i < expanded.size(); i++) {
+            instructions.add(InstructionInterner.intern(expanded.get(i)));
+            String label = expanded.get(i).getLabel();
+            if (label != null && !label.trim().isEmpty()) {
+                labelToIndexMap.put(label.trim(), blockOffsets[block] + i);
+            }
+        }
+
+        blocks.set(block, instructions);
+        materializedBlockCount++;
+        materializedInstructionCount += instructions.size();
+        return instructions;
+    }
+
+    private List<SInstruction> expandBlock(int block) throws ExpansionException {
+        ExpansionContext context = new ExpansionContext();
+        context.setCurrentLevel(targetLevel);
+        context.setFunctionRegistry(program.getFunctionRegistry());
+        context.setCurrentOriginalLineNumber(block + 1);
+
+        List<SInstruction> currentInstructions = List.of(sourceInstructions.get(block));
+        for (int level = 1; level <= targetLevel; level++) {
+            context.advanceToLabelNumber(blockLabelStarts[block][level]);
+            context.advanceToWorkingVariableNumber(blockVariableStarts[block][level]);
+
+            List<SInstruction> nextInstructions = new ArrayList<>();
+            boolean hasExpansion = false;
+            for (SInstruction instruction : currentInstructions) {
+                if (instruction.getType() == InstructionType.BASIC) {
+                    nextInstructions.add(instruction);
+                    continue;
+                }
+
+                hasExpansion = true;
+                List<SInstruction> expandedInstructions;
+                try {
+                    expandedInstructions = instruction.expand(context);
+                } catch (RuntimeException e) {
+                    throw new ExpansionException("Failed to expand instruction '" +
+                        instruction.getDisplayFormat() + "': " + e.getMessage(), e);
+                }
+
+                if (instruction.getLabel() != null && !instruction.getLabel().trim().isEmpty()) {
+                    nextInstructions.add(InstructionInterner.intern(
+                        new NeutralInstruction(instruction.getVariable(), instruction.getLabel(), Map.of())));
+                }
+                nextInstructions.addAll(expandedInstructions);
+            }
+
+            currentInstructions = nextInstructions;
+            if (!hasExpansion) {
+                break;
+            }
+        }
+
+        return currentInstructions;
+    }
+
+    private static int toIndex(long value, String what) throws ExpansionException {
+        if (value > Integer.MAX_VALUE) {
+            throw new ExpansionException("Expansion requires too many " + what + " to stream: " + value);
+        }
+        return (int) value;
+    }
+
+    private final class InstructionView extends AbstractList<SInstruction> implements RandomAccess {
+        @Override
+        public SInstruction get(int index) {
+            try {
+                return instructionAt(index);
+            } catch (ExpansionException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public int size() {
+            return StreamingExpansion.this.size();
+        }
+    }
+}
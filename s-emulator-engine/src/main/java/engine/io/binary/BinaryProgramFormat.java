@@ -0,0 +1,22 @@
+package engine.io.binary;
+
+import java.util.Locale;
+
+public final class BinaryProgramFormat {
+    public static final int MAGIC = 0x53454D42;
+    public static final short VERSION = 1;
+    public static final String FILE_EXTENSION = ".semb";
+    public static final int HEADER_SIZE = 24;
+    public static final int NO_STRING = -1;
+    public static final short FLAG_EXPANSION = 1;
+    public static final int SOURCE_NONE = 0;
+    public static final int SOURCE_EXPANDED = 1;
+    public static final int SOURCE_COPY = 2;
+
+    private BinaryProgramFormat() {
+    }
+
+    public static boolean isBinaryFile(String filePath) {
+        return filePath != null && filePath.trim().toLowerCase(Locale.ENGLISH).endsWith(FILE_EXTENSION);
+    }
+}
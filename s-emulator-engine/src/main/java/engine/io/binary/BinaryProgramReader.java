@@ -0,0 +1,219 @@
+package engine.io.binary;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.LoadException;
+import engine.link.ProgramLinker;
+import engine.model.FunctionRegistry;
+import engine.model.SProgramImpl;
+import engine.model.instruction.InstructionFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class BinaryProgramReader {
+    private final ProgramLinker programLinker;
+
+    public BinaryProgramReader() {
+        this.programLinker = new ProgramLinker();
+    }
+
+    public SProgram read(Path path) throws LoadException {
+        SProgram program = readUnlinked(path);
+        try {
+            programLinker.link(program);
+            return program;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | IllegalStateException e) {
+            throw new LoadException("Corrupt binary program '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    public SProgram readUnlinked(Path path) throws LoadException {
+        ByteBuffer payload = map(path, (short) 0);
+        try {
+            return new Decoder(payload, null).decode();
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | IllegalStateException e) {
+            throw new LoadException("Corrupt binary program '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    public SProgram readExpansion(Path path, SProgram previousLevel) throws LoadException {
+        if (previousLevel == null) {
+            throw new IllegalArgumentException("Previous expansion level cannot be null");
+        }
+        ByteBuffer payload = map(path, BinaryProgramFormat.FLAG_EXPANSION);
+        try {
+            return new Decoder(payload, previousLevel).decode();
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | IllegalStateException e) {
+            throw new LoadException("Corrupt binary program '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static ByteBuffer map(Path path, short flags) throws LoadException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new LoadException("File does not exist: " + path);
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < BinaryProgramFormat.HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new LoadException("Not a binary S-Emulator program: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new LoadException("Failed to read binary program '" + path + "': " + e.getMessage(), e);
+        }
+        return checkHeader(buffer, path, flags);
+    }
+
+    private static ByteBuffer checkHeader(ByteBuffer buffer, Path path, short flags) throws LoadException {
+        if (buffer.getInt(0) != BinaryProgramFormat.MAGIC) {
+            throw new LoadException("Not a binary S-Emulator program: " + path);
+        }
+        short version = buffer.getShort(4);
+        if (version != BinaryProgramFormat.VERSION) {
+            throw new LoadException("Unsupported binary program version " + version + " in '" + path + "'");
+        }
+        if (buffer.getShort(6) != flags) {
+            throw new LoadException((flags == 0 ? "Binary file holds an expansion level, not a program: "
+                : "Binary file does not hold an expansion level: ") + path);
+        }
+        long payloadLength = buffer.getLong(8);
+        if (payloadLength != buffer.capacity() - BinaryProgramFormat.HEADER_SIZE) {
+            throw new LoadException("Truncated binary program: " + path);
+        }
+
+        ByteBuffer payload = buffer.slice(BinaryProgramFormat.HEADER_SIZE, (int) payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if (crc.getValue() != buffer.getLong(16)) {
+            throw new LoadException("Checksum mismatch in binary program: " + path);
+        }
+        return payload;
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer payload;
+        private final int stringCount;
+        private final int stringData;
+        private final String[] strings;
+        private final int directory;
+        private final int programCount;
+        private final int records;
+        private final SProgram previousLevel;
+
+        Decoder(ByteBuffer payload, SProgram previousLevel) {
+            this.payload = payload;
+            this.previousLevel = previousLevel;
+            this.stringCount = payload.getInt(0);
+            this.stringData = 4 + (stringCount + 1) * 4;
+            this.strings = new String[stringCount];
+            this.directory = stringData + payload.getInt(4 + stringCount * 4);
+            this.programCount = payload.getInt(directory);
+            this.records = directory + 4 + programCount * 16;
+        }
+
+        SProgram decode() {
+            if (programCount < 1) {
+                throw new IllegalStateException("Binary program has no main program");
+            }
+            SProgramImpl main = decodeProgram(0);
+            if (previousLevel != null) {
+                main.setFunctionRegistry(previousLevel.getFunctionRegistry());
+                main.freeze();
+                return main;
+            }
+            main.validate();
+            main.freeze();
+            FunctionRegistry functionRegistry = new FunctionRegistry();
+            for (int i = 1; i < programCount; i++) {
+                int entry = directory + 4 + i * 16;
+                int index = i;
+                functionRegistry.registerLazyFunction(string(payload.getInt(entry)), string(payload.getInt(entry + 4)),
+                    () -> decodeFunction(index));
+            }
+            main.setFunctionRegistry(functionRegistry);
+            return main;
+        }
+
+        private SProgramImpl decodeFunction(int index) {
+            SProgramImpl function = decodeProgram(index);
+            function.validate();
+            function.freeze();
+            return function;
+        }
+
+        private SProgramImpl decodeProgram(int index) {
+            int entry = directory + 4 + index * 16;
+            SProgramImpl program = new SProgramImpl(string(payload.getInt(entry)));
+            int count = payload.getInt(entry + 8);
+            int position = records + payload.getInt(entry + 12);
+            for (int i = 0; i < count; i++) {
+                int sourceKind = BinaryProgramFormat.SOURCE_NONE;
+                int sourceIndex = 0;
+                if (previousLevel != null) {
+                    sourceKind = payload.getInt(position);
+                    sourceIndex = payload.getInt(position + 4);
+                    position += 8;
+                }
+                String name = string(payload.getInt(position));
+                String variable = string(payload.getInt(position + 4));
+                String label = string(payload.getInt(position + 8));
+                int argumentCount = payload.getInt(position + 12);
+                position += 16;
+                Map<String, String> arguments = new HashMap<>();
+                for (int j = 0; j < argumentCount; j++) {
+                    arguments.put(string(payload.getInt(position)), string(payload.getInt(position + 4)));
+                    position += 8;
+                }
+                if (sourceKind == BinaryProgramFormat.SOURCE_COPY) {
+                    program.addInstruction(previousLevel.instructionAt(sourceIndex), previousLevel.sourceInstructionAt(sourceIndex));
+                } else {
+                    program.addInstruction(createInstruction(name, variable, label, arguments, sourceKind, sourceIndex));
+                }
+            }
+            return program;
+        }
+
+        private SInstruction createInstruction(String name, String variable, String label, Map<String, String> arguments,
+                                               int sourceKind, int sourceIndex) {
+            switch (sourceKind) {
+                case BinaryProgramFormat.SOURCE_EXPANDED:
+                    return InstructionFactory.createInstruction(name, variable, label, arguments,
+                        previousLevel.instructionAt(sourceIndex));
+                case BinaryProgramFormat.SOURCE_NONE:
+                    return InstructionFactory.createInstruction(name, variable, label, arguments);
+                default:
+                    throw new IllegalStateException("Unknown instruction source kind " + sourceKind);
+            }
+        }
+
+        private String string(int index) {
+            if (index == BinaryProgramFormat.NO_STRING) {
+                return null;
+            }
+            String value = strings[index];
+            if (value == null) {
+                int start = payload.getInt(4 + index * 4);
+                int end = payload.getInt(8 + index * 4);
+                byte[] bytes = new byte[end - start];
+                payload.get(stringData + start, bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                strings[index] = value;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package engine.io.binary;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.LoadException;
+import engine.model.FunctionRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+public class BinaryProgramWriter {
+
+    public void write(SProgram program, Path path) throws LoadException {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        write(program, null, path);
+    }
+
+    public void writeExpansion(SProgram level, SProgram previousLevel, Path path) throws LoadException {
+        if (level == null || previousLevel == null) {
+            throw new IllegalArgumentException("Expansion levels cannot be null");
+        }
+        write(level, previousLevel, path);
+    }
+
+    private void write(SProgram program, SProgram previousLevel, Path path) throws LoadException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        try {
+            byte[] payload = encode(program, previousLevel);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            ByteBuffer header = ByteBuffer.allocate(BinaryProgramFormat.HEADER_SIZE);
+            header.putInt(BinaryProgramFormat.MAGIC);
+            header.putShort(BinaryProgramFormat.VERSION);
+            header.putShort(previousLevel != null ? BinaryProgramFormat.FLAG_EXPANSION : 0);
+            header.putLong(payload.length);
+            header.putLong(crc.getValue());
+            header.flip();
+
+            Path directory = path.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer body = ByteBuffer.wrap(payload);
+                    while (header.hasRemaining() || body.hasRemaining()) {
+                        channel.write(new ByteBuffer[] {header, body});
+                    }
+                    channel.force(true);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | IllegalStateException e) {
+            throw new LoadException("Failed to write binary program '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] encode(SProgram program, SProgram previousLevel) throws IOException {
+        StringTable strings = new StringTable();
+        List<String> functionNames = new ArrayList<>();
+        FunctionRegistry registry = program.getFunctionRegistry();
+        if (registry != null && previousLevel == null) {
+            functionNames.addAll(new TreeSet<>(registry.getAllFunctionNames()));
+        }
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        int[][] directory = new int[functionNames.size() + 1][];
+        directory[0] = encodeProgram(program.getName(), null, program, indexSources(previousLevel), strings, records);
+        for (int i = 0; i < functionNames.size(); i++) {
+            String functionName = functionNames.get(i);
+            directory[i + 1] = encodeProgram(functionName, registry.getFunctionDisplayName(functionName),
+                registry.getFunction(functionName), null, strings, records);
+        }
+        records.flush();
+
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(recordBytes.size() + strings.byteSize() * 2);
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        strings.writeTo(payload);
+        payload.writeInt(directory.length);
+        for (int[] entry : directory) {
+            for (int value : entry) {
+                payload.writeInt(value);
+            }
+        }
+        recordBytes.writeTo(payload);
+        payload.flush();
+        return payloadBytes.toByteArray();
+    }
+
+    private static SourceIndex indexSources(SProgram previousLevel) {
+        return previousLevel != null ? new SourceIndex(previousLevel) : null;
+    }
+
+    private int[] encodeProgram(String name, String displayName, SProgram program, SourceIndex sources,
+                                StringTable strings, DataOutputStream records) throws IOException {
+        int offset = records.size();
+        List<SInstruction> instructions = program.getInstructions();
+        for (int i = 0; i < instructions.size(); i++) {
+            SInstruction instruction = instructions.get(i);
+            if (sources != null) {
+                writeSource(instruction, program.sourceInstructionAt(i), sources, records);
+            }
+            records.writeInt(strings.indexOf(instruction.getName()));
+            records.writeInt(strings.indexOf(instruction.getVariable()));
+            records.writeInt(strings.indexOf(instruction.getLabel()));
+            Map<String, String> arguments = instruction.getArguments();
+            records.writeInt(arguments.size());
+            for (Map.Entry<String, String> argument : arguments.entrySet()) {
+                records.writeInt(strings.indexOf(argument.getKey()));
+                records.writeInt(strings.indexOf(argument.getValue()));
+            }
+        }
+        return new int[] {strings.indexOf(name), strings.indexOf(displayName), instructions.size(), offset};
+    }
+
+    private static void writeSource(SInstruction instruction, SInstruction sourceInstruction, SourceIndex sources,
+                                    DataOutputStream records) throws IOException {
+        Map<SInstruction, Integer> placements = sources.copies.get(instruction);
+        Integer copied = placements != null ? placements.get(sourceInstruction) : null;
+        if (copied != null) {
+            records.writeInt(BinaryProgramFormat.SOURCE_COPY);
+            records.writeInt(copied);
+            return;
+        }
+        Integer parent = sourceInstruction != null ? sources.parents.get(sourceInstruction) : null;
+        if (parent != null) {
+            records.writeInt(BinaryProgramFormat.SOURCE_EXPANDED);
+            records.writeInt(parent);
+        } else {
+            records.writeInt(BinaryProgramFormat.SOURCE_NONE);
+            records.writeInt(0);
+        }
+    }
+
+    private static final class SourceIndex {
+        private final Map<SInstruction, Integer> parents = new IdentityHashMap<>();
+        private final Map<SInstruction, Map<SInstruction, Integer>> copies = new IdentityHashMap<>();
+
+        private SourceIndex(SProgram previousLevel) {
+            for (int i = 0; i < previousLevel.size(); i++) {
+                SInstruction instruction = previousLevel.instructionAt(i);
+                parents.putIfAbsent(instruction, i);
+                copies.computeIfAbsent(instruction, key -> new IdentityHashMap<>())
+                    .putIfAbsent(previousLevel.sourceInstructionAt(i), i);
+            }
+        }
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int byteSize;
+
+        int indexOf(String value) {
+            if (value == null) {
+                return BinaryProgramFormat.NO_STRING;
+            }
+            Integer index = indices.get(value);
+            if (index == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                index = values.size();
+                values.add(bytes);
+                indices.put(value, index);
+                byteSize += bytes.length;
+            }
+            return index;
+        }
+
+        int byteSize() {
+            return byteSize;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            int offset = 0;
+            for (byte[] value : values) {
+                out.writeInt(offset);
+                offset += value.length;
+            }
+            out.writeInt(offset);
+            for (byte[] value : values) {
+                out.write(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package engine.io.cache;
+
+import engine.api.SProgram;
+import engine.exception.LoadException;
+import engine.io.binary.BinaryProgramFormat;
+import engine.io.binary.BinaryProgramReader;
+import engine.io.binary.BinaryProgramWriter;
+import engine.model.SEmulatorConstants;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+public class ProgramCache {
+    private static final String TEMP_FILE_PATTERN = "*.tmp";
+    private static final long STALE_TEMP_FILE_MILLIS = 60L * 60L * 1000L;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final BinaryProgramReader reader;
+    private final BinaryProgramWriter writer;
+
+    public ProgramCache(Path directory, long maxBytes) throws LoadException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Cache directory cannot be null");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size limit must be positive");
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new LoadException("Failed to create cache directory '" + directory + "': " + e.getMessage(), e);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.reader = new BinaryProgramReader();
+        this.writer = new BinaryProgramWriter();
+        deleteStaleTempFiles();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public String keyOf(byte[] sourceContent) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(SEmulatorConstants.ENGINE_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(sourceContent);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public SProgram getProgram(String key) {
+        Path entry = programEntry(key);
+        try {
+            SProgram program = reader.read(entry);
+            touch(entry);
+            return program;
+        } catch (LoadException e) {
+            return null;
+        }
+    }
+
+    public void putProgram(String key, SProgram program) {
+        try {
+            writer.write(program, programEntry(key));
+            evict();
+        } catch (LoadException e) {
+            return;
+        }
+    }
+
+    public SProgram getExpansion(String key, SProgram program, int level) {
+        SProgram current = program;
+        try {
+            for (int i = 1; i <= level; i++) {
+                Path entry = expansionEntry(key, i);
+                current = reader.readExpansion(entry, current);
+                touch(entry);
+            }
+            return current;
+        } catch (LoadException e) {
+            return null;
+        }
+    }
+
+    public void putExpansion(String key, List<SProgram> levels) {
+        try {
+            for (int i = 1; i < levels.size(); i++) {
+                Path entry = expansionEntry(key, i);
+                if (!Files.isRegularFile(entry)) {
+                    writer.writeExpansion(levels.get(i), levels.get(i - 1), entry);
+                }
+            }
+            evict();
+        } catch (LoadException e) {
+            return;
+        }
+    }
+
+    public void clear() throws LoadException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (IOException e) {
+            throw new LoadException("Failed to clear cache directory '" + directory + "': " + e.getMessage(), e);
+        }
+    }
+
+    private Path programEntry(String key) {
+        return directory.resolve(key + BinaryProgramFormat.FILE_EXTENSION);
+    }
+
+    private Path expansionEntry(String key, int level) {
+        return directory.resolve(key + ".L" + level + BinaryProgramFormat.FILE_EXTENSION);
+    }
+
+    private static void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            return;
+        }
+    }
+
+    private void deleteStaleTempFiles() {
+        long cutoff = System.currentTimeMillis() - STALE_TEMP_FILE_MILLIS;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, TEMP_FILE_PATTERN)) {
+            for (Path path : stream) {
+                try {
+                    if (Files.getLastModifiedTime(path).toMillis() < cutoff) {
+                        Files.deleteIfExists(path);
+                    }
+                } catch (IOException e) {
+                    continue;
+                }
+            }
+        } catch (IOException e) {
+            return;
+        }
+    }
+
+    private synchronized void evict() {
+        List<CacheEntry> entries = new ArrayList<>();
+        long totalBytes = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + BinaryProgramFormat.FILE_EXTENSION)) {
+            for (Path path : stream) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    entries.add(new CacheEntry(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                    totalBytes += attributes.size();
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+            }
+        } catch (IOException e) {
+            return;
+        }
+        if (totalBytes <= maxBytes) {
+            return;
+        }
+
+        entries.sort(Comparator.comparingLong(entry -> entry.lastUsed));
+        for (CacheEntry entry : entries) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.path);
+                totalBytes -= entry.size;
+            } catch (IOException e) {
+                continue;
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Path path;
+        private final long size;
+        private final long lastUsed;
+
+        private CacheEntry(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package engine.io.text;
+
+import engine.model.SEmulatorConstants;
+import java.util.Locale;
+
+public final class TextProgramFormat {
+    public static final String FILE_EXTENSION = ".sasm";
+    public static final String PROGRAM_KEYWORD = "program";
+    public static final String FUNCTION_KEYWORD = "function";
+    public static final String IF_KEYWORD = "IF";
+    public static final String GOTO_KEYWORD = "GOTO";
+    public static final String ASSIGN = "<-";
+    public static final char ASSIGN_ARROW = '←';
+    public static final char COMMENT = '#';
+    public static final char ANNOTATION = '@';
+    public static final String DEFAULT_GOTO_VARIABLE = SEmulatorConstants.RESULT_VARIABLE;
+
+    private TextProgramFormat() {
+    }
+
+    public static boolean isTextFile(String filePath) {
+        return filePath != null && filePath.trim().toLowerCase(Locale.ENGLISH).endsWith(FILE_EXTENSION);
+    }
+
+    static boolean isZero(String constant) {
+        for (int i = 0; i < constant.length(); i++) {
+            if (constant.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return !constant.isEmpty();
+    }
+}
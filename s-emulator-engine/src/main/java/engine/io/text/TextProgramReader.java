@@ -0,0 +1,487 @@
+package engine.io.text;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.LoadException;
+import engine.link.ProgramLinker;
+import engine.model.FunctionRegistry;
+import engine.model.SEmulatorConstants;
+import engine.model.SProgramImpl;
+import engine.model.instruction.InstructionFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+public class TextProgramReader {
+    private final ProgramLinker programLinker;
+
+    public TextProgramReader() {
+        this.programLinker = new ProgramLinker();
+    }
+
+    public SProgram read(Path path) throws LoadException {
+        SProgram program = readUnlinked(path);
+        programLinker.link(program);
+        return program;
+    }
+
+    public SProgram readUnlinked(Path path) throws LoadException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new LoadException("File does not exist: " + path);
+        }
+
+        String text;
+        try {
+            text = Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new LoadException("Failed to read text program '" + path + "': " + e.getMessage(), e);
+        }
+        return new Parser(text, path.toString()).parse();
+    }
+
+    public SProgram read(String text, String source) throws LoadException {
+        if (text == null) {
+            throw new IllegalArgumentException("Program text cannot be null");
+        }
+        SProgram program = new Parser(text, source).parse();
+        programLinker.link(program);
+        return program;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private final String source;
+        private final int length;
+        private final FunctionRegistry functionRegistry;
+        private int position;
+        private int lineNumber;
+        private SProgramImpl main;
+        private SProgramImpl current;
+        private String currentUserString;
+        private String callName;
+        private String callArguments;
+
+        Parser(String text, String source) {
+            this.text = text;
+            this.source = source;
+            this.length = text.length();
+            this.functionRegistry = new FunctionRegistry();
+            this.position = length > 0 && text.charAt(0) == '\uFEFF' ? 1 : 0;
+        }
+
+        SProgram parse() throws LoadException {
+            while (position < length) {
+                lineNumber++;
+                parseLine();
+                skipLineBreak();
+            }
+            finishCurrent();
+            if (main == null) {
+                throw new LoadException("Text program '" + source + "' has no '" + TextProgramFormat.PROGRAM_KEYWORD + "' header");
+            }
+            main.setFunctionRegistry(functionRegistry);
+            return main;
+        }
+
+        private void parseLine() throws LoadException {
+            skipSpaces();
+            if (atLineEnd() || peek() == TextProgramFormat.COMMENT) {
+                skipToLineEnd();
+            } else if (acceptKeyword(TextProgramFormat.PROGRAM_KEYWORD)) {
+                startProgram();
+            } else if (acceptKeyword(TextProgramFormat.FUNCTION_KEYWORD)) {
+                startFunction();
+            } else if (current == null) {
+                throw error("Instruction outside of a program or function");
+            } else {
+                current.addInstruction(parseInstruction());
+            }
+        }
+
+        private void startProgram() throws LoadException {
+            if (main != null) {
+                throw error("Duplicate '" + TextProgramFormat.PROGRAM_KEYWORD + "' header");
+            }
+            skipSpaces();
+            String name = restOfLine();
+            if (name.isEmpty()) {
+                throw error("Program name cannot be empty");
+            }
+            main = new SProgramImpl(name);
+            current = main;
+        }
+
+        private void startFunction() throws LoadException {
+            if (main == null) {
+                throw error("Function defined before the '" + TextProgramFormat.PROGRAM_KEYWORD + "' header");
+            }
+            finishCurrent();
+            skipSpaces();
+            int start = position;
+            while (!atLineEnd() && !Character.isWhitespace(peek())) {
+                position++;
+            }
+            String name = text.substring(start, position);
+            if (name.isEmpty()) {
+                throw error("Function name cannot be empty");
+            }
+            if (functionRegistry.functionExists(name)) {
+                throw error("Duplicate function: " + name);
+            }
+            skipSpaces();
+            String userString = restOfLine();
+            if (userString.isEmpty()) {
+                throw error("Function user-string cannot be empty");
+            }
+            current = new SProgramImpl(name);
+            currentUserString = userString;
+        }
+
+        private void finishCurrent() throws LoadException {
+            if (current == null) {
+                return;
+            }
+            try {
+                current.validate();
+            } catch (IllegalStateException e) {
+                throw new LoadException("Invalid " + (current == main ? "program" : "function") + " '" + current.getName() +
+                    "' in '" + source + "': " + e.getMessage(), e);
+            }
+            current.freeze();
+            if (current != main) {
+                functionRegistry.registerFunction(current.getName(), currentUserString, current);
+            }
+            current = null;
+        }
+
+        private SInstruction parseInstruction() throws LoadException {
+            String label = null;
+            if (peek() == '[') {
+                position++;
+                skipSpaces();
+                label = label();
+                skipSpaces();
+                expect(']');
+                skipSpaces();
+            }
+
+            String name;
+            String variable;
+            String operand = null;
+            String target = null;
+            if (acceptKeyword(TextProgramFormat.IF_KEYWORD)) {
+                skipSpaces();
+                variable = variable();
+                skipSpaces();
+                if (accept('!')) {
+                    expect('=');
+                    skipSpaces();
+                    if (!TextProgramFormat.isZero(constant())) {
+                        throw error("Only '!= 0' comparisons are supported");
+                    }
+                    name = SEmulatorConstants.JUMP_NOT_ZERO_NAME;
+                } else {
+                    expect('=');
+                    skipSpaces();
+                    if (peek() == '(') {
+                        parseCall();
+                        name = SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME;
+                    } else if (isDigit(peek())) {
+                        operand = constant();
+                        name = TextProgramFormat.isZero(operand)
+                            ? SEmulatorConstants.JUMP_ZERO_NAME : SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME;
+                    } else {
+                        operand = variable();
+                        name = SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME;
+                    }
+                }
+                skipSpaces();
+                if (!acceptKeyword(TextProgramFormat.GOTO_KEYWORD)) {
+                    throw error("Expected '" + TextProgramFormat.GOTO_KEYWORD + "'");
+                }
+                skipSpaces();
+                target = label();
+            } else if (acceptKeyword(TextProgramFormat.GOTO_KEYWORD)) {
+                skipSpaces();
+                target = label();
+                variable = TextProgramFormat.DEFAULT_GOTO_VARIABLE;
+                name = SEmulatorConstants.GOTO_LABEL_NAME;
+            } else {
+                variable = variable();
+                skipSpaces();
+                if (accept(TextProgramFormat.ASSIGN_ARROW)) {
+                    skipSpaces();
+                } else if (accept('<')) {
+                    expect('-');
+                    skipSpaces();
+                } else {
+                    throw error("Expected '" + TextProgramFormat.ASSIGN + "'");
+                }
+                if (peek() == '(') {
+                    parseCall();
+                    name = SEmulatorConstants.QUOTE_NAME;
+                } else if (isDigit(peek())) {
+                    operand = constant();
+                    name = TextProgramFormat.isZero(operand)
+                        ? SEmulatorConstants.ZERO_VARIABLE_NAME : SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME;
+                } else {
+                    operand = variable();
+                    skipSpaces();
+                    if (accept('+')) {
+                        name = SEmulatorConstants.INCREASE_NAME;
+                    } else if (accept('-')) {
+                        name = SEmulatorConstants.DECREASE_NAME;
+                    } else {
+                        name = operand.equals(variable) ? SEmulatorConstants.NEUTRAL_NAME : SEmulatorConstants.ASSIGNMENT_NAME;
+                    }
+                    if (name.equals(SEmulatorConstants.INCREASE_NAME) || name.equals(SEmulatorConstants.DECREASE_NAME)) {
+                        skipSpaces();
+                        if (!constant().equals("1")) {
+                            throw error("Only '+ 1' and '- 1' are supported");
+                        }
+                        if (!operand.equals(variable)) {
+                            throw error("Increment and decrement must use '" + variable + "' on both sides");
+                        }
+                    }
+                }
+            }
+
+            skipSpaces();
+            if (accept(TextProgramFormat.ANNOTATION)) {
+                String annotation = identifier();
+                if (isVariableName(annotation)) {
+                    if (!name.equals(SEmulatorConstants.GOTO_LABEL_NAME)) {
+                        throw error("Variable annotations apply only to " + TextProgramFormat.GOTO_KEYWORD + " lines");
+                    }
+                    variable = annotation;
+                } else {
+                    name = reinterpret(name, annotation);
+                }
+                skipSpaces();
+            }
+            if (!atLineEnd() && peek() != TextProgramFormat.COMMENT) {
+                throw error("Unexpected text '" + restOfLine() + "'");
+            }
+            skipToLineEnd();
+
+            try {
+                return InstructionFactory.createInstruction(name, variable, label, arguments(name, variable, operand, target));
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+        }
+
+        private String reinterpret(String name, String annotation) throws LoadException {
+            if (annotation.equals(name)) {
+                return name;
+            }
+            if (name.equals(SEmulatorConstants.ZERO_VARIABLE_NAME) && annotation.equals(SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME) ||
+                name.equals(SEmulatorConstants.NEUTRAL_NAME) && annotation.equals(SEmulatorConstants.ASSIGNMENT_NAME) ||
+                name.equals(SEmulatorConstants.JUMP_ZERO_NAME) && annotation.equals(SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME)) {
+                return annotation;
+            }
+            throw error("Annotation '" + TextProgramFormat.ANNOTATION + annotation + "' does not apply to " + name);
+        }
+
+        private Map<String, String> arguments(String name, String variable, String operand, String target) {
+            switch (name) {
+                case SEmulatorConstants.JUMP_NOT_ZERO_NAME:
+                    return Map.of(SEmulatorConstants.JNZ_LABEL_ARG, target);
+                case SEmulatorConstants.JUMP_ZERO_NAME:
+                    return Map.of(SEmulatorConstants.JZ_LABEL_ARG, target);
+                case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME:
+                    return Map.of(SEmulatorConstants.JE_CONSTANT_LABEL_ARG, target, SEmulatorConstants.CONSTANT_VALUE_ARG, operand);
+                case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME:
+                    return Map.of(SEmulatorConstants.JE_VARIABLE_LABEL_ARG, target, SEmulatorConstants.VARIABLE_NAME_ARG, operand);
+                case SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME:
+                    return Map.of(SEmulatorConstants.JE_FUNCTION_LABEL_ARG, target, SEmulatorConstants.FUNCTION_NAME_ARG, callName,
+                                  SEmulatorConstants.FUNCTION_ARGUMENTS_ARG, callArguments);
+                case SEmulatorConstants.GOTO_LABEL_NAME:
+                    return Map.of(SEmulatorConstants.GOTO_LABEL_ARG, target);
+                case SEmulatorConstants.QUOTE_NAME:
+                    return Map.of(SEmulatorConstants.FUNCTION_NAME_ARG, callName, SEmulatorConstants.FUNCTION_ARGUMENTS_ARG, callArguments);
+                case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+                    return Map.of(SEmulatorConstants.CONSTANT_VALUE_ARG, operand);
+                case SEmulatorConstants.ASSIGNMENT_NAME:
+                    return Map.of(SEmulatorConstants.ASSIGNED_VARIABLE_ARG, operand);
+                default:
+                    return Map.of();
+            }
+        }
+
+        private void parseCall() throws LoadException {
+            expect('(');
+            int start = position;
+            while (!atLineEnd() && peek() != ',' && peek() != ')') {
+                position++;
+            }
+            callName = text.substring(start, position).trim();
+            if (callName.isEmpty()) {
+                throw error("Function name cannot be empty");
+            }
+            if (atLineEnd()) {
+                throw error("Unbalanced parentheses in function call");
+            }
+            if (peek() == ')') {
+                position++;
+                callArguments = "";
+                return;
+            }
+
+            position++;
+            start = position;
+            int depth = 0;
+            while (true) {
+                if (atLineEnd()) {
+                    throw error("Unbalanced parentheses in function call");
+                }
+                char c = peek();
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    if (depth == 0) {
+                        break;
+                    }
+                    depth--;
+                }
+                position++;
+            }
+            callArguments = text.substring(start, position).trim();
+            position++;
+        }
+
+        private String variable() throws LoadException {
+            String variable = identifier();
+            if (!isVariableName(variable)) {
+                throw error("Invalid variable name: '" + variable + "'. Must be 'y', 'x' followed by digits, or 'z' followed by digits");
+            }
+            return variable;
+        }
+
+        private String label() throws LoadException {
+            String label = identifier();
+            if (!label.equals(SEmulatorConstants.EXIT_LABEL) && !isNumbered(label, 'L')) {
+                throw error("Invalid label format: '" + label + "'. Must be 'L' followed by digits or 'EXIT'");
+            }
+            return label;
+        }
+
+        private String constant() throws LoadException {
+            int start = position;
+            while (!atLineEnd() && isDigit(peek())) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Expected a number");
+            }
+            return text.substring(start, position);
+        }
+
+        private String identifier() {
+            int start = position;
+            while (!atLineEnd() && isIdentifierChar(peek())) {
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        private String restOfLine() {
+            int start = position;
+            skipToLineEnd();
+            int end = position;
+            while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            return text.substring(start, end);
+        }
+
+        private static boolean isVariableName(String name) {
+            return name.equals(SEmulatorConstants.RESULT_VARIABLE) || isNumbered(name, 'x') || isNumbered(name, 'z');
+        }
+
+        private static boolean isNumbered(String name, char prefix) {
+            if (name.length() < 2 || name.charAt(0) != prefix) {
+                return false;
+            }
+            for (int i = 1; i < name.length(); i++) {
+                if (!isDigit(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isIdentifierChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_';
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            int end = position + keyword.length();
+            if (!text.startsWith(keyword, position) || end < length && isIdentifierChar(text.charAt(end))) {
+                return false;
+            }
+            position = end;
+            return true;
+        }
+
+        private boolean accept(char expected) {
+            if (!atLineEnd() && peek() == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) throws LoadException {
+            if (!accept(expected)) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private char peek() {
+            return position < length ? text.charAt(position) : '\n';
+        }
+
+        private boolean atLineEnd() {
+            if (position >= length) {
+                return true;
+            }
+            char c = text.charAt(position);
+            return c == '\n' || c == '\r';
+        }
+
+        private void skipSpaces() {
+            while (!atLineEnd() && (peek() == ' ' || peek() == '\t')) {
+                position++;
+            }
+        }
+
+        private void skipToLineEnd() {
+            while (!atLineEnd()) {
+                position++;
+            }
+        }
+
+        private void skipLineBreak() {
+            if (position < length && text.charAt(position) == '\r') {
+                position++;
+            }
+            if (position < length && text.charAt(position) == '\n') {
+                position++;
+            }
+        }
+
+        private LoadException error(String message) {
+            return new LoadException("Syntax error at line " + lineNumber + " of '" + source + "': " + message);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package engine.io.text;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.LoadException;
+import engine.model.FunctionRegistry;
+import engine.model.SEmulatorConstants;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class TextProgramWriter {
+
+    public void write(SProgram program, Path path) throws LoadException {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+
+        try {
+            String text = format(program);
+            Path directory = path.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(temp, text, StandardCharsets.UTF_8);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | IllegalStateException e) {
+            throw new LoadException("Failed to write text program '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    public String format(SProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+
+        StringBuilder out = new StringBuilder(program.size() * 24);
+        out.append(TextProgramFormat.PROGRAM_KEYWORD).append(' ').append(program.getName()).append('\n');
+        appendInstructions(out, program);
+
+        FunctionRegistry registry = program.getFunctionRegistry();
+        if (registry != null) {
+            for (String functionName : new TreeSet<>(registry.getAllFunctionNames())) {
+                out.append('\n').append(TextProgramFormat.FUNCTION_KEYWORD).append(' ').append(functionName)
+                   .append(' ').append(registry.getFunctionDisplayName(functionName)).append('\n');
+                appendInstructions(out, registry.getFunction(functionName));
+            }
+        }
+        return out.toString();
+    }
+
+    private static void appendInstructions(StringBuilder out, SProgram program) {
+        for (SInstruction instruction : program.getInstructions()) {
+            appendInstruction(out, instruction);
+            out.append('\n');
+        }
+    }
+
+    private static void appendInstruction(StringBuilder out, SInstruction instruction) {
+        String label = instruction.getLabel();
+        if (label != null && !label.trim().isEmpty()) {
+            out.append('[').append(label.trim()).append("] ");
+        }
+
+        String variable = instruction.getVariable();
+        Map<String, String> arguments = instruction.getArguments();
+        switch (instruction.getName()) {
+            case SEmulatorConstants.INCREASE_NAME:
+                assign(out, variable).append(variable).append(" + 1");
+                break;
+            case SEmulatorConstants.DECREASE_NAME:
+                assign(out, variable).append(variable).append(" - 1");
+                break;
+            case SEmulatorConstants.NEUTRAL_NAME:
+                assign(out, variable).append(variable);
+                break;
+            case SEmulatorConstants.ZERO_VARIABLE_NAME:
+                assign(out, variable).append('0');
+                break;
+            case SEmulatorConstants.JUMP_NOT_ZERO_NAME:
+                jump(out, variable, " != 0", arguments.get(SEmulatorConstants.JNZ_LABEL_ARG));
+                break;
+            case SEmulatorConstants.JUMP_ZERO_NAME:
+                jump(out, variable, " = 0", arguments.get(SEmulatorConstants.JZ_LABEL_ARG));
+                break;
+            case SEmulatorConstants.GOTO_LABEL_NAME:
+                out.append(TextProgramFormat.GOTO_KEYWORD).append(' ').append(arguments.get(SEmulatorConstants.GOTO_LABEL_ARG));
+                if (!TextProgramFormat.DEFAULT_GOTO_VARIABLE.equals(variable)) {
+                    annotate(out, variable);
+                }
+                break;
+            case SEmulatorConstants.ASSIGNMENT_NAME: {
+                String assigned = arguments.get(SEmulatorConstants.ASSIGNED_VARIABLE_ARG);
+                assign(out, variable).append(assigned);
+                if (assigned.equals(variable)) {
+                    annotate(out, SEmulatorConstants.ASSIGNMENT_NAME);
+                }
+                break;
+            }
+            case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME: {
+                String constant = arguments.get(SEmulatorConstants.CONSTANT_VALUE_ARG);
+                assign(out, variable).append(constant);
+                if (TextProgramFormat.isZero(constant)) {
+                    annotate(out, SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME);
+                }
+                break;
+            }
+            case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME: {
+                String constant = arguments.get(SEmulatorConstants.CONSTANT_VALUE_ARG);
+                jump(out, variable, " = " + constant, arguments.get(SEmulatorConstants.JE_CONSTANT_LABEL_ARG));
+                if (TextProgramFormat.isZero(constant)) {
+                    annotate(out, SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME);
+                }
+                break;
+            }
+            case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME:
+                jump(out, variable, " = " + arguments.get(SEmulatorConstants.VARIABLE_NAME_ARG),
+                     arguments.get(SEmulatorConstants.JE_VARIABLE_LABEL_ARG));
+                break;
+            case SEmulatorConstants.QUOTE_NAME:
+                call(assign(out, variable), arguments);
+                break;
+            case SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME:
+                out.append(TextProgramFormat.IF_KEYWORD).append(' ').append(variable).append(" = ");
+                call(out, arguments);
+                out.append(' ').append(TextProgramFormat.GOTO_KEYWORD).append(' ')
+                   .append(arguments.get(SEmulatorConstants.JE_FUNCTION_LABEL_ARG));
+                break;
+            default:
+                throw new IllegalStateException("Instruction '" + instruction.getName() + "' has no text form");
+        }
+    }
+
+    private static StringBuilder assign(StringBuilder out, String variable) {
+        return out.append(variable).append(' ').append(TextProgramFormat.ASSIGN).append(' ');
+    }
+
+    private static void jump(StringBuilder out, String variable, String condition, String target) {
+        out.append(TextProgramFormat.IF_KEYWORD).append(' ').append(variable).append(condition)
+           .append(' ').append(TextProgramFormat.GOTO_KEYWORD).append(' ').append(target);
+    }
+
+    private static void call(StringBuilder out, Map<String, String> arguments) {
+        String functionArguments = arguments.get(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG);
+        out.append('(').append(arguments.get(SEmulatorConstants.FUNCTION_NAME_ARG));
+        if (functionArguments != null && !functionArguments.trim().isEmpty()) {
+            out.append(',').append(functionArguments.trim());
+        }
+        out.append(')');
+    }
+
+    private static void annotate(StringBuilder out, String annotation) {
+        out.append(' ').append(TextProgramFormat.ANNOTATION).append(annotation);
+    }
+}
@@ -0,0 +1,111 @@
+package engine.link;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class CallGraph {
+    private final String entryName;
+    private final Map<String, Set<String>> callees;
+    private final List<List<String>> recursionCycles;
+    private final Set<String> recursiveFunctions;
+
+    CallGraph(String entryName, Map<String, Set<String>> callees) {
+        this.entryName = entryName;
+        Map<String, Set<String>> edges = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> entry : callees.entrySet()) {
+            edges.put(entry.getKey(), Collections.unmodifiableSet(new LinkedHashSet<>(entry.getValue())));
+        }
+        this.callees = Collections.unmodifiableMap(edges);
+        this.recursionCycles = findRecursionCycles();
+
+        Set<String> recursive = new LinkedHashSet<>();
+        for (List<String> cycle : recursionCycles) {
+            recursive.addAll(cycle);
+        }
+        this.recursiveFunctions = Collections.unmodifiableSet(recursive);
+    }
+
+    public String getEntryName() {
+        return entryName;
+    }
+
+    public Set<String> getCallers() {
+        return callees.keySet();
+    }
+
+    public Set<String> getCallees(String name) {
+        return callees.getOrDefault(name, Set.of());
+    }
+
+    public boolean isRecursive(String name) {
+        return recursiveFunctions.contains(name);
+    }
+
+    public boolean hasRecursion() {
+        return !recursionCycles.isEmpty();
+    }
+
+    public Set<String> getRecursiveFunctions() {
+        return recursiveFunctions;
+    }
+
+    public List<List<String>> getRecursionCycles() {
+        return recursionCycles;
+    }
+
+    private List<List<String>> findRecursionCycles() {
+        Map<String, Integer> indexes = new HashMap<>();
+        Map<String, Integer> lowLinks = new HashMap<>();
+        Set<String> onStack = new LinkedHashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        List<List<String>> cycles = new ArrayList<>();
+
+        for (String node : callees.keySet()) {
+            if (!indexes.containsKey(node)) {
+                connect(node, indexes, lowLinks, onStack, stack, cycles);
+            }
+        }
+        return Collections.unmodifiableList(cycles);
+    }
+
+    private void connect(String node, Map<String, Integer> indexes, Map<String, Integer> lowLinks,
+                         Set<String> onStack, Deque<String> stack, List<List<String>> cycles) {
+        indexes.put(node, indexes.size());
+        lowLinks.put(node, indexes.get(node));
+        stack.push(node);
+        onStack.add(node);
+
+        for (String callee : getCallees(node)) {
+            if (!indexes.containsKey(callee)) {
+                connect(callee, indexes, lowLinks, onStack, stack, cycles);
+                lowLinks.put(node, Math.min(lowLinks.get(node), lowLinks.get(callee)));
+            } else if (onStack.contains(callee)) {
+                lowLinks.put(node, Math.min(lowLinks.get(node), indexes.get(callee)));
+            }
+        }
+
+        if (!lowLinks.get(node).equals(indexes.get(node))) {
+            return;
+        }
+        List<String> component = new ArrayList<>();
+        String member;
+        do {
+            member = stack.pop();
+            onStack.remove(member);
+            component.add(member);
+        } while (!member.equals(node));
+
+        if (component.size() > 1 || getCallees(node).contains(node)) {
+            Collections.reverse(component);
+            cycles.add(Collections.unmodifiableList(component));
+        }
+    }
+}
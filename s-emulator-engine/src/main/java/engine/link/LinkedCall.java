@@ -0,0 +1,91 @@
+package engine.link;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.execution.ExecutionContext;
+import engine.model.SEmulatorConstants;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class LinkedCall {
+    private final String functionName;
+    private final SProgram function;
+    private final Map<String, Integer> labelIndexes;
+    private final String[] variableArguments;
+    private final LinkedCall[] nestedArguments;
+
+    LinkedCall(String functionName, SProgram function, String[] variableArguments, LinkedCall[] nestedArguments) {
+        this.functionName = functionName;
+        this.function = function;
+        this.variableArguments = variableArguments;
+        this.nestedArguments = nestedArguments;
+
+        Map<String, Integer> labels = new HashMap<>();
+        List<SInstruction> instructions = function.getInstructions();
+        for (int i = 0; i < instructions.size(); i++) {
+            String label = instructions.get(i).getLabel();
+            if (label != null && !label.trim().isEmpty()) {
+                labels.put(label.trim(), i);
+            }
+        }
+        this.labelIndexes = Collections.unmodifiableMap(labels);
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public SProgram getFunction() {
+        return function;
+    }
+
+    public int getArgumentCount() {
+        return variableArguments.length;
+    }
+
+    public boolean isNestedArgument(int index) {
+        return nestedArguments[index] != null;
+    }
+
+    public String getVariableArgument(int index) {
+        return variableArguments[index];
+    }
+
+    public LinkedCall getNestedArgument(int index) {
+        return nestedArguments[index];
+    }
+
+    public BigInteger invoke(ExecutionContext caller) {
+        BigInteger[] values = new BigInteger[variableArguments.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = nestedArguments[i] != null
+                ? nestedArguments[i].invoke(caller)
+                : caller.getVariableManager().getBigValue(variableArguments[i]);
+        }
+
+        ExecutionContext context = new ExecutionContext(caller.getValueMode());
+        context.enableVirtualExecutionMode();
+        context.setFunctionRegistry(caller.getFunctionRegistry());
+        context.setLabelToIndexMap(labelIndexes);
+        for (int i = 0; i < values.length; i++) {
+            context.getVariableManager().setBigValue(SEmulatorConstants.INPUT_VARIABLE_PREFIX + (i + 1), values[i]);
+        }
+
+        List<SInstruction> instructions = function.getInstructions();
+        int steps = 0;
+        while (!context.isProgramTerminated() && context.getCurrentInstructionIndex() < instructions.size()) {
+            if (++steps > SEmulatorConstants.MAX_EXECUTION_STEPS) {
+                throw new IllegalStateException("Function '" + functionName + "' exceeded maximum steps (" +
+                    SEmulatorConstants.MAX_EXECUTION_STEPS + "). Possible infinite loop detected.");
+            }
+            instructions.get(context.getCurrentInstructionIndex()).execute(context);
+            if (context.getPendingJumpLabel() != null) {
+                throw new IllegalStateException("Jump to undefined label: " + context.getPendingJumpLabel());
+            }
+        }
+        return context.getVariableManager().getYValue();
+    }
+}
@@ -0,0 +1,257 @@
+package engine.link;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.LoadException;
+import engine.model.FunctionRegistry;
+import engine.model.instruction.synthetic.JumpEqualFunctionInstruction;
+import engine.model.instruction.synthetic.QuoteInstruction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ProgramLinker {
+
+    public CallGraph link(SProgram program) throws LoadException {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+
+        FunctionRegistry registry = program.getFunctionRegistry();
+        if (registry != null) {
+            registry.setMaterializationListener(null);
+        }
+        LinkSession session = new LinkSession(program.getName(), registry);
+        session.linkReachable(program);
+        if (registry != null) {
+            for (String functionName : new TreeSet<>(registry.getAllFunctionNames())) {
+                if (registry.isMaterialized(functionName)) {
+                    session.linkFunction(functionName);
+                }
+            }
+            registry.setMaterializationListener(session::linkMaterialized);
+        }
+        return session.publishCallGraph();
+    }
+
+    private final class LinkSession {
+        private final String entryName;
+        private final FunctionRegistry registry;
+        private final Map<String, Set<String>> callees;
+        private final Map<String, LinkedCall> linkedCalls;
+
+        private LinkSession(String entryName, FunctionRegistry registry) {
+            this.entryName = entryName;
+            this.registry = registry;
+            this.callees = new LinkedHashMap<>();
+            this.linkedCalls = new HashMap<>();
+        }
+
+        private synchronized void linkReachable(SProgram program) throws LoadException {
+            prefetch(referencedFunctions(program));
+            linkProgram(entryName, program, registry, callees, linkedCalls);
+            Set<String> frontier = new LinkedHashSet<>(callees.get(entryName));
+            while (!frontier.isEmpty()) {
+                frontier.removeIf(callees::containsKey);
+                Set<String> referenced = new LinkedHashSet<>();
+                for (String functionName : frontier) {
+                    referenced.addAll(referencedFunctions(registry.getFunction(functionName)));
+                }
+                prefetch(referenced);
+                Set<String> next = new LinkedHashSet<>();
+                for (String functionName : frontier) {
+                    if (!callees.containsKey(functionName)) {
+                        linkProgram(functionName, registry.getFunction(functionName), registry, callees, linkedCalls);
+                        next.addAll(callees.get(functionName));
+                    }
+                }
+                frontier = next;
+            }
+        }
+
+        private void prefetch(Set<String> functionNames) throws LoadException {
+            if (registry == null) {
+                return;
+            }
+            Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+            functionNames.parallelStream()
+                .filter(functionName -> !registry.isMaterialized(functionName))
+                .forEach(functionName -> {
+                    try {
+                        registry.getFunction(functionName);
+                    } catch (RuntimeException e) {
+                        failures.put(functionName, e);
+                    }
+                });
+            for (String functionName : functionNames) {
+                RuntimeException failure = failures.get(functionName);
+                if (failure != null) {
+                    throw new LoadException(failure.getMessage(), failure);
+                }
+            }
+        }
+
+        private synchronized void linkFunction(String functionName) throws LoadException {
+            if (!callees.containsKey(functionName)) {
+                linkProgram(functionName, registry.getFunction(functionName), registry, callees, linkedCalls);
+            }
+        }
+
+        private void linkMaterialized(String functionName) {
+            try {
+                linkFunction(functionName);
+            } catch (LoadException e) {
+                registry.recordLinkFailure(functionName, e);
+            }
+            publishCallGraph();
+        }
+
+        private synchronized CallGraph publishCallGraph() {
+            CallGraph callGraph = new CallGraph(entryName, callees);
+            if (registry != null) {
+                registry.setCallGraph(callGraph);
+            }
+            return callGraph;
+        }
+    }
+
+    private void linkProgram(String owner, SProgram program, FunctionRegistry registry,
+                             Map<String, Set<String>> callees, Map<String, LinkedCall> linkedCalls) throws LoadException {
+        Set<String> calls = callees.computeIfAbsent(owner, name -> new LinkedHashSet<>());
+        for (SInstruction instruction : program.getInstructions()) {
+            if (instruction instanceof QuoteInstruction) {
+                ((QuoteInstruction) instruction).link(resolveInstruction(owner, instruction, registry, calls, linkedCalls));
+            } else if (instruction instanceof JumpEqualFunctionInstruction) {
+                ((JumpEqualFunctionInstruction) instruction).link(resolveInstruction(owner, instruction, registry, calls, linkedCalls));
+            }
+        }
+    }
+
+    private LinkedCall resolveInstruction(String owner, SInstruction instruction, FunctionRegistry registry,
+                                          Set<String> calls, Map<String, LinkedCall> linkedCalls) throws LoadException {
+        String functionName = instruction.getFunctionName().trim();
+        String functionArguments = instruction.getFunctionArguments() != null ? instruction.getFunctionArguments() : "";
+        String key = functionName + "," + functionArguments.trim();
+        LinkedCall linkedCall = linkedCalls.get(key);
+        if (linkedCall == null) {
+            linkedCall = resolve(owner, functionName, splitArguments(functionArguments), registry, calls);
+            linkedCalls.put(key, linkedCall);
+        } else {
+            collectCallees(linkedCall, calls);
+        }
+        return linkedCall;
+    }
+
+    private LinkedCall resolve(String owner, String functionName, List<String> arguments, FunctionRegistry registry,
+                               Set<String> calls) throws LoadException {
+        SProgram function = registry != null ? registry.getFunction(functionName) : null;
+        if (function == null) {
+            throw new LoadException("'" + owner + "' calls undefined function '" + functionName + "'");
+        }
+        int arity = arityOf(function);
+        if (arguments.size() < arity) {
+            throw new LoadException("Argument count mismatch in '" + owner + "' for function " + functionName +
+                ": expected at least " + arity + ", got " + arguments.size());
+        }
+        calls.add(functionName);
+
+        String[] variableArguments = new String[arguments.size()];
+        LinkedCall[] nestedArguments = new LinkedCall[arguments.size()];
+        for (int i = 0; i < arguments.size(); i++) {
+            String argument = arguments.get(i);
+            if (argument.startsWith("(") && argument.endsWith(")")) {
+                List<String> composition = splitArguments(argument.substring(1, argument.length() - 1));
+                if (composition.isEmpty()) {
+                    throw new LoadException("Empty function composition in '" + owner + "': " + argument);
+                }
+                nestedArguments[i] = resolve(owner, composition.get(0), composition.subList(1, composition.size()),
+                    registry, calls);
+            } else {
+                variableArguments[i] = argument;
+            }
+        }
+        return new LinkedCall(functionName, function, variableArguments, nestedArguments);
+    }
+
+    private static int arityOf(SProgram function) {
+        int arity = 0;
+        for (String inputVariable : function.getInputVariables()) {
+            arity = Math.max(arity, Integer.parseInt(inputVariable.trim().substring(1)));
+        }
+        return arity;
+    }
+
+    private static Set<String> referencedFunctions(SProgram program) throws LoadException {
+        Set<String> functionNames = new LinkedHashSet<>();
+        for (SInstruction instruction : program.getInstructions()) {
+            if (instruction instanceof QuoteInstruction || instruction instanceof JumpEqualFunctionInstruction) {
+                functionNames.add(instruction.getFunctionName().trim());
+                collectComposedFunctions(instruction.getFunctionArguments(), functionNames);
+            }
+        }
+        return functionNames;
+    }
+
+    private static void collectComposedFunctions(String arguments, Set<String> functionNames) throws LoadException {
+        if (arguments == null) {
+            return;
+        }
+        for (String argument : splitArguments(arguments)) {
+            if (argument.startsWith("(") && argument.endsWith(")")) {
+                List<String> composition = splitArguments(argument.substring(1, argument.length() - 1));
+                if (!composition.isEmpty()) {
+                    functionNames.add(composition.get(0));
+                    collectComposedFunctions(String.join(",", composition.subList(1, composition.size())), functionNames);
+                }
+            }
+        }
+    }
+
+    private static void collectCallees(LinkedCall linkedCall, Set<String> calls) {
+        calls.add(linkedCall.getFunctionName());
+        for (int i = 0; i < linkedCall.getArgumentCount(); i++) {
+            if (linkedCall.isNestedArgument(i)) {
+                collectCallees(linkedCall.getNestedArgument(i), calls);
+            }
+        }
+    }
+
+    private static List<String> splitArguments(String arguments) throws LoadException {
+        List<String> result = new ArrayList<>();
+        String trimmed = arguments.trim();
+        int start = 0;
+        int depth = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addArgument(result, trimmed.substring(start, i));
+                start = i + 1;
+            }
+            if (depth < 0) {
+                throw new LoadException("Unbalanced parentheses in function arguments: " + arguments);
+            }
+        }
+        if (depth != 0) {
+            throw new LoadException("Unbalanced parentheses in function arguments: " + arguments);
+        }
+        addArgument(result, trimmed.substring(start));
+        return result;
+    }
+
+    private static void addArgument(List<String> arguments, String argument) {
+        String trimmed = argument.trim();
+        if (!trimmed.isEmpty()) {
+            arguments.add(trimmed);
+        }
+    }
+}
@@ -1,27 +1,77 @@
 package engine.model;
 
 import engine.api.SProgram;
-import java.util.HashMap;
+import engine.exception.LoadException;
+import engine.expansion.FunctionTemplate;
+import engine.link.CallGraph;
+import engine.reload.DefinitionFingerprint;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class FunctionRegistry {
     
-    private final Map<String, SProgram> functions;
+    private final Map<String, FunctionEntry> functions;
     private final Map<String, String> functionDisplayNames;
+    private final Map<String, FunctionTemplate> functionTemplates;
+    private final Map<String, LoadException> linkFailures;
+    private volatile CallGraph callGraph;
+    private volatile Consumer<String> materializationListener;
     
     public FunctionRegistry() {
-        this.functions = new HashMap<>();
-        this.functionDisplayNames = new HashMap<>();
+        this.functions = new ConcurrentHashMap<>();
+        this.functionDisplayNames = new ConcurrentHashMap<>();
+        this.functionTemplates = new ConcurrentHashMap<>();
+        this.linkFailures = new ConcurrentHashMap<>();
     }
     
     public void registerFunction(String name, String displayName, SProgram program) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Function name cannot be null or empty");
-        }
         if (program == null) {
             throw new IllegalArgumentException("Function program cannot be null");
         }
+        register(name, displayName, new FunctionEntry(program, null, null));
+    }
+    
+    public void registerLazyFunction(String name, String displayName, Supplier<SProgram> definition) {
+        registerLazyFunction(name, displayName, definition, null);
+    }
+    
+    public void registerLazyFunction(String name, String displayName, Supplier<SProgram> definition,
+                                     Supplier<String> fingerprint) {
+        if (definition == null) {
+            throw new IllegalArgumentException("Function definition cannot be null");
+        }
+        register(name, displayName, new FunctionEntry(null, definition, fingerprint));
+    }
+    
+    public void adoptFunction(String name, FunctionRegistry source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source registry cannot be null");
+        }
+        String formalName = name != null ? name.trim() : "";
+        FunctionEntry entry = source.functions.get(formalName);
+        if (entry == null) {
+            throw new IllegalArgumentException("Function '" + formalName + "' is not registered in the source registry");
+        }
+        
+        functions.put(formalName, entry);
+        functionDisplayNames.put(formalName, source.functionDisplayNames.get(formalName));
+        FunctionTemplate template = source.functionTemplates.get(formalName);
+        if (template != null) {
+            functionTemplates.put(formalName, template);
+        } else {
+            functionTemplates.remove(formalName);
+        }
+        linkFailures.remove(formalName);
+        callGraph = null;
+    }
+    
+    private void register(String name, String displayName, FunctionEntry entry) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Function name cannot be null or empty");
+        }
         if (displayName == null || displayName.trim().isEmpty()) {
             throw new IllegalArgumentException("Function display name cannot be null or empty");
         }
@@ -29,15 +79,87 @@ public class FunctionRegistry {
         String formalName = name.trim();
         String userDisplayName = displayName.trim();
         
-        functions.put(formalName, program);
+        functions.put(formalName, entry);
         functionDisplayNames.put(formalName, userDisplayName);
+        functionTemplates.remove(formalName);
+        linkFailures.remove(formalName);
+        callGraph = null;
     }
     
     public SProgram getFunction(String name) {
         if (name == null || name.trim().isEmpty()) {
             return null;
         }
-        return functions.get(name.trim());
+        String formalName = name.trim();
+        FunctionEntry entry = functions.get(formalName);
+        if (entry == null) {
+            return null;
+        }
+        SProgram program = entry.program;
+        if (program != null) {
+            return program;
+        }
+        
+        boolean created = entry.materialize(formalName);
+        Consumer<String> listener = materializationListener;
+        if (created && listener != null) {
+            listener.accept(formalName);
+        }
+        return entry.program;
+    }
+    
+    public boolean isMaterialized(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return false;
+        }
+        FunctionEntry entry = functions.get(name.trim());
+        return entry != null && entry.program != null;
+    }
+    
+    public String getFunctionFingerprint(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        FunctionEntry entry = functions.get(name.trim());
+        if (entry == null) {
+            return null;
+        }
+        String fingerprint = entry.fingerprint();
+        if (fingerprint == null) {
+            fingerprint = entry.fingerprint(getFunction(name));
+        }
+        return fingerprint;
+    }
+    
+    public void setMaterializationListener(Consumer<String> materializationListener) {
+        this.materializationListener = materializationListener;
+    }
+    
+    public FunctionTemplate getFunctionTemplate(String name) {
+        SProgram program = getFunction(name);
+        if (program == null) {
+            return null;
+        }
+        return functionTemplates.computeIfAbsent(name.trim(), key -> FunctionTemplate.fromProgram(program));
+    }
+    
+    public CallGraph getCallGraph() {
+        return callGraph;
+    }
+    
+    public void setCallGraph(CallGraph callGraph) {
+        this.callGraph = callGraph;
+    }
+    
+    public void recordLinkFailure(String name, LoadException failure) {
+        linkFailures.put(name.trim(), failure);
+    }
+    
+    public LoadException getLinkFailure(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        return linkFailures.get(name.trim());
     }
     
     public boolean functionExists(String name) {
@@ -65,6 +187,9 @@ public class FunctionRegistry {
     public void clear() {
         functions.clear();
         functionDisplayNames.clear();
+        functionTemplates.clear();
+        linkFailures.clear();
+        callGraph = null;
     }
     
     public int size() {
@@ -74,4 +199,55 @@ public class FunctionRegistry {
     public boolean isEmpty() {
         return functions.isEmpty();
     }
+    
+    private static final class FunctionEntry {
+        private volatile SProgram program;
+        private Supplier<SProgram> definition;
+        private Supplier<String> fingerprintSource;
+        private String fingerprint;
+        private RuntimeException failure;
+        
+        private FunctionEntry(SProgram program, Supplier<SProgram> definition, Supplier<String> fingerprintSource) {
+            this.program = program;
+            this.definition = definition;
+            this.fingerprintSource = fingerprintSource;
+        }
+        
+        private synchronized String fingerprint() {
+            if (fingerprint == null && fingerprintSource != null) {
+                fingerprint = fingerprintSource.get();
+                fingerprintSource = null;
+            }
+            return fingerprint;
+        }
+        
+        private synchronized String fingerprint(SProgram materialized) {
+            if (fingerprint == null) {
+                fingerprint = DefinitionFingerprint.of(materialized);
+            }
+            return fingerprint;
+        }
+        
+        private synchronized boolean materialize(String name) {
+            if (program != null) {
+                return false;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                SProgram materialized = definition.get();
+                if (materialized == null) {
+                    throw new IllegalStateException("Function '" + name + "' has no definition");
+                }
+                fingerprint();
+                program = materialized;
+                definition = null;
+                return true;
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            }
+        }
+    }
 }
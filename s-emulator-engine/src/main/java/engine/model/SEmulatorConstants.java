@@ -6,6 +6,8 @@ public final class SEmulatorConstants {
     private SEmulatorConstants() {
     }
 
+    public static final String ENGINE_VERSION = "1.0.0";
+    
     public static final String EXIT_LABEL = "EXIT";
     
     public static final int INCREASE_CYCLES = 1;
@@ -42,8 +44,14 @@ public final class SEmulatorConstants {
     public static final Pattern Y_VARIABLE_PATTERN = Pattern.compile("^y$");
     public static final Pattern LABEL_PATTERN = Pattern.compile("^L\\d+$|^EXIT$");
     
+    public static final String INPUT_VARIABLE_PREFIX = "x";
     public static final String RESULT_VARIABLE = "y";
     
+    public static final long DEFAULT_EXPANSION_BUDGET = 5_000_000L;
+    public static final long DEFAULT_PROGRAM_CACHE_SIZE = 256L * 1024 * 1024;
+    public static final long HOT_RELOAD_DEBOUNCE_MILLIS = 150L;
+    public static final int MAX_EXECUTION_STEPS = 1000000;
+    
     public static final String ASSIGNED_VARIABLE_ARG = "assignedVariable";
     public static final String JNZ_LABEL_ARG = "JNZLabel";
     public static final String GOTO_LABEL_ARG = "gotoLabel";
@@ -1,29 +1,76 @@
 package engine.model;
 
+import engine.analysis.ConstantPropagator;
+import engine.analysis.WorkingVariableCompactor;
 import engine.api.ExecutionResult;
+import engine.api.LoadProgressListener;
+import engine.api.LoadStage;
 import engine.api.SEmulatorEngine;
 import engine.api.SProgram;
 import engine.exception.SProgramException;
 import engine.exception.XMLValidationException;
 import engine.exception.ExecutionException;
 import engine.exception.ExpansionException;
+import engine.exception.LoadException;
 import engine.execution.ExecutionContext;
 import engine.execution.ProgramRunner;
 import engine.expansion.ExpansionEngine;
+import engine.expansion.ExpansionEstimate;
+import engine.expansion.ExpansionEstimator;
+import engine.expansion.StreamingExpansion;
+import engine.io.binary.BinaryProgramFormat;
+import engine.io.binary.BinaryProgramReader;
+import engine.io.binary.BinaryProgramWriter;
+import engine.io.text.TextProgramFormat;
+import engine.io.text.TextProgramReader;
+import engine.io.text.TextProgramWriter;
+import engine.link.CallGraph;
+import engine.reload.ProgramReloader;
+import engine.reload.ReloadReport;
+import engine.io.cache.ProgramCache;
+import engine.model.compact.CompactExecutor;
+import engine.model.compact.CompactOptimizer;
+import engine.model.compact.CompactProgram;
 import engine.xml.SProgramParser;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class SEmulatorEngineImpl implements SEmulatorEngine {
     private SProgram currentProgram;
     private final List<ExecutionResult> executionHistory;
     private final SProgramParser parser;
+    private final BinaryProgramReader binaryReader;
+    private final BinaryProgramWriter binaryWriter;
+    private final TextProgramReader textReader;
+    private final TextProgramWriter textWriter;
+    private final ProgramReloader programReloader;
+    private String currentFilePath;
+    private ProgramCache programCache;
+    private String currentCacheKey;
     private final ProgramRunner runner;
     private final ExpansionEngine expansionEngine;
     private final engine.expansion.MultiLevelExpansionEngine multiLevelExpansionEngine;
+    private final ExpansionEstimator expansionEstimator;
+    private final CompactExecutor compactExecutor;
+    private final CompactOptimizer compactOptimizer;
+    private final WorkingVariableCompactor workingVariableCompactor;
+    private final ConstantPropagator constantPropagator;
     private int nextRunNumber;
+    private long expansionBudget;
+    private ExpansionEstimate currentProgramEstimate;
+    private boolean lazyExpansionEnabled;
+    private boolean optimizationEnabled;
+    private ValueMode valueMode;
     
     private boolean debugSessionActive;
     private ExecutionContext debugExecutionContext;
@@ -34,6 +81,11 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         this.currentProgram = null;
         this.executionHistory = new ArrayList<>();
         this.nextRunNumber = 1;
+        this.expansionBudget = SEmulatorConstants.DEFAULT_EXPANSION_BUDGET;
+        this.currentProgramEstimate = null;
+        this.lazyExpansionEnabled = true;
+        this.optimizationEnabled = false;
+        this.valueMode = ValueMode.LONG;
         
         this.debugSessionActive = false;
         this.debugExecutionContext = null;
@@ -42,9 +94,19 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         
         try {
             this.parser = new SProgramParser();
+            this.binaryReader = new BinaryProgramReader();
+            this.binaryWriter = new BinaryProgramWriter();
+            this.textReader = new TextProgramReader();
+            this.textWriter = new TextProgramWriter();
+            this.programReloader = new ProgramReloader();
             this.runner = new ProgramRunner();
             this.expansionEngine = new ExpansionEngine();
             this.multiLevelExpansionEngine = new engine.expansion.MultiLevelExpansionEngine();
+            this.expansionEstimator = new ExpansionEstimator();
+            this.compactExecutor = new CompactExecutor();
+            this.compactOptimizer = new CompactOptimizer();
+            this.workingVariableCompactor = new WorkingVariableCompactor();
+            this.constantPropagator = new ConstantPropagator();
         } catch (XMLValidationException e) {
             throw new SProgramException("Failed to initialize S-Emulator engine", e);
         }
@@ -52,6 +114,11 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
 
     @Override
     public void loadProgram(String xmlFilePath) throws SProgramException {
+        loadProgram(xmlFilePath, null);
+    }
+
+    @Override
+    public void loadProgram(String xmlFilePath, LoadProgressListener listener) throws SProgramException {
         if (xmlFilePath == null || xmlFilePath.trim().isEmpty()) {
             throw new SProgramException("XML file path cannot be null or empty");
         }
@@ -59,15 +126,121 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         stopDebugSession();
         
         try {
-            SProgram program = parser.parseXMLFile(xmlFilePath.trim());
+            String filePath = xmlFilePath.trim();
+            String cacheKey = null;
+            SProgram program;
+            if (BinaryProgramFormat.isBinaryFile(filePath)) {
+                LoadProgressListener.report(listener, LoadStage.PARSING, 0.0);
+                program = binaryReader.read(Path.of(filePath));
+            } else if (TextProgramFormat.isTextFile(filePath)) {
+                LoadProgressListener.report(listener, LoadStage.PARSING, 0.0);
+                program = textReader.read(Path.of(filePath));
+            } else {
+                byte[] content = cacheableContentOf(filePath);
+                cacheKey = content != null ? programCache.keyOf(content) : null;
+                program = cacheKey != null ? programCache.getProgram(cacheKey) : null;
+                if (program == null) {
+                    program = content != null ? parser.parseXMLContent(filePath, content, listener)
+                                              : parser.parseXMLFile(filePath, listener);
+                    if (cacheKey != null) {
+                        programCache.putProgram(cacheKey, program);
+                    }
+                }
+            }
+            LoadProgressListener.report(listener, LoadStage.LINKING, 1.0);
             this.currentProgram = program;
+            this.currentFilePath = filePath;
+            this.currentCacheKey = cacheKey;
+            this.currentProgramEstimate = null;
             this.executionHistory.clear();
             this.nextRunNumber = 1;
-        } catch (XMLValidationException e) {
+            warmUp(listener);
+        } catch (XMLValidationException | LoadException e) {
             throw new SProgramException("Failed to load program from '" + xmlFilePath + "': " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public ReloadReport reloadProgram() throws SProgramException {
+        if (!isProgramLoaded() || currentFilePath == null) {
+            throw new SProgramException("No program loaded");
+        }
+
+        try {
+            SProgram reloaded;
+            byte[] content = null;
+            if (BinaryProgramFormat.isBinaryFile(currentFilePath)) {
+                reloaded = binaryReader.readUnlinked(Path.of(currentFilePath));
+            } else if (TextProgramFormat.isTextFile(currentFilePath)) {
+                reloaded = textReader.readUnlinked(Path.of(currentFilePath));
+            } else {
+                content = cacheableContentOf(currentFilePath);
+                reloaded = content != null ? parser.parseXMLContentUnlinked(currentFilePath, content)
+                                           : parser.parseXMLFileUnlinked(currentFilePath);
+            }
+
+            ReloadReport report = programReloader.reload(currentProgram, reloaded);
+            if (!report.isUnchanged()) {
+                stopDebugSession();
+                this.currentProgram = report.getProgram();
+                this.currentCacheKey = content != null ? programCache.keyOf(content) : null;
+                this.currentProgramEstimate = null;
+                warmUp(null);
+            }
+            return report;
+        } catch (XMLValidationException | LoadException e) {
+            throw new SProgramException("Failed to reload program from '" + currentFilePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getCurrentFilePath() {
+        return currentFilePath;
+    }
+
+    private void warmUp(LoadProgressListener listener) {
+        LoadProgressListener.report(listener, LoadStage.WARMING_UP, 0.0);
+        try {
+            getExpansionEstimate(currentProgram);
+        } catch (ExpansionException e) {
+            currentProgramEstimate = null;
+        }
+        LoadProgressListener.report(listener, LoadStage.COMPLETE, 1.0);
+    }
+
+    private byte[] cacheableContentOf(String filePath) {
+        if (programCache == null || !filePath.toLowerCase(java.util.Locale.ENGLISH).endsWith(".xml") ||
+            !Files.isRegularFile(Path.of(filePath))) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(Path.of(filePath));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void saveProgram(String filePath) throws SProgramException {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new SProgramException("File path cannot be null or empty");
+        }
+        if (!isProgramLoaded()) {
+            throw new SProgramException("No program loaded");
+        }
+
+        try {
+            String path = filePath.trim();
+            if (TextProgramFormat.isTextFile(path)) {
+                textWriter.write(currentProgram, Path.of(path));
+            } else {
+                binaryWriter.write(currentProgram, Path.of(path));
+            }
+        } catch (LoadException e) {
+            throw new SProgramException("Failed to save program to '" + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public SProgram getCurrentProgram() {
         return currentProgram;
@@ -119,6 +292,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         }
 
         try {
+            enforceExpansionBudget(currentProgram, level, false);
             SProgram expandedProgram = expansionEngine.expandProgram(currentProgram, level);
             
             StringBuilder display = new StringBuilder();
@@ -131,7 +305,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
             List<engine.api.SInstruction> instructions = expandedProgram.getInstructions();
             for (int i = 0; i < instructions.size(); i++) {
                 engine.api.SInstruction instruction = instructions.get(i);
-                display.append(String.format("#%-3d %s\n", i + 1, instruction.toStringWithHistory(i + 1)));
+                display.append(String.format("#%-3d %s\n", i + 1, instruction.toStringWithHistory(i + 1, expandedProgram.ancestryChainAt(i))));
             }
 
             return display.toString();
@@ -160,7 +334,8 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         }
 
         try {
-            engine.expansion.MultiLevelExpansion multiLevel = multiLevelExpansionEngine.expandProgramToAllLevels(currentProgram);
+            enforceExpansionBudget(currentProgram, level, true);
+            engine.expansion.MultiLevelExpansion multiLevel = multiLevelExpansionEngine.expandProgramToLevel(currentProgram, level);
             SProgram targetProgram = multiLevel.getLevel(level);
             
             if (targetProgram == null) {
@@ -208,13 +383,29 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         }
 
         try {
-            engine.expansion.MultiLevelExpansion multiLevel = multiLevelExpansionEngine.expandProgramToAllLevels(currentProgram);
+            enforceExpansionBudget(currentProgram, level, true);
+            if (currentCacheKey != null) {
+                SProgram cachedProgram = programCache.getExpansion(currentCacheKey, currentProgram, level);
+                if (cachedProgram != null) {
+                    return cachedProgram;
+                }
+            }
+            
+            engine.expansion.MultiLevelExpansion multiLevel = multiLevelExpansionEngine.expandProgramToLevel(currentProgram, level);
             SProgram targetProgram = multiLevel.getLevel(level);
             
             if (targetProgram == null) {
                 throw new SProgramException("Failed to expand program to level " + level);
             }
             
+            if (currentCacheKey != null) {
+                List<SProgram> levels = new ArrayList<>();
+                for (int i = 0; i <= level; i++) {
+                    levels.add(multiLevel.getLevel(i));
+                }
+                programCache.putExpansion(currentCacheKey, levels);
+            }
+            
             return targetProgram;
             
         } catch (engine.exception.ExpansionException e) {
@@ -265,22 +456,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         }
 
         try {
-            SProgram programToRun;
-            if (expansionLevel == 0) {
-                programToRun = program;
-            } else {
-                programToRun = expansionEngine.expandProgram(program, expansionLevel);
-                if (programToRun.getFunctionRegistry() == null && currentProgram.getFunctionRegistry() != null) {
-                    programToRun.setFunctionRegistry(currentProgram.getFunctionRegistry());
-                }
-            }
-            
-            ExecutionResult result;
-            if (expansionLevel == 0 || hasUnexpandedQuoteInstructions(programToRun)) {
-                result = runner.executeProgramWithVirtualExecution(programToRun, inputs, nextRunNumber, expansionLevel, currentProgram.getFunctionRegistry());
-            } else {
-                result = runner.executeProgram(programToRun, inputs, nextRunNumber, expansionLevel);
-            }
+            ExecutionResult result = executeAtLevel(program, expansionLevel, inputs, nextRunNumber);
             
             executionHistory.add(result);
             nextRunNumber++;
@@ -328,22 +504,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         }
 
         try {
-            SProgram programToRun;
-            if (expansionLevel == 0) {
-                programToRun = program;
-            } else {
-                programToRun = expansionEngine.expandProgram(program, expansionLevel);
-                if (programToRun.getFunctionRegistry() == null && currentProgram.getFunctionRegistry() != null) {
-                    programToRun.setFunctionRegistry(currentProgram.getFunctionRegistry());
-                }
-            }
-            
-            ExecutionResult result;
-            if (expansionLevel == 0 || hasUnexpandedQuoteInstructions(programToRun)) {
-                result = runner.executeProgramWithVirtualExecution(programToRun, inputs, runNumber, expansionLevel, currentProgram.getFunctionRegistry());
-            } else {
-                result = runner.executeProgram(programToRun, inputs, runNumber, expansionLevel);
-            }
+            ExecutionResult result = executeAtLevel(program, expansionLevel, inputs, runNumber);
             
             executionHistory.add(result);
             return result;
@@ -352,6 +513,56 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         }
     }
 
+    private ExecutionResult executeAtLevel(SProgram program, int expansionLevel, List<Integer> inputs, int runNumber) 
+            throws ExecutionException, ExpansionException {
+        if (expansionLevel > 0 && lazyExpansionEnabled && !optimizationEnabled) {
+            StreamingExpansion expansion = new StreamingExpansion(program, expansionLevel, expansionEstimator, expansionBudget);
+            if (valueMode == ValueMode.LONG && expansionLevel == program.getMaxExpansionLevel() &&
+                expansion.size() <= expansionBudget) {
+                CompactProgram compactProgram = expansion.toCompactProgram();
+                if (compactProgram.isBasic()) {
+                    return compactExecutor.execute(compactProgram, inputs, runNumber, expansionLevel);
+                }
+            }
+            return runner.executeStreamingExpansion(expansion, inputs, runNumber, currentProgram.getFunctionRegistry());
+        }
+        
+        SProgram programToRun;
+        if (expansionLevel == 0) {
+            programToRun = optimizationEnabled ? constantPropagator.propagate(program) : program;
+            if (valueMode == ValueMode.LONG) {
+                CompactProgram compactProgram = CompactProgram.fromProgram(programToRun);
+                if (compactProgram.isBasic()) {
+                    CompactProgram executable = optimizationEnabled ? compactOptimizer.optimize(compactProgram) : compactProgram;
+                    return compactExecutor.execute(executable, inputs, runNumber, expansionLevel);
+                }
+            }
+        } else {
+            enforceExpansionBudget(program, expansionLevel, false);
+            CompactProgram compactProgram = new StreamingExpansion(program, expansionLevel, expansionEstimator, expansionBudget)
+                .toCompactProgram();
+            if (compactProgram.isBasic() && valueMode == ValueMode.LONG) {
+                CompactProgram executable = optimizationEnabled ? optimize(compactProgram) : compactProgram;
+                return compactExecutor.execute(executable, inputs, runNumber, expansionLevel);
+            }
+            programToRun = compactProgram;
+            if (programToRun.getFunctionRegistry() == null && currentProgram.getFunctionRegistry() != null) {
+                programToRun.setFunctionRegistry(currentProgram.getFunctionRegistry());
+            }
+        }
+        
+        if (expansionLevel == 0 || hasUnexpandedQuoteInstructions(programToRun)) {
+            return runner.executeProgramWithVirtualExecution(programToRun, inputs, runNumber, expansionLevel, currentProgram.getFunctionRegistry());
+        }
+        return runner.executeProgram(programToRun, inputs, runNumber, expansionLevel);
+    }
+
+    private CompactProgram optimize(CompactProgram compactProgram) {
+        SProgram compacted = workingVariableCompactor.compact(compactProgram);
+        CompactProgram executable = compacted == compactProgram ? compactProgram : CompactProgram.fromProgram(compacted);
+        return compactOptimizer.optimize(executable);
+    }
+
     @Override
     public List<ExecutionResult> getExecutionHistory() {
         return List.copyOf(executionHistory);
@@ -365,6 +576,109 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         return currentProgram.getMaxExpansionLevel();
     }
 
+    @Override
+    public ExpansionEstimate estimateExpansion(SProgram program) throws SProgramException {
+        if (program == null) {
+            throw new SProgramException("Program cannot be null");
+        }
+        return getExpansionEstimate(program);
+    }
+
+    @Override
+    public long getExpansionBudget() {
+        return expansionBudget;
+    }
+
+    @Override
+    public void setExpansionBudget(long maxInstructions) {
+        if (maxInstructions <= 0) {
+            throw new IllegalArgumentException("Expansion budget must be positive: " + maxInstructions);
+        }
+        this.expansionBudget = maxInstructions;
+    }
+
+    @Override
+    public boolean isLazyExpansionEnabled() {
+        return lazyExpansionEnabled;
+    }
+
+    @Override
+    public void setLazyExpansionEnabled(boolean lazyExpansionEnabled) {
+        this.lazyExpansionEnabled = lazyExpansionEnabled;
+    }
+
+    @Override
+    public boolean isOptimizationEnabled() {
+        return optimizationEnabled;
+    }
+
+    @Override
+    public void setOptimizationEnabled(boolean optimizationEnabled) {
+        this.optimizationEnabled = optimizationEnabled;
+    }
+
+    @Override
+    public ValueMode getValueMode() {
+        return valueMode;
+    }
+
+    @Override
+    public void setValueMode(ValueMode valueMode) {
+        if (valueMode == null) {
+            throw new IllegalArgumentException("Value mode cannot be null");
+        }
+        this.valueMode = valueMode;
+        runner.setValueMode(valueMode);
+    }
+
+    @Override
+    public void trustProgramHash(String sha256) {
+        parser.trustHash(sha256);
+    }
+
+    @Override
+    public String getProgramCacheDirectory() {
+        return programCache != null ? programCache.getDirectory().toString() : null;
+    }
+
+    @Override
+    public void setProgramCacheDirectory(String directory) throws SProgramException {
+        if (directory == null || directory.trim().isEmpty()) {
+            this.programCache = null;
+            this.currentCacheKey = null;
+            return;
+        }
+        try {
+            this.programCache = new ProgramCache(Path.of(directory.trim()), SEmulatorConstants.DEFAULT_PROGRAM_CACHE_SIZE);
+        } catch (LoadException e) {
+            throw new SProgramException("Failed to open program cache: " + e.getMessage(), e);
+        }
+    }
+
+    private ExpansionEstimate getExpansionEstimate(SProgram program) throws ExpansionException {
+        if (program == currentProgram && currentProgramEstimate != null) {
+            return currentProgramEstimate;
+        }
+        ExpansionEstimate estimate = expansionEstimator.estimate(program);
+        if (program == currentProgram) {
+            currentProgramEstimate = estimate;
+        }
+        return estimate;
+    }
+
+    private void enforceExpansionBudget(SProgram program, int level, boolean includeLowerLevels) throws ExpansionException {
+        ExpansionEstimate estimate = getExpansionEstimate(program);
+        long requiredInstructions = includeLowerLevels 
+            ? estimate.getTotalInstructionCount(level) 
+            : estimate.getInstructionCount(level);
+        
+        if (requiredInstructions > expansionBudget) {
+            throw new ExpansionException("Expanding '" + program.getName() + "' to level " + level + 
+                " requires " + requiredInstructions + " instructions, which exceeds the expansion budget of " + 
+                expansionBudget);
+        }
+    }
+
     public void clearExecutionHistory() {
         executionHistory.clear();
         nextRunNumber = 1;
@@ -413,6 +727,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
             if (expansionLevel == 0) {
                 this.debugProgram = program;
             } else {
+                enforceExpansionBudget(program, expansionLevel, false);
                 this.debugProgram = expansionEngine.expandProgram(program, expansionLevel);
                 if (this.debugProgram.getFunctionRegistry() == null && currentProgram.getFunctionRegistry() != null) {
                     this.debugProgram.setFunctionRegistry(currentProgram.getFunctionRegistry());
@@ -455,7 +770,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
         }
         
         return !debugExecutionContext.isProgramTerminated() && 
-               debugExecutionContext.getCurrentInstructionIndex() < debugProgram.getInstructions().size();
+               debugExecutionContext.getCurrentInstructionIndex() < debugProgram.size();
     }
     
     @Override
@@ -496,7 +811,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
     }
     
     @Override
-    public Map<String, Integer> getChangedVariables() {
+    public Map<String, BigInteger> getChangedVariables() {
         if (!debugSessionActive || debugExecutionContext == null) {
             return new HashMap<>();
         }
@@ -513,7 +828,7 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
     }
     
     @Override
-    public SProgram getFunction(String functionName) {
+    public SProgram getFunction(String functionName) throws SProgramException {
         if (currentProgram == null || functionName == null || functionName.trim().isEmpty()) {
             return null;
         }
@@ -523,6 +838,36 @@ public class SEmulatorEngineImpl implements SEmulatorEngine {
             return null;
         }
         
-        return registry.getFunction(functionName.trim());
+        String formalName = functionName.trim();
+        SProgram function;
+        try {
+            function = registry.getFunction(formalName);
+        } catch (RuntimeException e) {
+            throw new SProgramException("Failed to load function '" + formalName + "': " + e.getMessage(), e);
+        }
+        if (function != null) {
+            checkLinked(registry, formalName);
+        }
+        return function;
+    }
+    
+    private void checkLinked(FunctionRegistry registry, String functionName) throws SProgramException {
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(functionName);
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            if (!visited.add(name)) {
+                continue;
+            }
+            LoadException failure = registry.getLinkFailure(name);
+            if (failure != null) {
+                throw new SProgramException("Failed to link function '" + name + "': " + failure.getMessage(), failure);
+            }
+            CallGraph callGraph = registry.getCallGraph();
+            if (callGraph != null) {
+                callGraph.getCallees(name).forEach(pending::push);
+            }
+        }
     }
 }
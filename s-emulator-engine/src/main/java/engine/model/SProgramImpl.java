@@ -2,15 +2,22 @@ package engine.model;
 
 import engine.api.SInstruction;
 import engine.api.SProgram;
+import engine.model.instruction.BaseInstruction;
+import engine.model.instruction.InstructionInterner;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class SProgramImpl implements SProgram {
     private final String name;
     private final List<SInstruction> instructions;
+    private final List<SInstruction> instructionView;
+    private List<SInstruction> sourceInstructions;
+    private boolean frozen;
     private List<String> cachedInputVariables;
     private List<String> cachedLabels;
     private Integer cachedMaxExpansionLevel;
@@ -22,6 +29,8 @@ public class SProgramImpl implements SProgram {
         }
         this.name = name.trim();
         this.instructions = new ArrayList<>();
+        this.instructionView = Collections.unmodifiableList(instructions);
+        this.frozen = false;
         this.cachedInputVariables = null;
         this.cachedLabels = null;
         this.cachedMaxExpansionLevel = null;
@@ -34,7 +43,28 @@ public class SProgramImpl implements SProgram {
 
     @Override
     public List<SInstruction> getInstructions() {
-        return List.copyOf(instructions);
+        return instructionView;
+    }
+
+    @Override
+    public SInstruction instructionAt(int index) {
+        return instructions.get(index);
+    }
+
+    @Override
+    public SInstruction sourceInstructionAt(int index) {
+        Objects.checkIndex(index, instructions.size());
+        return sourceInstructions != null ? sourceInstructions.get(index) : null;
+    }
+
+    @Override
+    public List<SInstruction> ancestryChainAt(int index) {
+        return BaseInstruction.ancestryChain(instructions.get(index), sourceInstructionAt(index));
+    }
+
+    @Override
+    public int size() {
+        return instructions.size();
     }
 
     @Override
@@ -74,13 +104,40 @@ public class SProgramImpl implements SProgram {
     }
 
     public void addInstruction(SInstruction instruction) {
+        addInstruction(instruction, instruction != null ? instruction.getSourceInstruction() : null);
+    }
+
+    public void addInstruction(SInstruction instruction, SInstruction sourceInstruction) {
         if (instruction == null) {
             throw new IllegalArgumentException("Instruction cannot be null");
         }
-        instructions.add(instruction);
+        if (frozen) {
+            throw new IllegalStateException("Program '" + name + "' is frozen and cannot be modified");
+        }
+        if (sourceInstruction != null && sourceInstructions == null) {
+            sourceInstructions = new ArrayList<>(Collections.nCopies(instructions.size(), null));
+        }
+        if (sourceInstructions != null) {
+            sourceInstructions.add(sourceInstruction);
+        }
+        instructions.add(InstructionInterner.intern(instruction));
         invalidateCache();
     }
 
+    public void freeze() {
+        if (!frozen) {
+            frozen = true;
+            ((ArrayList<SInstruction>) instructions).trimToSize();
+            if (sourceInstructions != null) {
+                ((ArrayList<SInstruction>) sourceInstructions).trimToSize();
+            }
+        }
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     private void invalidateCache() {
         cachedInputVariables = null;
         cachedLabels = null;
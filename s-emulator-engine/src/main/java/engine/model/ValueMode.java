@@ -0,0 +1,6 @@
+package engine.model;
+
+public enum ValueMode {
+    LONG,
+    BIG_INTEGER
+}
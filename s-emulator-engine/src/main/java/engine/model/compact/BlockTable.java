@@ -0,0 +1,52 @@
+package engine.model.compact;
+
+final class BlockTable {
+    private final boolean[] leaders;
+    private final int[] ends;
+    private final int[] cycles;
+
+    BlockTable(CompactProgram program) {
+        int size = program.size();
+        int jumpNotZero = Opcode.JUMP_NOT_ZERO.ordinal();
+        this.leaders = new boolean[size + 1];
+        this.ends = new int[size];
+        this.cycles = new int[size];
+
+        leaders[0] = true;
+        leaders[size] = true;
+        for (int i = 0; i < size; i++) {
+            if (program.opcodeCodeAt(i) != jumpNotZero) {
+                continue;
+            }
+            leaders[i + 1] = true;
+            int target = program.jumpTargetAt(i);
+            if (target >= 0) {
+                leaders[target == i ? i + 1 : target] = true;
+            }
+        }
+
+        int end = size;
+        int total = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            total += program.cyclesAt(i);
+            ends[i] = end;
+            cycles[i] = total;
+            if (leaders[i]) {
+                end = i;
+                total = 0;
+            }
+        }
+    }
+
+    boolean isLeader(int index) {
+        return leaders[index];
+    }
+
+    int[] ends() {
+        return ends;
+    }
+
+    int[] cycles() {
+        return cycles;
+    }
+}
@@ -0,0 +1,231 @@
+package engine.model.compact;
+
+import engine.api.ExecutionResult;
+import engine.api.SInstruction;
+import engine.exception.ExecutionException;
+import engine.model.SEmulatorConstants;
+import engine.model.ValueMode;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+public class CompactExecutor {
+
+    public ExecutionResult execute(CompactProgram program, List<Integer> inputs, int runNumber, int expansionLevel) throws ExecutionException {
+        if (program == null) {
+            throw new ExecutionException("Program cannot be null");
+        }
+        if (inputs == null) {
+            throw new ExecutionException("Inputs cannot be null");
+        }
+        if (runNumber <= 0) {
+            throw new ExecutionException("Run number must be positive: " + runNumber);
+        }
+        if (expansionLevel < 0) {
+            throw new ExecutionException("Expansion level cannot be negative: " + expansionLevel);
+        }
+        if (!program.isFrozen()) {
+            throw new ExecutionException("Compact program must be frozen before execution");
+        }
+        if (!program.isBasic()) {
+            throw new ExecutionException("Compact execution requires a program made only of basic instructions");
+        }
+        if (program.size() == 0) {
+            throw new ExecutionException("Program must contain at least one instruction");
+        }
+
+        long[] values = new long[program.getVariableCount()];
+        boolean[] written = new boolean[values.length];
+        Map<String, Integer> unreferencedInputs = new LinkedHashMap<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            String variable = "x" + (i + 1);
+            int value = inputs.get(i);
+            int slot = program.findVariableSlot(variable);
+            if (slot >= 0) {
+                values[slot] = value;
+                written[slot] = true;
+            } else {
+                unreferencedInputs.put(variable, value);
+            }
+        }
+
+        int size = program.size();
+        byte[] fusedOpcodes = program.fusedOpcodes();
+        BlockTable blocks = program.blockTable();
+        int[] blockEnds = blocks.ends();
+        int[] blockCycles = blocks.cycles();
+        int[] trace = new int[Math.min(size, 1024)];
+        int steps = 0;
+        long totalCycles = 0;
+        int index = 0;
+        int increase = Opcode.INCREASE.ordinal();
+        int decrease = Opcode.DECREASE.ordinal();
+        int jumpNotZero = Opcode.JUMP_NOT_ZERO.ordinal();
+        int none = FusedOpcode.NONE.ordinal();
+        int decreaseJump = FusedOpcode.DECREASE_JUMP.ordinal();
+        int increaseJump = FusedOpcode.INCREASE_JUMP.ordinal();
+        int zeroLoop = FusedOpcode.ZERO_LOOP.ordinal();
+
+        while (index < size) {
+            int end = blockEnds[index];
+            int available = SEmulatorConstants.MAX_EXECUTION_STEPS - steps;
+            if (available <= 0) {
+                throw stepLimitExceeded();
+            }
+            int limit = end - index <= available ? end : index + available;
+            int next = end;
+            totalCycles += blockCycles[index];
+            trace = ensureTraceCapacity(trace, steps + (limit - index));
+
+            while (index < limit) {
+                int fused = fusedOpcodes[index];
+                int slot = program.variableSlotAt(index);
+                if (fused == zeroLoop) {
+                    if (Math.max(values[slot], 1) <= (SEmulatorConstants.MAX_EXECUTION_STEPS - steps) / 2) {
+                        int iterations = (int) Math.max(values[slot], 1);
+                        trace = ensureTraceCapacity(trace, steps + iterations * 2);
+                        for (int i = 0; i < iterations; i++) {
+                            trace[steps++] = index;
+                            trace[steps++] = index + 1;
+                        }
+                        totalCycles += (iterations - 1L) * (blockCycles[index] + program.takenCyclesAt(index + 1));
+                        values[slot] = 0;
+                        written[slot] = true;
+                        index += 2;
+                        continue;
+                    }
+                } else if (fused != none && index + 1 < limit) {
+                    if (fused == increaseJump) {
+                        checkIncrease(values[slot], index);
+                        values[slot]++;
+                    } else if (fused == decreaseJump) {
+                        values[slot] = Math.max(0, values[slot] - 1);
+                    }
+                    written[slot] = true;
+                    trace[steps++] = index;
+                    trace[steps++] = index + 1;
+                    index++;
+                    if (values[program.variableSlotAt(index)] != 0) {
+                        totalCycles += program.takenCyclesAt(index);
+                        next = jump(program, index);
+                    }
+                    index++;
+                    continue;
+                }
+
+                trace[steps++] = index;
+                int opcode = program.opcodeCodeAt(index);
+                if (opcode == increase) {
+                    checkIncrease(values[slot], index);
+                    values[slot]++;
+                    written[slot] = true;
+                } else if (opcode == decrease) {
+                    values[slot] = Math.max(0, values[slot] - 1);
+                    written[slot] = true;
+                } else if (opcode == jumpNotZero && values[slot] != 0) {
+                    totalCycles += program.takenCyclesAt(index);
+                    next = jump(program, index);
+                }
+                index++;
+            }
+
+            if (index < end) {
+                throw stepLimitExceeded();
+            }
+            index = next;
+        }
+
+        Map<String, BigInteger> inputVariables = new TreeMap<>(CompactExecutor::compareNumbered);
+        Map<String, BigInteger> workingVariables = new TreeMap<>(CompactExecutor::compareNumbered);
+        unreferencedInputs.forEach((variable, value) -> inputVariables.put(variable, BigInteger.valueOf(value)));
+        BigInteger yValue = BigInteger.ZERO;
+        for (int slot = 0; slot < values.length; slot++) {
+            String variable = program.variableName(slot);
+            if (variable.equals(SEmulatorConstants.RESULT_VARIABLE)) {
+                yValue = BigInteger.valueOf(values[slot]);
+            } else if (written[slot] && SEmulatorConstants.X_VARIABLE_PATTERN.matcher(variable).matches()) {
+                inputVariables.put(variable, BigInteger.valueOf(values[slot]));
+            } else if (written[slot] && SEmulatorConstants.Z_VARIABLE_PATTERN.matcher(variable).matches()) {
+                workingVariables.put(variable, BigInteger.valueOf(values[slot]));
+            }
+        }
+
+        return new ExecutionResult(
+            runNumber,
+            expansionLevel,
+            inputs,
+            yValue,
+            new LinkedHashMap<>(inputVariables),
+            new LinkedHashMap<>(workingVariables),
+            totalCycles,
+            new ExecutedInstructions(program, trace, steps)
+        );
+    }
+
+    private static ExecutionException stepLimitExceeded() {
+        return new ExecutionException("Program execution exceeded maximum steps (" +
+            SEmulatorConstants.MAX_EXECUTION_STEPS + "). Possible infinite loop detected.");
+    }
+
+    private static void checkIncrease(long value, int index) throws ExecutionException {
+        if (value == Long.MAX_VALUE) {
+            throw new ExecutionException("Error executing instruction at index " + index +
+                " (" + SEmulatorConstants.INCREASE_NAME + "): Variable value exceeds the 64-bit range; run in " +
+                ValueMode.BIG_INTEGER + " mode for unbounded values");
+        }
+    }
+
+    private static int jump(CompactProgram program, int index) throws ExecutionException {
+        int target = program.jumpTargetAt(index);
+        if (target == CompactProgram.EXIT_TARGET) {
+            return program.size();
+        }
+        if (target == CompactProgram.UNDEFINED_TARGET) {
+            throw new ExecutionException("Jump to undefined label: " + program.jumpLabelAt(index).trim());
+        }
+        return target == index ? index + 1 : target;
+    }
+
+    private static int[] ensureTraceCapacity(int[] trace, int required) {
+        if (required <= trace.length) {
+            return trace;
+        }
+        int capacity = Math.max(required, Math.min(trace.length * 2, SEmulatorConstants.MAX_EXECUTION_STEPS));
+        return Arrays.copyOf(trace, capacity);
+    }
+
+    private static int compareNumbered(String left, String right) {
+        int comparison = Integer.compare(Integer.parseInt(left.substring(1)), Integer.parseInt(right.substring(1)));
+        return comparison != 0 ? comparison : left.compareTo(right);
+    }
+
+    private static final class ExecutedInstructions extends AbstractList<SInstruction> implements RandomAccess {
+        private final CompactProgram program;
+        private final int[] trace;
+        private final int size;
+
+        private ExecutedInstructions(CompactProgram program, int[] trace, int size) {
+            this.program = program;
+            this.trace = trace;
+            this.size = size;
+        }
+
+        @Override
+        public SInstruction get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Executed instruction index " + index + " is outside 0-" + (size - 1));
+            }
+            return program.instructionAt(trace[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
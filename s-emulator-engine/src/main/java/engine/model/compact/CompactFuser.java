@@ -0,0 +1,34 @@
+package engine.model.compact;
+
+public class CompactFuser {
+
+    public byte[] fuse(CompactProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        if (!program.isFrozen()) {
+            throw new IllegalArgumentException("Compact program must be frozen before fusion");
+        }
+
+        int size = program.size();
+        BlockTable blocks = program.blockTable();
+        byte[] fused = new byte[size];
+        int increase = Opcode.INCREASE.ordinal();
+        int decrease = Opcode.DECREASE.ordinal();
+        int jumpNotZero = Opcode.JUMP_NOT_ZERO.ordinal();
+        for (int i = 0; i + 1 < size; i++) {
+            int opcode = program.opcodeCodeAt(i);
+            if (program.opcodeCodeAt(i + 1) != jumpNotZero || blocks.isLeader(i + 1)) {
+                continue;
+            }
+            boolean sameVariable = program.variableSlotAt(i) == program.variableSlotAt(i + 1);
+            if (opcode == decrease) {
+                fused[i] = (byte) (sameVariable && program.jumpTargetAt(i + 1) == i
+                    ? FusedOpcode.ZERO_LOOP.ordinal() : FusedOpcode.DECREASE_JUMP.ordinal());
+            } else if (opcode == increase && sameVariable) {
+                fused[i] = (byte) FusedOpcode.INCREASE_JUMP.ordinal();
+            }
+        }
+        return fused;
+    }
+}
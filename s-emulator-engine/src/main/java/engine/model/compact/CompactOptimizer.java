@@ -0,0 +1,132 @@
+package engine.model.compact;
+
+import java.util.Arrays;
+
+public class CompactOptimizer {
+
+    public CompactProgram optimize(CompactProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        if (!program.isFrozen()) {
+            throw new IllegalArgumentException("Compact program must be frozen before optimization");
+        }
+        if (!program.isBasic()) {
+            throw new IllegalArgumentException("Optimization requires a program made only of basic instructions");
+        }
+        if (program.isOptimized() || program.size() == 0) {
+            return program;
+        }
+
+        int size = program.size();
+        boolean[] removed = findZeroCostNeutrals(program);
+        int[] nextKept = buildNextKept(removed);
+        if (keepSelfLoopLandings(program, removed, nextKept)) {
+            nextKept = buildNextKept(removed);
+        }
+        if (nextKept[0] == size) {
+            removed[0] = false;
+            nextKept = buildNextKept(removed);
+        }
+
+        int[] newIndexes = new int[size];
+        int keptCount = 0;
+        for (int i = 0; i < size; i++) {
+            newIndexes[i] = removed[i] ? CompactProgram.NO_TARGET : keptCount++;
+        }
+
+        int[] originIndexes = new int[keptCount];
+        byte[] opcodes = new byte[keptCount];
+        int[] cycles = new int[keptCount];
+        int[] jumpTargets = new int[keptCount];
+        int[] takenCycles = new int[keptCount];
+        Arrays.fill(jumpTargets, CompactProgram.NO_TARGET);
+
+        int jumpNotZero = Opcode.JUMP_NOT_ZERO.ordinal();
+        for (int i = 0; i < size; i++) {
+            if (removed[i]) {
+                continue;
+            }
+            int slot = newIndexes[i];
+            originIndexes[slot] = i;
+            opcodes[slot] = (byte) program.opcodeCodeAt(i);
+            cycles[slot] = program.cyclesAt(i);
+            if (program.opcodeCodeAt(i) != jumpNotZero) {
+                continue;
+            }
+
+            int target = program.jumpTargetAt(i);
+            if (target == CompactProgram.UNDEFINED_TARGET) {
+                jumpTargets[slot] = target;
+                continue;
+            }
+
+            int destination = land(program, i, target, nextKept);
+            int extraCycles = 0;
+            for (int hops = 0; hops < size && isThreadable(program, i, destination); hops++) {
+                int next = land(program, destination, program.jumpTargetAt(destination), nextKept);
+                if (next == i) {
+                    break;
+                }
+                extraCycles += program.cyclesAt(destination);
+                destination = next;
+            }
+
+            int fallthrough = land(program, i, i, nextKept);
+            if (extraCycles == 0 && destination == fallthrough) {
+                opcodes[slot] = (byte) Opcode.NEUTRAL.ordinal();
+                continue;
+            }
+            jumpTargets[slot] = destination == CompactProgram.EXIT_TARGET ? destination : newIndexes[destination];
+            takenCycles[slot] = extraCycles;
+        }
+
+        return new CompactProgram(program, originIndexes, opcodes, cycles, jumpTargets, takenCycles);
+    }
+
+    private static boolean[] findZeroCostNeutrals(CompactProgram program) {
+        boolean[] removed = new boolean[program.size()];
+        int neutral = Opcode.NEUTRAL.ordinal();
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = program.opcodeCodeAt(i) == neutral && program.cyclesAt(i) == 0;
+        }
+        return removed;
+    }
+
+    private static int[] buildNextKept(boolean[] removed) {
+        int[] nextKept = new int[removed.length + 1];
+        nextKept[removed.length] = removed.length;
+        for (int i = removed.length - 1; i >= 0; i--) {
+            nextKept[i] = removed[i] ? nextKept[i + 1] : i;
+        }
+        return nextKept;
+    }
+
+    private static boolean keepSelfLoopLandings(CompactProgram program, boolean[] removed, int[] nextKept) {
+        boolean changed = false;
+        int jumpNotZero = Opcode.JUMP_NOT_ZERO.ordinal();
+        for (int i = 0; i < removed.length; i++) {
+            int target = program.jumpTargetAt(i);
+            if (program.opcodeCodeAt(i) == jumpNotZero && target >= 0 && target != i && nextKept[target] == i) {
+                removed[target] = false;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static int land(CompactProgram program, int index, int target, int[] nextKept) {
+        if (target == CompactProgram.EXIT_TARGET) {
+            return target;
+        }
+        int landing = nextKept[target == index ? index + 1 : target];
+        return landing == program.size() ? CompactProgram.EXIT_TARGET : landing;
+    }
+
+    private static boolean isThreadable(CompactProgram program, int jump, int destination) {
+        return destination >= 0 && destination != jump &&
+               program.opcodeCodeAt(destination) == Opcode.JUMP_NOT_ZERO.ordinal() &&
+               program.variableSlotAt(destination) == program.variableSlotAt(jump) &&
+               program.jumpTargetAt(destination) != CompactProgram.UNDEFINED_TARGET;
+    }
+}
@@ -0,0 +1,483 @@
+package engine.model.compact;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.model.FunctionRegistry;
+import engine.model.InstructionType;
+import engine.model.SEmulatorConstants;
+import engine.model.SProgramImpl;
+import engine.model.instruction.BaseInstruction;
+import engine.model.instruction.InstructionFactory;
+import engine.model.instruction.InstructionInterner;
+import engine.model.instruction.basic.NeutralInstruction;
+import engine.model.instruction.synthetic.GotoLabelInstruction;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+public class CompactProgram implements SProgram {
+    public static final int NO_TARGET = -1;
+    public static final int EXIT_TARGET = -2;
+    public static final int UNDEFINED_TARGET = -3;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String name;
+    private final List<String> inputVariables;
+    private final SymbolTable variableNames;
+    private final SymbolTable labelNames;
+    private final SymbolTable strings;
+    private final List<SInstruction> parents;
+    private final List<SInstruction> instructionView;
+    private Map<SInstruction, Integer> parentIds;
+
+    private byte[] opcodes;
+    private int[] variables;
+    private int[] labels;
+    private int[] cycles;
+    private int[] parentIndexes;
+    private int[] argumentStarts;
+    private int[] argumentKeys;
+    private int[] argumentValues;
+    private int[] jumpTargets;
+    private int[] jumpLabels;
+    private int[] takenCycles;
+    private int size;
+    private int argumentCount;
+    private boolean basic;
+    private boolean frozen;
+
+    private SInstruction[] views;
+    private byte[] fusedOpcodes;
+    private BlockTable blockTable;
+    private List<String> labelList;
+    private int maxExpansionLevel;
+    private FunctionRegistry functionRegistry;
+
+    private final CompactProgram origin;
+    private final int[] originIndexes;
+
+    public CompactProgram(String name, List<String> inputVariables) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Program name cannot be null or empty");
+        }
+        this.name = name.trim();
+        this.inputVariables = inputVariables != null ? List.copyOf(inputVariables) : List.of();
+        this.variableNames = new SymbolTable();
+        this.labelNames = new SymbolTable();
+        this.strings = new SymbolTable();
+        this.parents = new ArrayList<>();
+        this.parentIds = new IdentityHashMap<>();
+        this.instructionView = new InstructionView();
+
+        this.opcodes = new byte[INITIAL_CAPACITY];
+        this.variables = new int[INITIAL_CAPACITY];
+        this.labels = new int[INITIAL_CAPACITY];
+        this.cycles = new int[INITIAL_CAPACITY];
+        this.parentIndexes = new int[INITIAL_CAPACITY];
+        this.argumentStarts = new int[INITIAL_CAPACITY + 1];
+        this.argumentKeys = new int[INITIAL_CAPACITY];
+        this.argumentValues = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        this.argumentCount = 0;
+        this.basic = true;
+        this.frozen = false;
+        this.labelList = List.of();
+        this.maxExpansionLevel = 0;
+        this.origin = null;
+        this.originIndexes = null;
+    }
+
+    CompactProgram(CompactProgram origin, int[] originIndexes, byte[] opcodes, int[] cycles,
+                   int[] jumpTargets, int[] takenCycles) {
+        this.name = origin.name;
+        this.inputVariables = origin.inputVariables;
+        this.variableNames = origin.variableNames;
+        this.labelNames = origin.labelNames;
+        this.strings = origin.strings;
+        this.parents = origin.parents;
+        this.instructionView = new InstructionView();
+        this.origin = origin;
+        this.originIndexes = originIndexes;
+
+        this.size = originIndexes.length;
+        this.opcodes = opcodes;
+        this.cycles = cycles;
+        this.jumpTargets = jumpTargets;
+        this.takenCycles = takenCycles;
+        this.variables = new int[size];
+        this.labels = new int[size];
+        this.parentIndexes = new int[size];
+        this.jumpLabels = new int[size];
+        for (int i = 0; i < size; i++) {
+            int originIndex = originIndexes[i];
+            variables[i] = origin.variables[originIndex];
+            labels[i] = origin.labels[originIndex];
+            parentIndexes[i] = origin.parentIndexes[originIndex];
+            jumpLabels[i] = origin.jumpLabels[originIndex];
+        }
+        this.argumentStarts = new int[size + 1];
+        this.argumentKeys = new int[0];
+        this.argumentValues = new int[0];
+        this.argumentCount = 0;
+
+        this.basic = origin.basic;
+        this.frozen = true;
+        this.labelList = origin.labelList;
+        this.maxExpansionLevel = origin.maxExpansionLevel;
+        this.functionRegistry = origin.functionRegistry;
+    }
+
+    public static CompactProgram fromProgram(SProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        CompactProgram compactProgram = new CompactProgram(program.getName(), program.getInputVariables());
+        for (int i = 0; i < program.size(); i++) {
+            compactProgram.addInstruction(program.instructionAt(i), program.sourceInstructionAt(i));
+        }
+        compactProgram.setFunctionRegistry(program.getFunctionRegistry());
+        compactProgram.freeze();
+        return compactProgram;
+    }
+
+    public void addInstruction(SInstruction instruction) {
+        addInstruction(instruction, instruction != null ? instruction.getSourceInstruction() : null);
+    }
+
+    public void addInstruction(SInstruction instruction, SInstruction sourceInstruction) {
+        if (instruction == null) {
+            throw new IllegalArgumentException("Instruction cannot be null");
+        }
+        if (frozen) {
+            throw new IllegalStateException("Program '" + name + "' is frozen and cannot be modified");
+        }
+
+        Opcode opcode = Opcode.fromName(instruction.getName());
+        Map<String, String> arguments = instruction.getArguments();
+        ensureCapacity(size + 1, argumentCount + arguments.size());
+
+        opcodes[size] = (byte) opcode.ordinal();
+        variables[size] = variableNames.intern(instruction.getVariable());
+        labels[size] = labelNames.intern(instruction.getLabel());
+        cycles[size] = instruction.getCycles();
+        parentIndexes[size] = internParent(sourceInstruction);
+
+        argumentStarts[size] = argumentCount;
+        for (Map.Entry<String, String> argument : arguments.entrySet()) {
+            argumentKeys[argumentCount] = strings.intern(argument.getKey());
+            argumentValues[argumentCount] = strings.intern(argument.getValue());
+            argumentCount++;
+        }
+        argumentStarts[size + 1] = argumentCount;
+
+        basic &= opcode.getType() == InstructionType.BASIC;
+        size++;
+    }
+
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        frozen = true;
+        parentIds = null;
+
+        opcodes = Arrays.copyOf(opcodes, size);
+        variables = Arrays.copyOf(variables, size);
+        labels = Arrays.copyOf(labels, size);
+        cycles = Arrays.copyOf(cycles, size);
+        parentIndexes = Arrays.copyOf(parentIndexes, size);
+        argumentStarts = Arrays.copyOf(argumentStarts, size + 1);
+        argumentKeys = Arrays.copyOf(argumentKeys, argumentCount);
+        argumentValues = Arrays.copyOf(argumentValues, argumentCount);
+
+        resolveJumpTargets();
+        summarizeProgram();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public boolean isBasic() {
+        return basic;
+    }
+
+    public boolean isOptimized() {
+        return origin != null;
+    }
+
+    public CompactProgram getOrigin() {
+        return origin != null ? origin : this;
+    }
+
+    public int originalIndexAt(int index) {
+        checkIndex(index);
+        return originIndexes != null ? originIndexes[index] : index;
+    }
+
+    public Opcode opcodeAt(int index) {
+        return Opcode.fromCode(opcodes[checkIndex(index)]);
+    }
+
+    public int opcodeCodeAt(int index) {
+        return opcodes[index];
+    }
+
+    public int variableSlotAt(int index) {
+        return variables[index];
+    }
+
+    public int cyclesAt(int index) {
+        return cycles[index];
+    }
+
+    public int jumpTargetAt(int index) {
+        return jumpTargets[index];
+    }
+
+    public int takenCyclesAt(int index) {
+        return takenCycles != null ? takenCycles[index] : 0;
+    }
+
+    BlockTable blockTable() {
+        if (blockTable == null) {
+            blockTable = new BlockTable(this);
+        }
+        return blockTable;
+    }
+
+    byte[] fusedOpcodes() {
+        if (fusedOpcodes == null) {
+            fusedOpcodes = new CompactFuser().fuse(this);
+        }
+        return fusedOpcodes;
+    }
+
+    public String jumpLabelAt(int index) {
+        return strings.name(jumpLabels[index]);
+    }
+
+    public int getVariableCount() {
+        return variableNames.size();
+    }
+
+    public String variableName(int slot) {
+        return variableNames.name(slot);
+    }
+
+    public int findVariableSlot(String variable) {
+        return variableNames.find(variable);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<SInstruction> getInstructions() {
+        return instructionView;
+    }
+
+    @Override
+    public SInstruction instructionAt(int index) {
+        checkIndex(index);
+        if (origin != null) {
+            return origin.instructionAt(originIndexes[index]);
+        }
+        if (views == null || views.length < size) {
+            views = views == null ? new SInstruction[size] : Arrays.copyOf(views, size);
+        }
+        if (views[index] == null) {
+            views[index] = createView(index);
+        }
+        return views[index];
+    }
+
+    @Override
+    public SInstruction sourceInstructionAt(int index) {
+        checkIndex(index);
+        return parentIndexes[index] == SymbolTable.NONE ? null : parents.get(parentIndexes[index]);
+    }
+
+    @Override
+    public List<SInstruction> ancestryChainAt(int index) {
+        return BaseInstruction.ancestryChain(instructionAt(index), sourceInstructionAt(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<String> getInputVariables() {
+        return inputVariables;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return labelList;
+    }
+
+    @Override
+    public int getMaxExpansionLevel() {
+        return maxExpansionLevel;
+    }
+
+    @Override
+    public SProgram expandToLevel(int level) {
+        if (level < 0) {
+            throw new IllegalArgumentException("Expansion level cannot be negative: " + level);
+        }
+        return this;
+    }
+
+    @Override
+    public FunctionRegistry getFunctionRegistry() {
+        return functionRegistry;
+    }
+
+    @Override
+    public void setFunctionRegistry(FunctionRegistry functionRegistry) {
+        this.functionRegistry = functionRegistry;
+    }
+
+    private SInstruction createView(int index) {
+        Map<String, String> arguments = new HashMap<>();
+        for (int i = argumentStarts[index]; i < argumentStarts[index + 1]; i++) {
+            arguments.put(strings.name(argumentKeys[i]), strings.name(argumentValues[i]));
+        }
+        SInstruction parent = sourceInstructionAt(index);
+        String variable = variableNames.name(variables[index]);
+        String label = labelNames.name(labels[index]);
+        Opcode opcode = Opcode.fromCode(opcodes[index]);
+        SInstruction view = InstructionFactory.createInstruction(opcode.getInstructionName(), variable, label, arguments, parent);
+        if (view.getCycles() == cycles[index]) {
+            return InstructionInterner.intern(view);
+        }
+
+        SInstruction costed;
+        switch (opcode) {
+            case NEUTRAL:
+                costed = new NeutralInstruction(variable, label, cycles[index], parent);
+                break;
+            case GOTO_LABEL:
+                costed = new GotoLabelInstruction(variable, label, view.getTargetLabel(), cycles[index], parent);
+                break;
+            default:
+                throw new IllegalStateException("Instruction " + index + " of '" + name + "' (" +
+                    opcode.getInstructionName() + ") cannot carry " + cycles[index] + " cycles");
+        }
+        return InstructionInterner.intern(costed);
+    }
+
+    private int internParent(SInstruction parent) {
+        if (parent == null) {
+            return SymbolTable.NONE;
+        }
+        Integer id = parentIds.get(parent);
+        if (id == null) {
+            id = parents.size();
+            parents.add(parent);
+            parentIds.put(parent, id);
+        }
+        return id;
+    }
+
+    private void resolveJumpTargets() {
+        int[] labelIndexes = new int[labelNames.size()];
+        Arrays.fill(labelIndexes, NO_TARGET);
+        for (int i = 0; i < size; i++) {
+            if (labels[i] != SymbolTable.NONE) {
+                labelIndexes[labels[i]] = i;
+            }
+        }
+
+        int jumpKey = strings.find(SEmulatorConstants.JNZ_LABEL_ARG);
+        jumpTargets = new int[size];
+        jumpLabels = new int[size];
+        Arrays.fill(jumpTargets, NO_TARGET);
+        Arrays.fill(jumpLabels, SymbolTable.NONE);
+
+        for (int i = 0; i < size; i++) {
+            if (opcodes[i] != Opcode.JUMP_NOT_ZERO.ordinal()) {
+                continue;
+            }
+            for (int a = argumentStarts[i]; a < argumentStarts[i + 1]; a++) {
+                if (argumentKeys[a] != jumpKey) {
+                    continue;
+                }
+                String target = strings.name(argumentValues[a]).trim();
+                jumpLabels[i] = argumentValues[a];
+                if (SEmulatorConstants.EXIT_LABEL.equals(target)) {
+                    jumpTargets[i] = EXIT_TARGET;
+                } else {
+                    int labelId = labelNames.find(target);
+                    jumpTargets[i] = labelId != SymbolTable.NONE && labelIndexes[labelId] != NO_TARGET
+                        ? labelIndexes[labelId] : UNDEFINED_TARGET;
+                }
+            }
+        }
+    }
+
+    private void summarizeProgram() {
+        SProgramImpl summary = new SProgramImpl(name);
+        boolean[] labelSeen = new boolean[labelNames.size()];
+        for (int i = 0; i < size; i++) {
+            if (Opcode.fromCode(opcodes[i]).getType() == InstructionType.SYNTHETIC) {
+                summary.addInstruction(createView(i));
+            } else if (labels[i] != SymbolTable.NONE && !labelSeen[labels[i]]) {
+                summary.addInstruction(InstructionInterner.intern(new NeutralInstruction(
+                    variableNames.name(variables[i]), labelNames.name(labels[i]), Map.of())));
+            }
+            if (labels[i] != SymbolTable.NONE) {
+                labelSeen[labels[i]] = true;
+            }
+        }
+        labelList = List.copyOf(summary.getLabels());
+        maxExpansionLevel = summary.getMaxExpansionLevel();
+    }
+
+    private void ensureCapacity(int instructionCapacity, int argumentCapacity) {
+        if (instructionCapacity > opcodes.length) {
+            int capacity = Math.max(instructionCapacity, opcodes.length * 2);
+            opcodes = Arrays.copyOf(opcodes, capacity);
+            variables = Arrays.copyOf(variables, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+            cycles = Arrays.copyOf(cycles, capacity);
+            parentIndexes = Arrays.copyOf(parentIndexes, capacity);
+            argumentStarts = Arrays.copyOf(argumentStarts, capacity + 1);
+        }
+        if (argumentCapacity > argumentKeys.length) {
+            int capacity = Math.max(argumentCapacity, argumentKeys.length * 2);
+            argumentKeys = Arrays.copyOf(argumentKeys, capacity);
+            argumentValues = Arrays.copyOf(argumentValues, capacity);
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Instruction index " + index + " is outside 0-" + (size - 1));
+        }
+        return index;
+    }
+
+    private final class InstructionView extends AbstractList<SInstruction> implements RandomAccess {
+        @Override
+        public SInstruction get(int index) {
+            return instructionAt(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
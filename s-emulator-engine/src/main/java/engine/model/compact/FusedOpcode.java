@@ -0,0 +1,8 @@
+package engine.model.compact;
+
+public enum FusedOpcode {
+    NONE,
+    DECREASE_JUMP,
+    INCREASE_JUMP,
+    ZERO_LOOP
+}
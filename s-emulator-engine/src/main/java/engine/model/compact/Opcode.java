@@ -0,0 +1,59 @@
+package engine.model.compact;
+
+import engine.model.InstructionType;
+import engine.model.SEmulatorConstants;
+import java.util.HashMap;
+import java.util.Map;
+
+public enum Opcode {
+    INCREASE(SEmulatorConstants.INCREASE_NAME, InstructionType.BASIC),
+    DECREASE(SEmulatorConstants.DECREASE_NAME, InstructionType.BASIC),
+    JUMP_NOT_ZERO(SEmulatorConstants.JUMP_NOT_ZERO_NAME, InstructionType.BASIC),
+    NEUTRAL(SEmulatorConstants.NEUTRAL_NAME, InstructionType.BASIC),
+    ZERO_VARIABLE(SEmulatorConstants.ZERO_VARIABLE_NAME, InstructionType.SYNTHETIC),
+    GOTO_LABEL(SEmulatorConstants.GOTO_LABEL_NAME, InstructionType.SYNTHETIC),
+    ASSIGNMENT(SEmulatorConstants.ASSIGNMENT_NAME, InstructionType.SYNTHETIC),
+    CONSTANT_ASSIGNMENT(SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME, InstructionType.SYNTHETIC),
+    JUMP_ZERO(SEmulatorConstants.JUMP_ZERO_NAME, InstructionType.SYNTHETIC),
+    JUMP_EQUAL_CONSTANT(SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME, InstructionType.SYNTHETIC),
+    JUMP_EQUAL_VARIABLE(SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME, InstructionType.SYNTHETIC),
+    QUOTE(SEmulatorConstants.QUOTE_NAME, InstructionType.SYNTHETIC),
+    JUMP_EQUAL_FUNCTION(SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME, InstructionType.SYNTHETIC);
+
+    private static final Opcode[] VALUES = values();
+    private static final Map<String, Opcode> BY_NAME = new HashMap<>();
+
+    static {
+        for (Opcode opcode : VALUES) {
+            BY_NAME.put(opcode.instructionName, opcode);
+        }
+    }
+
+    private final String instructionName;
+    private final InstructionType type;
+
+    Opcode(String instructionName, InstructionType type) {
+        this.instructionName = instructionName;
+        this.type = type;
+    }
+
+    public String getInstructionName() {
+        return instructionName;
+    }
+
+    public InstructionType getType() {
+        return type;
+    }
+
+    public static Opcode fromName(String instructionName) {
+        Opcode opcode = instructionName != null ? BY_NAME.get(instructionName.trim()) : null;
+        if (opcode == null) {
+            throw new IllegalArgumentException("Unknown instruction type: " + instructionName);
+        }
+        return opcode;
+    }
+
+    public static Opcode fromCode(int code) {
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,44 @@
+package engine.model.compact;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class SymbolTable {
+    static final int NONE = -1;
+
+    private final List<String> names;
+    private final Map<String, Integer> ids;
+
+    SymbolTable() {
+        this.names = new ArrayList<>();
+        this.ids = new HashMap<>();
+    }
+
+    int intern(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    int find(String name) {
+        Integer id = name != null ? ids.get(name) : null;
+        return id != null ? id : NONE;
+    }
+
+    String name(int id) {
+        return id == NONE ? null : names.get(id);
+    }
+
+    int size() {
+        return names.size();
+    }
+}
@@ -13,7 +13,6 @@ public abstract class BaseInstruction implements SInstruction {
     protected final InstructionType type;
     protected final String variable;
     protected final String label;
-    protected final Map<String, String> arguments;
     protected final int cycles;
 
     protected final SInstruction sourceInstruction;
@@ -21,20 +20,22 @@ public abstract class BaseInstruction implements SInstruction {
 
     private static final int INDEX_WIDTH = 7;
 
+    private Map<String, String> argumentView;
+
     protected BaseInstruction(String name, InstructionType type, String variable, 
-                            String label, Map<String, String> arguments, int cycles) {
-        this(name, type, variable, label, arguments, cycles, null, -1);
+                            String label, int cycles) {
+        this(name, type, variable, label, cycles, null, -1);
     }
 
     protected BaseInstruction(String name, InstructionType type, String variable, 
-                            String label, Map<String, String> arguments, int cycles,
+                            String label, int cycles,
                             SInstruction sourceInstruction) {
-        this(name, type, variable, label, arguments, cycles, sourceInstruction, 
+        this(name, type, variable, label, cycles, sourceInstruction, 
              sourceInstruction != null ? getOriginalLineNumber(sourceInstruction) : -1);
     }
 
     protected BaseInstruction(String name, InstructionType type, String variable, 
-                            String label, Map<String, String> arguments, int cycles,
+                            String label, int cycles,
                             SInstruction sourceInstruction, int originalLineNumber) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Instruction name cannot be null or empty");
@@ -53,7 +54,6 @@ public abstract class BaseInstruction implements SInstruction {
         this.type = type;
         this.variable = variable.trim();
         this.label = (label != null && !label.trim().isEmpty()) ? label.trim() : null;
-        this.arguments = (arguments != null) ? Map.copyOf(arguments) : Map.of();
         this.cycles = cycles;
 
         this.sourceInstruction = sourceInstruction;
@@ -82,7 +82,68 @@ public abstract class BaseInstruction implements SInstruction {
 
     @Override
     public Map<String, String> getArguments() {
-        return arguments;
+        if (argumentView == null) {
+            argumentView = describeArguments();
+        }
+        return argumentView;
+    }
+
+    protected Map<String, String> describeArguments() {
+        return Map.of();
+    }
+
+    @Override
+    public String getTargetLabel() {
+        return null;
+    }
+
+    @Override
+    public String getSourceVariable() {
+        return null;
+    }
+
+    @Override
+    public Integer getConstantValue() {
+        return null;
+    }
+
+    @Override
+    public String getFunctionName() {
+        return null;
+    }
+
+    @Override
+    public String getFunctionArguments() {
+        return null;
+    }
+
+    @Override
+    public abstract SInstruction withOperands(String variable, String label, String targetLabel,
+                                              String sourceVariable, SInstruction sourceInstruction);
+
+    protected static String requireArgument(Map<String, String> arguments, String key, String message) {
+        if (arguments == null || !arguments.containsKey(key)) {
+            throw new IllegalArgumentException(message);
+        }
+        return arguments.get(key);
+    }
+
+    protected static int parseConstantValue(String constantStr) {
+        if (constantStr == null || constantStr.trim().isEmpty()) {
+            throw new IllegalArgumentException("constantValue cannot be null or empty");
+        }
+        try {
+            return Integer.parseInt(constantStr.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("constantValue must be a valid non-negative integer: " + constantStr, e);
+        }
+    }
+
+    protected static int requireNonNegativeConstant(int constantValue) {
+        if (constantValue < 0) {
+            throw new IllegalArgumentException("constantValue cannot be negative: " + constantValue);
+        }
+        return constantValue;
     }
 
     @Override
@@ -99,10 +160,10 @@ public abstract class BaseInstruction implements SInstruction {
         return originalLineNumber;
     }
 
-    @Override
-    public List<SInstruction> getAncestryChain() {
+    public static List<SInstruction> ancestryChain(SInstruction instruction, SInstruction sourceInstruction) {
         List<SInstruction> chain = new ArrayList<>();
-        SInstruction current = this;
+        chain.add(instruction);
+        SInstruction current = sourceInstruction;
         while (current != null) {
             chain.add(current);
             current = current.getSourceInstruction();
@@ -149,11 +210,10 @@ public abstract class BaseInstruction implements SInstruction {
     }
 
     @Override
-    public String toStringWithHistory(int currentLineNumber) {
+    public String toStringWithHistory(int currentLineNumber, List<SInstruction> ancestors) {
         String baseFormat = toString();
-        List<SInstruction> ancestors = getAncestryChain();
         
-        if (ancestors.size() <= 1) {
+        if (ancestors == null || ancestors.size() <= 1) {
             return baseFormat;
         }
         
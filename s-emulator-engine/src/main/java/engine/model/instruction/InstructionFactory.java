@@ -16,13 +16,45 @@ import engine.model.instruction.synthetic.QuoteInstruction;
 import engine.model.instruction.synthetic.JumpEqualFunctionInstruction;
 import engine.model.SEmulatorConstants;
 import java.util.Map;
+import java.util.Set;
 
 public final class InstructionFactory {
+    private static final Set<String> INSTRUCTION_NAMES = Set.of(
+        SEmulatorConstants.INCREASE_NAME, SEmulatorConstants.DECREASE_NAME, SEmulatorConstants.JUMP_NOT_ZERO_NAME,
+        SEmulatorConstants.NEUTRAL_NAME, SEmulatorConstants.ZERO_VARIABLE_NAME, SEmulatorConstants.GOTO_LABEL_NAME,
+        SEmulatorConstants.ASSIGNMENT_NAME, SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME, SEmulatorConstants.JUMP_ZERO_NAME,
+        SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME, SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME,
+        SEmulatorConstants.QUOTE_NAME, SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME);
     
     private InstructionFactory() {
     }
 
+    public static void validateInstruction(String name, String variable, Map<String, String> arguments) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Instruction name cannot be null or empty");
+        }
+        
+        if (variable == null || variable.trim().isEmpty()) {
+            throw new IllegalArgumentException("Variable cannot be null or empty");
+        }
+
+        String instructionName = name.trim().toUpperCase(java.util.Locale.ENGLISH);
+        if (!INSTRUCTION_NAMES.contains(instructionName)) {
+            throw unknownInstruction(instructionName);
+        }
+        if (instructionName.equals(SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME) ||
+            instructionName.equals(SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME)) {
+            BaseInstruction.requireNonNegativeConstant(
+                BaseInstruction.parseConstantValue(arguments.get(SEmulatorConstants.CONSTANT_VALUE_ARG)));
+        }
+    }
+
     public static SInstruction createInstruction(String name, String variable, String label, Map<String, String> arguments) {
+        return createInstruction(name, variable, label, arguments, null);
+    }
+
+    public static SInstruction createInstruction(String name, String variable, String label, Map<String, String> arguments,
+                                                 SInstruction sourceInstruction) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Instruction name cannot be null or empty");
         }
@@ -33,26 +65,31 @@ public final class InstructionFactory {
 
         String instructionName = name.trim().toUpperCase(java.util.Locale.ENGLISH);
         
-        return switch (instructionName) {
-            case SEmulatorConstants.INCREASE_NAME -> new IncreaseInstruction(variable, label, arguments);
-            case SEmulatorConstants.DECREASE_NAME -> new DecreaseInstruction(variable, label, arguments);
-            case SEmulatorConstants.JUMP_NOT_ZERO_NAME -> new JumpNotZeroInstruction(variable, label, arguments);
-            case SEmulatorConstants.NEUTRAL_NAME -> new NeutralInstruction(variable, label, arguments);
-            case SEmulatorConstants.ZERO_VARIABLE_NAME -> new ZeroVariableInstruction(variable, label, arguments, null);
-            case SEmulatorConstants.GOTO_LABEL_NAME -> new GotoLabelInstruction(variable, label, arguments, null);
-            case SEmulatorConstants.ASSIGNMENT_NAME -> new AssignmentInstruction(variable, label, arguments, null);
-            case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME -> new ConstantAssignmentInstruction(variable, label, arguments, null);
-            case SEmulatorConstants.JUMP_ZERO_NAME -> new JumpZeroInstruction(variable, label, arguments, null);
-            case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME -> new JumpEqualConstantInstruction(variable, label, arguments, null);
-            case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME -> new JumpEqualVariableInstruction(variable, label, arguments, null);
-            case SEmulatorConstants.QUOTE_NAME -> new QuoteInstruction(variable, label, arguments);
-            case SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME -> new JumpEqualFunctionInstruction(variable, label, arguments);
-            default -> throw new IllegalArgumentException("Unknown instruction type: " + instructionName + 
-                ". Supported instructions: " + SEmulatorConstants.INCREASE_NAME + ", " + SEmulatorConstants.DECREASE_NAME + ", " + 
-                SEmulatorConstants.JUMP_NOT_ZERO_NAME + ", " + SEmulatorConstants.NEUTRAL_NAME + ", " + SEmulatorConstants.ZERO_VARIABLE_NAME + ", " + 
-                SEmulatorConstants.GOTO_LABEL_NAME + ", " + SEmulatorConstants.ASSIGNMENT_NAME + ", " + SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME + ", " + 
-                SEmulatorConstants.JUMP_ZERO_NAME + ", " + SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME + ", " + SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME + ", " +
-                SEmulatorConstants.QUOTE_NAME + ", " + SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME);
+        SInstruction instruction = switch (instructionName) {
+            case SEmulatorConstants.INCREASE_NAME -> new IncreaseInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.DECREASE_NAME -> new DecreaseInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.JUMP_NOT_ZERO_NAME -> new JumpNotZeroInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.NEUTRAL_NAME -> new NeutralInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.ZERO_VARIABLE_NAME -> new ZeroVariableInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.GOTO_LABEL_NAME -> new GotoLabelInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.ASSIGNMENT_NAME -> new AssignmentInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME -> new ConstantAssignmentInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.JUMP_ZERO_NAME -> new JumpZeroInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME -> new JumpEqualConstantInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME -> new JumpEqualVariableInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.QUOTE_NAME -> new QuoteInstruction(variable, label, arguments, sourceInstruction);
+            case SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME -> new JumpEqualFunctionInstruction(variable, label, arguments, sourceInstruction);
+            default -> throw unknownInstruction(instructionName);
         };
+        return sourceInstruction == null ? InstructionInterner.intern(instruction) : instruction;
+    }
+
+    private static IllegalArgumentException unknownInstruction(String instructionName) {
+        return new IllegalArgumentException("Unknown instruction type: " + instructionName + 
+            ". Supported instructions: " + SEmulatorConstants.INCREASE_NAME + ", " + SEmulatorConstants.DECREASE_NAME + ", " + 
+            SEmulatorConstants.JUMP_NOT_ZERO_NAME + ", " + SEmulatorConstants.NEUTRAL_NAME + ", " + SEmulatorConstants.ZERO_VARIABLE_NAME + ", " + 
+            SEmulatorConstants.GOTO_LABEL_NAME + ", " + SEmulatorConstants.ASSIGNMENT_NAME + ", " + SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME + ", " + 
+            SEmulatorConstants.JUMP_ZERO_NAME + ", " + SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME + ", " + SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME + ", " +
+            SEmulatorConstants.QUOTE_NAME + ", " + SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME);
     }
 }
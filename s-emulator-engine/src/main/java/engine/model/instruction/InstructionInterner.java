@@ -0,0 +1,82 @@
+package engine.model.instruction;
+
+import engine.api.SInstruction;
+import engine.model.InstructionType;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class InstructionInterner {
+    private static final int MAX_ENTRIES = 1 << 16;
+    private static final Map<Key, SInstruction> INSTANCES = new ConcurrentHashMap<>();
+
+    private InstructionInterner() {
+    }
+
+    public static SInstruction intern(SInstruction instruction) {
+        if (!isShareable(instruction)) {
+            return instruction;
+        }
+        Key key = new Key(instruction);
+        SInstruction shared = INSTANCES.get(key);
+        if (shared != null) {
+            return shared;
+        }
+        if (INSTANCES.size() >= MAX_ENTRIES) {
+            INSTANCES.clear();
+        }
+        SInstruction canonical = instruction.getSourceInstruction() == null ? instruction :
+            instruction.withOperands(instruction.getVariable(), instruction.getLabel(), instruction.getTargetLabel(),
+                instruction.getSourceVariable(), null);
+        shared = INSTANCES.putIfAbsent(key, canonical);
+        return shared != null ? shared : canonical;
+    }
+
+    public static int size() {
+        return INSTANCES.size();
+    }
+
+    public static void clear() {
+        INSTANCES.clear();
+    }
+
+    private static boolean isShareable(SInstruction instruction) {
+        return instruction != null && instruction.getType() == InstructionType.BASIC;
+    }
+
+    private static final class Key {
+        private final String name;
+        private final String variable;
+        private final String label;
+        private final String targetLabel;
+        private final int cycles;
+        private final int hash;
+
+        private Key(SInstruction instruction) {
+            this.name = instruction.getName();
+            this.variable = instruction.getVariable();
+            this.label = instruction.getLabel();
+            this.targetLabel = instruction.getTargetLabel();
+            this.cycles = instruction.getCycles();
+            this.hash = Objects.hash(name, variable, label, targetLabel, cycles);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return cycles == key.cycles && name.equals(key.name) && Objects.equals(variable, key.variable) &&
+                Objects.equals(label, key.label) && Objects.equals(targetLabel, key.targetLabel);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -12,11 +12,11 @@ import java.util.Map;
 public class DecreaseInstruction extends BaseInstruction {
     
     public DecreaseInstruction(String variable, String label, Map<String, String> arguments) {
-        super(SEmulatorConstants.DECREASE_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.DECREASE_CYCLES);
+        super(SEmulatorConstants.DECREASE_NAME, InstructionType.BASIC, variable, label, SEmulatorConstants.DECREASE_CYCLES);
     }
 
     public DecreaseInstruction(String variable, String label, Map<String, String> arguments, SInstruction sourceInstruction) {
-        super(SEmulatorConstants.DECREASE_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.DECREASE_CYCLES, sourceInstruction);
+        super(SEmulatorConstants.DECREASE_NAME, InstructionType.BASIC, variable, label, SEmulatorConstants.DECREASE_CYCLES, sourceInstruction);
     }
 
     @Override
@@ -25,6 +25,12 @@ public class DecreaseInstruction extends BaseInstruction {
         context.addCycles(cycles);
     }
 
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new DecreaseInstruction(variable, label, Map.of(), sourceInstruction);
+    }
+
     @Override
     public List<SInstruction> expand(ExpansionContext context) {
         return List.of(this);
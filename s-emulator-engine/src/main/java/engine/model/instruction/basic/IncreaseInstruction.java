@@ -12,11 +12,11 @@ import java.util.Map;
 public class IncreaseInstruction extends BaseInstruction {
     
     public IncreaseInstruction(String variable, String label, Map<String, String> arguments) {
-        super(SEmulatorConstants.INCREASE_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.INCREASE_CYCLES);
+        super(SEmulatorConstants.INCREASE_NAME, InstructionType.BASIC, variable, label, SEmulatorConstants.INCREASE_CYCLES);
     }
 
     public IncreaseInstruction(String variable, String label, Map<String, String> arguments, SInstruction sourceInstruction) {
-        super(SEmulatorConstants.INCREASE_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.INCREASE_CYCLES, sourceInstruction);
+        super(SEmulatorConstants.INCREASE_NAME, InstructionType.BASIC, variable, label, SEmulatorConstants.INCREASE_CYCLES, sourceInstruction);
     }
 
     @Override
@@ -25,6 +25,12 @@ public class IncreaseInstruction extends BaseInstruction {
         context.addCycles(cycles);
     }
 
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new IncreaseInstruction(variable, label, Map.of(), sourceInstruction);
+    }
+
     @Override
     public List<SInstruction> expand(ExpansionContext context) {
         return List.of(this);
@@ -13,37 +13,28 @@ public class JumpNotZeroInstruction extends BaseInstruction {
     private final String jumpLabel;
     
     public JumpNotZeroInstruction(String variable, String label, Map<String, String> arguments) {
-        super(SEmulatorConstants.JUMP_NOT_ZERO_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.JUMP_NOT_ZERO_CYCLES);
-        
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.JNZ_LABEL_ARG)) {
-            throw new IllegalArgumentException("JUMP_NOT_ZERO instruction requires 'JNZLabel' argument");
-        }
-        
-        this.jumpLabel = arguments.get(SEmulatorConstants.JNZ_LABEL_ARG);
-        if (jumpLabel == null || jumpLabel.trim().isEmpty()) {
-            throw new IllegalArgumentException("JNZLabel cannot be null or empty");
-        }
+        this(variable, label, arguments, null);
     }
 
     public JumpNotZeroInstruction(String variable, String label, Map<String, String> arguments, SInstruction sourceInstruction) {
-        super(SEmulatorConstants.JUMP_NOT_ZERO_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.JUMP_NOT_ZERO_CYCLES, sourceInstruction);
-        
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.JNZ_LABEL_ARG)) {
-            throw new IllegalArgumentException("JUMP_NOT_ZERO instruction requires 'JNZLabel' argument");
-        }
+        this(variable, label, requireArgument(arguments, SEmulatorConstants.JNZ_LABEL_ARG,
+                "JUMP_NOT_ZERO instruction requires 'JNZLabel' argument"), sourceInstruction);
+    }
+
+    public JumpNotZeroInstruction(String variable, String label, String jumpLabel, SInstruction sourceInstruction) {
+        super(SEmulatorConstants.JUMP_NOT_ZERO_NAME, InstructionType.BASIC, variable, label, SEmulatorConstants.JUMP_NOT_ZERO_CYCLES, sourceInstruction);
         
-        this.jumpLabel = arguments.get(SEmulatorConstants.JNZ_LABEL_ARG);
         if (jumpLabel == null || jumpLabel.trim().isEmpty()) {
             throw new IllegalArgumentException("JNZLabel cannot be null or empty");
         }
+        this.jumpLabel = jumpLabel;
     }
 
     @Override
     protected void executeInstruction(ExecutionContext context) {
         context.addCycles(cycles);
         
-        int variableValue = context.getVariableManager().getValue(variable);
-        if (variableValue != 0) {
+        if (!context.getVariableManager().isZero(variable)) {
             context.jumpToLabel(jumpLabel);
         }
     }
@@ -58,6 +49,22 @@ public class JumpNotZeroInstruction extends BaseInstruction {
         return "IF " + variable + " != 0 GOTO " + jumpLabel;
     }
 
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.JNZ_LABEL_ARG, jumpLabel);
+    }
+
+    @Override
+    public String getTargetLabel() {
+        return jumpLabel;
+    }
+
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new JumpNotZeroInstruction(variable, label, targetLabel, sourceInstruction);
+    }
+
     public String getJumpLabel() {
         return jumpLabel;
     }
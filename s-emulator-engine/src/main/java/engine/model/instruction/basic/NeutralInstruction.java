@@ -12,11 +12,15 @@ import java.util.Map;
 public class NeutralInstruction extends BaseInstruction {
     
     public NeutralInstruction(String variable, String label, Map<String, String> arguments) {
-        super(SEmulatorConstants.NEUTRAL_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.NEUTRAL_CYCLES);
+        super(SEmulatorConstants.NEUTRAL_NAME, InstructionType.BASIC, variable, label, SEmulatorConstants.NEUTRAL_CYCLES);
     }
 
     public NeutralInstruction(String variable, String label, Map<String, String> arguments, SInstruction sourceInstruction) {
-        super(SEmulatorConstants.NEUTRAL_NAME, InstructionType.BASIC, variable, label, arguments, SEmulatorConstants.NEUTRAL_CYCLES, sourceInstruction);
+        this(variable, label, SEmulatorConstants.NEUTRAL_CYCLES, sourceInstruction);
+    }
+
+    public NeutralInstruction(String variable, String label, int cycles, SInstruction sourceInstruction) {
+        super(SEmulatorConstants.NEUTRAL_NAME, InstructionType.BASIC, variable, label, cycles, sourceInstruction);
     }
 
     @Override
@@ -24,6 +28,12 @@ public class NeutralInstruction extends BaseInstruction {
         context.addCycles(cycles);
     }
 
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new NeutralInstruction(variable, label, cycles, sourceInstruction);
+    }
+
     @Override
     public List<SInstruction> expand(ExpansionContext context) {
         return List.of(this);
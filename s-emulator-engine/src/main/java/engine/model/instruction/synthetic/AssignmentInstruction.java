@@ -18,23 +18,24 @@ public class AssignmentInstruction extends BaseInstruction {
     
     public AssignmentInstruction(String variable, String label, Map<String, String> arguments, 
                                 SInstruction sourceInstruction) {
-        super(SEmulatorConstants.ASSIGNMENT_NAME, InstructionType.SYNTHETIC, variable, label, arguments, 
+        this(variable, label, requireArgument(arguments, SEmulatorConstants.ASSIGNED_VARIABLE_ARG,
+                "ASSIGNMENT instruction requires 'assignedVariable' argument"), sourceInstruction);
+    }
+
+    public AssignmentInstruction(String variable, String label, String assignedVariable,
+                                SInstruction sourceInstruction) {
+        super(SEmulatorConstants.ASSIGNMENT_NAME, InstructionType.SYNTHETIC, variable, label, 
               SEmulatorConstants.ASSIGNMENT_CYCLES, sourceInstruction);
         
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.ASSIGNED_VARIABLE_ARG)) {
-            throw new IllegalArgumentException("ASSIGNMENT instruction requires 'assignedVariable' argument");
-        }
-        
-        this.assignedVariable = arguments.get(SEmulatorConstants.ASSIGNED_VARIABLE_ARG);
         if (assignedVariable == null || assignedVariable.trim().isEmpty()) {
             throw new IllegalArgumentException("assignedVariable cannot be null or empty");
         }
+        this.assignedVariable = assignedVariable;
     }
 
     @Override
     protected void executeInstruction(ExecutionContext context) {
-        int sourceValue = context.getVariableManager().getValue(assignedVariable);
-        context.getVariableManager().setValue(variable, sourceValue);
+        context.getVariableManager().copyValue(assignedVariable, variable);
         context.addCycles(cycles);
     }
 
@@ -63,7 +64,7 @@ public class AssignmentInstruction extends BaseInstruction {
         JumpNotZeroInstruction checkSource = new JumpNotZeroInstruction(
             assignedVariable,
             null,
-            Map.of(SEmulatorConstants.JNZ_LABEL_ARG, copyLoopLabel),
+            copyLoopLabel,
             this
         );
         expandedInstructions.add(checkSource);
@@ -71,7 +72,7 @@ public class AssignmentInstruction extends BaseInstruction {
         GotoLabelInstruction skipToEnd = new GotoLabelInstruction(
             workingVariable,
             null,
-            Map.of(SEmulatorConstants.GOTO_LABEL_ARG, endLabel),
+            endLabel,
             this
         );
         expandedInstructions.add(skipToEnd);
@@ -93,7 +94,7 @@ public class AssignmentInstruction extends BaseInstruction {
         JumpNotZeroInstruction copyJump = new JumpNotZeroInstruction(
             assignedVariable,
             null,
-            Map.of(SEmulatorConstants.JNZ_LABEL_ARG, copyLoopLabel),
+            copyLoopLabel,
             this
         );
         
@@ -125,7 +126,7 @@ public class AssignmentInstruction extends BaseInstruction {
         JumpNotZeroInstruction restoreJump = new JumpNotZeroInstruction(
             workingVariable,
             null,
-            Map.of(SEmulatorConstants.JNZ_LABEL_ARG, restoreLoopLabel),
+            restoreLoopLabel,
             this
         );
         
@@ -144,6 +145,22 @@ public class AssignmentInstruction extends BaseInstruction {
         return expandedInstructions;
     }
 
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.ASSIGNED_VARIABLE_ARG, assignedVariable);
+    }
+
+    @Override
+    public String getSourceVariable() {
+        return assignedVariable;
+    }
+
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new AssignmentInstruction(variable, label, sourceVariable, sourceInstruction);
+    }
+
     public String getAssignedVariable() {
         return assignedVariable;
     }
@@ -16,26 +16,16 @@ public class ConstantAssignmentInstruction extends BaseInstruction {
     
     public ConstantAssignmentInstruction(String variable, String label, Map<String, String> arguments, 
                                        SInstruction sourceInstruction) {
-        super(SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME, InstructionType.SYNTHETIC, variable, label, arguments, 
+        this(variable, label, parseConstantValue(requireArgument(arguments, SEmulatorConstants.CONSTANT_VALUE_ARG,
+                "CONSTANT_ASSIGNMENT instruction requires 'constantValue' argument")), sourceInstruction);
+    }
+
+    public ConstantAssignmentInstruction(String variable, String label, int constantValue,
+                                       SInstruction sourceInstruction) {
+        super(SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME, InstructionType.SYNTHETIC, variable, label, 
               SEmulatorConstants.CONSTANT_ASSIGNMENT_CYCLES, sourceInstruction);
         
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.CONSTANT_VALUE_ARG)) {
-            throw new IllegalArgumentException("CONSTANT_ASSIGNMENT instruction requires 'constantValue' argument");
-        }
-        
-        String constantStr = arguments.get(SEmulatorConstants.CONSTANT_VALUE_ARG);
-        if (constantStr == null || constantStr.trim().isEmpty()) {
-            throw new IllegalArgumentException("constantValue cannot be null or empty");
-        }
-        
-        try {
-            this.constantValue = Integer.parseInt(constantStr.trim());
-            if (this.constantValue < 0) {
-                throw new IllegalArgumentException("constantValue cannot be negative: " + this.constantValue);
-            }
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("constantValue must be a valid non-negative integer: " + constantStr, e);
-        }
+        this.constantValue = requireNonNegativeConstant(constantValue);
     }
 
     @Override
@@ -71,8 +61,20 @@ public class ConstantAssignmentInstruction extends BaseInstruction {
         return expandedInstructions;
     }
 
-    public int getConstantValue() {
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.CONSTANT_VALUE_ARG, Integer.toString(constantValue));
+    }
+
+    @Override
+    public Integer getConstantValue() {
         return constantValue;
     }
 
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new ConstantAssignmentInstruction(variable, label, constantValue, sourceInstruction);
+    }
+
 }
@@ -17,17 +17,24 @@ public class GotoLabelInstruction extends BaseInstruction {
     
     public GotoLabelInstruction(String variable, String label, Map<String, String> arguments,
                               SInstruction sourceInstruction) {
-        super(SEmulatorConstants.GOTO_LABEL_NAME, InstructionType.SYNTHETIC, variable, label, arguments, 
-              SEmulatorConstants.GOTO_LABEL_CYCLES, sourceInstruction);
-        
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.GOTO_LABEL_ARG)) {
-            throw new IllegalArgumentException("GOTO_LABEL instruction requires 'gotoLabel' argument");
-        }
+        this(variable, label, requireArgument(arguments, SEmulatorConstants.GOTO_LABEL_ARG,
+                "GOTO_LABEL instruction requires 'gotoLabel' argument"), sourceInstruction);
+    }
+
+    public GotoLabelInstruction(String variable, String label, String gotoLabel,
+                              SInstruction sourceInstruction) {
+        this(variable, label, gotoLabel, SEmulatorConstants.GOTO_LABEL_CYCLES, sourceInstruction);
+    }
+
+    public GotoLabelInstruction(String variable, String label, String gotoLabel, int cycles,
+                              SInstruction sourceInstruction) {
+        super(SEmulatorConstants.GOTO_LABEL_NAME, InstructionType.SYNTHETIC, variable, label, 
+              cycles, sourceInstruction);
         
-        this.gotoLabel = arguments.get(SEmulatorConstants.GOTO_LABEL_ARG);
         if (gotoLabel == null || gotoLabel.trim().isEmpty()) {
             throw new IllegalArgumentException("gotoLabel cannot be null or empty");
         }
+        this.gotoLabel = gotoLabel;
     }
 
     @Override
@@ -57,7 +64,7 @@ public class GotoLabelInstruction extends BaseInstruction {
         JumpNotZeroInstruction jumpInstruction = new JumpNotZeroInstruction(
             workingVariable,
             null,
-            Map.of(SEmulatorConstants.JNZ_LABEL_ARG, gotoLabel),
+            gotoLabel,
             this
         );
         
@@ -67,6 +74,22 @@ public class GotoLabelInstruction extends BaseInstruction {
         return expandedInstructions;
     }
 
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.GOTO_LABEL_ARG, gotoLabel);
+    }
+
+    @Override
+    public String getTargetLabel() {
+        return gotoLabel;
+    }
+
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new GotoLabelInstruction(variable, label, targetLabel, cycles, sourceInstruction);
+    }
+
     public String getGotoLabel() {
         return gotoLabel;
     }
@@ -18,39 +18,34 @@ public class JumpEqualConstantInstruction extends BaseInstruction {
     
     public JumpEqualConstantInstruction(String variable, String label, Map<String, String> arguments, 
                                        SInstruction sourceInstruction) {
-        super(SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME, InstructionType.SYNTHETIC, variable, label, arguments, 
+        this(variable, label, requireJumpLabel(arguments), parseConstantValue(arguments.get(SEmulatorConstants.CONSTANT_VALUE_ARG)),
+             sourceInstruction);
+    }
+
+    public JumpEqualConstantInstruction(String variable, String label, String jumpLabel, int constantValue,
+                                       SInstruction sourceInstruction) {
+        super(SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME, InstructionType.SYNTHETIC, variable, label, 
               SEmulatorConstants.JUMP_EQUAL_CONSTANT_CYCLES, sourceInstruction);
         
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.JE_CONSTANT_LABEL_ARG) || !arguments.containsKey(SEmulatorConstants.CONSTANT_VALUE_ARG)) {
-            throw new IllegalArgumentException("JUMP_EQUAL_CONSTANT instruction requires 'JEConstantLabel' and 'constantValue' arguments");
-        }
-        
-        this.jumpLabel = arguments.get(SEmulatorConstants.JE_CONSTANT_LABEL_ARG);
         if (jumpLabel == null || jumpLabel.trim().isEmpty()) {
             throw new IllegalArgumentException("JEConstantLabel cannot be null or empty");
         }
-        
-        String constantStr = arguments.get(SEmulatorConstants.CONSTANT_VALUE_ARG);
-        if (constantStr == null || constantStr.trim().isEmpty()) {
-            throw new IllegalArgumentException("constantValue cannot be null or empty");
-        }
-        
-        try {
-            this.constantValue = Integer.parseInt(constantStr.trim());
-            if (this.constantValue < 0) {
-                throw new IllegalArgumentException("constantValue cannot be negative: " + this.constantValue);
-            }
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("constantValue must be a valid non-negative integer: " + constantStr, e);
+        this.jumpLabel = jumpLabel;
+        this.constantValue = requireNonNegativeConstant(constantValue);
+    }
+
+    private static String requireJumpLabel(Map<String, String> arguments) {
+        if (arguments == null || !arguments.containsKey(SEmulatorConstants.JE_CONSTANT_LABEL_ARG) || !arguments.containsKey(SEmulatorConstants.CONSTANT_VALUE_ARG)) {
+            throw new IllegalArgumentException("JUMP_EQUAL_CONSTANT instruction requires 'JEConstantLabel' and 'constantValue' arguments");
         }
+        return arguments.get(SEmulatorConstants.JE_CONSTANT_LABEL_ARG);
     }
 
     @Override
     protected void executeInstruction(ExecutionContext context) {
         context.addCycles(cycles);
         
-        int variableValue = context.getVariableManager().getValue(variable);
-        if (variableValue == constantValue) {
+        if (context.getVariableManager().valueEquals(variable, constantValue)) {
             context.jumpToLabel(jumpLabel);
         }
     }
@@ -68,12 +63,12 @@ public class JumpEqualConstantInstruction extends BaseInstruction {
         String skipLabel = context.getUniqueLabel();
         
         AssignmentInstruction copyV = new AssignmentInstruction(
-            workingVariable, null, Map.of(SEmulatorConstants.ASSIGNED_VARIABLE_ARG, variable), this
+            workingVariable, null, variable, this
         );
         expandedInstructions.add(copyV);
         
         JumpZeroInstruction initialCheck = new JumpZeroInstruction(
-            workingVariable, null, Map.of(SEmulatorConstants.JZ_LABEL_ARG, skipLabel), this
+            workingVariable, null, skipLabel, this
         );
         expandedInstructions.add(initialCheck);
         
@@ -84,13 +79,13 @@ public class JumpEqualConstantInstruction extends BaseInstruction {
             expandedInstructions.add(decreaseOne);
             
             JumpZeroInstruction checkZero = new JumpZeroInstruction(
-                workingVariable, null, Map.of(SEmulatorConstants.JZ_LABEL_ARG, skipLabel), this
+                workingVariable, null, skipLabel, this
             );
             expandedInstructions.add(checkZero);
         }
         
         GotoLabelInstruction doJump = new GotoLabelInstruction(
-            workingVariable, null, Map.of(SEmulatorConstants.GOTO_LABEL_ARG, jumpLabel), this
+            workingVariable, null, jumpLabel, this
         );
         expandedInstructions.add(doJump);
         
@@ -106,7 +101,25 @@ public class JumpEqualConstantInstruction extends BaseInstruction {
         return jumpLabel;
     }
 
-    public int getConstantValue() {
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.JE_CONSTANT_LABEL_ARG, jumpLabel,
+                      SEmulatorConstants.CONSTANT_VALUE_ARG, Integer.toString(constantValue));
+    }
+
+    @Override
+    public String getTargetLabel() {
+        return jumpLabel;
+    }
+
+    @Override
+    public Integer getConstantValue() {
         return constantValue;
     }
+
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new JumpEqualConstantInstruction(variable, label, targetLabel, constantValue, sourceInstruction);
+    }
 }
@@ -2,9 +2,11 @@ package engine.model.instruction.synthetic;
 
 import engine.api.SInstruction;
 import engine.expansion.ExpansionContext;
+import engine.link.LinkedCall;
 import engine.model.InstructionType;
 import engine.model.SEmulatorConstants;
 import engine.model.instruction.BaseInstruction;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,77 +14,105 @@ import java.util.Map;
 
 public class JumpEqualFunctionInstruction extends BaseInstruction {
     
+    private final String jumpLabel;
+    private final String functionName;
+    private final String functionArguments;
+    private LinkedCall linkedCall;
+    
     public JumpEqualFunctionInstruction(String variable, String label, Map<String, String> arguments) {
-        super(SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME, InstructionType.SYNTHETIC, 
-              variable, label, arguments, SEmulatorConstants.JUMP_EQUAL_FUNCTION_CYCLES);
-        
-        validateArguments();
+        this(variable, label, arguments, null);
     }
     
     public JumpEqualFunctionInstruction(String variable, String label, Map<String, String> arguments, 
                                        SInstruction sourceInstruction) {
+        this(variable, label,
+             requireArgument(arguments, SEmulatorConstants.JE_FUNCTION_LABEL_ARG, "JUMP_EQUAL_FUNCTION instruction requires JEFunctionLabel argument"),
+             requireArgument(arguments, SEmulatorConstants.FUNCTION_NAME_ARG, "JUMP_EQUAL_FUNCTION instruction requires functionName argument"),
+             requireArgument(arguments, SEmulatorConstants.FUNCTION_ARGUMENTS_ARG, "JUMP_EQUAL_FUNCTION instruction requires functionArguments argument"),
+             sourceInstruction);
+    }
+    
+    public JumpEqualFunctionInstruction(String variable, String label, String jumpLabel, String functionName,
+                                       String functionArguments, SInstruction sourceInstruction) {
         super(SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME, InstructionType.SYNTHETIC, 
-              variable, label, arguments, SEmulatorConstants.JUMP_EQUAL_FUNCTION_CYCLES, 
+              variable, label, SEmulatorConstants.JUMP_EQUAL_FUNCTION_CYCLES, 
               sourceInstruction);
         
-        validateArguments();
-    }
-    
-    private void validateArguments() {
-        if (!arguments.containsKey(SEmulatorConstants.JE_FUNCTION_LABEL_ARG)) {
+        if (jumpLabel == null) {
             throw new IllegalArgumentException("JUMP_EQUAL_FUNCTION instruction requires JEFunctionLabel argument");
         }
-        
-        if (!arguments.containsKey(SEmulatorConstants.FUNCTION_NAME_ARG)) {
+        if (functionName == null) {
             throw new IllegalArgumentException("JUMP_EQUAL_FUNCTION instruction requires functionName argument");
         }
-        
-        if (!arguments.containsKey(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG)) {
+        if (functionArguments == null) {
             throw new IllegalArgumentException("JUMP_EQUAL_FUNCTION instruction requires functionArguments argument");
         }
+        this.jumpLabel = jumpLabel;
+        this.functionName = functionName;
+        this.functionArguments = functionArguments;
     }
     
     @Override
     public List<SInstruction> expand(ExpansionContext context) {
         List<SInstruction> expandedInstructions = new ArrayList<>();
         
-        String jumpLabel = arguments.get(SEmulatorConstants.JE_FUNCTION_LABEL_ARG);
-        String functionName = arguments.get(SEmulatorConstants.FUNCTION_NAME_ARG);
-        String functionArguments = arguments.get(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG);
-        
-        if (jumpLabel == null) {
-            throw new IllegalArgumentException("JUMP_EQUAL_FUNCTION instruction requires JEFunctionLabel argument");
-        }
-        
         String workingVar = context.getUniqueWorkingVariable();
         
-        Map<String, String> quoteArgs = new HashMap<>();
-        quoteArgs.put(SEmulatorConstants.FUNCTION_NAME_ARG, functionName);
-        quoteArgs.put(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG, functionArguments);
-        
-        SInstruction quoteInstruction = new QuoteInstruction(workingVar, null, quoteArgs, this);
+        QuoteInstruction quoteInstruction = new QuoteInstruction(workingVar, null, functionName, functionArguments, this);
+        quoteInstruction.link(linkedCall);
         expandedInstructions.add(quoteInstruction);
         
-        Map<String, String> jumpArgs = new HashMap<>();
-        jumpArgs.put(SEmulatorConstants.JE_VARIABLE_LABEL_ARG, jumpLabel);
-        jumpArgs.put(SEmulatorConstants.VARIABLE_NAME_ARG, workingVar);
-        
-        SInstruction jumpInstruction = new JumpEqualVariableInstruction(variable, label, jumpArgs, this);
+        SInstruction jumpInstruction = new JumpEqualVariableInstruction(variable, label, jumpLabel, workingVar, this);
         expandedInstructions.add(jumpInstruction);
         
         return expandedInstructions;
     }
     
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.JE_FUNCTION_LABEL_ARG, jumpLabel,
+                      SEmulatorConstants.FUNCTION_NAME_ARG, functionName,
+                      SEmulatorConstants.FUNCTION_ARGUMENTS_ARG, functionArguments);
+    }
+    
+    @Override
+    public String getTargetLabel() {
+        return jumpLabel;
+    }
+    
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+    
+    @Override
+    public String getFunctionArguments() {
+        return functionArguments;
+    }
+    
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        JumpEqualFunctionInstruction instruction = new JumpEqualFunctionInstruction(variable, label, targetLabel,
+            functionName, functionArguments, sourceInstruction);
+        instruction.linkedCall = linkedCall;
+        return instruction;
+    }
+
+    public void link(LinkedCall linkedCall) {
+        this.linkedCall = linkedCall;
+    }
+
+    public LinkedCall getLinkedCall() {
+        return linkedCall;
+    }
+    
     @Override
     public String getDisplayFormat() {
-        String jumpLabel = arguments.get(SEmulatorConstants.JE_FUNCTION_LABEL_ARG);
-        String functionName = arguments.get(SEmulatorConstants.FUNCTION_NAME_ARG);
-        String functionArgs = arguments.get(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG);
-        
-        if (functionArgs == null || functionArgs.trim().isEmpty()) {
+        if (functionArguments == null || functionArguments.trim().isEmpty()) {
             return "IF " + variable + " = (" + functionName + ") GOTO " + jumpLabel;
         } else {
-            return "IF " + variable + " = (" + functionName + "," + functionArgs + ") GOTO " + jumpLabel;
+            return "IF " + variable + " = (" + functionName + "," + functionArguments + ") GOTO " + jumpLabel;
         }
     }
     
@@ -96,6 +126,20 @@ public class JumpEqualFunctionInstruction extends BaseInstruction {
     }
     
     private void executeVirtual(engine.execution.ExecutionContext context) {
+        if (linkedCall != null) {
+            BigInteger functionResult;
+            try {
+                functionResult = linkedCall.invoke(context);
+            } catch (Exception e) {
+                throw new UnsupportedOperationException("Virtual execution failed for JUMP_EQUAL_FUNCTION instruction", e);
+            }
+            if (context.getVariableManager().getBigValue(variable).equals(functionResult)) {
+                context.jumpToLabel(jumpLabel);
+            }
+            context.addCycles(getCycles());
+            return;
+        }
+
         try {
             if (context.getFunctionRegistry() == null) {
                 throw new UnsupportedOperationException("Function registry not available for virtual execution");
@@ -105,14 +149,6 @@ public class JumpEqualFunctionInstruction extends BaseInstruction {
                 throw new UnsupportedOperationException("Function registry is empty - no functions available");
             }
             
-            String jumpLabel = arguments.get(SEmulatorConstants.JE_FUNCTION_LABEL_ARG);
-            String functionName = arguments.get(SEmulatorConstants.FUNCTION_NAME_ARG);
-            String functionArguments = arguments.get(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG);
-            
-            if (jumpLabel == null) {
-                throw new UnsupportedOperationException("JUMP_EQUAL_FUNCTION instruction requires JEFunctionLabel argument");
-            }
-            
             engine.api.SProgram functionProgram = context.getFunctionRegistry().getFunction(functionName);
             if (functionProgram == null) {
                 throw new UnsupportedOperationException("Function not found: " + functionName);
@@ -121,10 +157,7 @@ public class JumpEqualFunctionInstruction extends BaseInstruction {
             String workingVar = generateUniqueVariable();
             executeFunctionCallVirtual(functionProgram, functionArguments, workingVar, context);
             
-            int variableValue = context.getVariableManager().getValue(variable);
-            int functionResult = context.getVariableManager().getValue(workingVar);
-            
-            if (variableValue == functionResult) {
+            if (context.getVariableManager().valuesEqual(variable, workingVar)) {
                 context.jumpToLabel(jumpLabel);
             }
             
@@ -145,8 +178,8 @@ public class JumpEqualFunctionInstruction extends BaseInstruction {
         
         executeFunctionProgram(functionProgram, functionContext);
         
-        int result = functionContext.getVariableManager().getYValue();
-        context.getVariableManager().setValue(resultVariable, result);
+        BigInteger result = functionContext.getVariableManager().getYValue();
+        context.getVariableManager().setBigValue(resultVariable, result);
     }
     
     private List<String> parseFunctionArguments(String argumentsStr) {
@@ -187,7 +220,7 @@ public class JumpEqualFunctionInstruction extends BaseInstruction {
     private engine.execution.ExecutionContext createFunctionExecutionContext(engine.api.SProgram functionProgram, 
                                                                            List<String> functionArgs, 
                                                                            engine.execution.ExecutionContext mainContext) {
-        engine.execution.ExecutionContext functionContext = new engine.execution.ExecutionContext();
+        engine.execution.ExecutionContext functionContext = new engine.execution.ExecutionContext(mainContext.getValueMode());
         
         functionContext.enableDebugMode();
         functionContext.enableVirtualExecutionMode();
@@ -198,8 +231,8 @@ public class JumpEqualFunctionInstruction extends BaseInstruction {
             String inputVar = inputVariables.get(i);
             String argValue = functionArgs.get(i);
             
-            int value = mainContext.getVariableManager().getValue(argValue);
-            functionContext.getVariableManager().setValue(inputVar, value);
+            BigInteger value = mainContext.getVariableManager().getBigValue(argValue);
+            functionContext.getVariableManager().setBigValue(inputVar, value);
         }
         
         Map<String, Integer> labelToIndexMap = buildLabelToIndexMap(functionProgram.getInstructions());
@@ -18,31 +18,37 @@ public class JumpEqualVariableInstruction extends BaseInstruction {
     
     public JumpEqualVariableInstruction(String variable, String label, Map<String, String> arguments, 
                                        SInstruction sourceInstruction) {
-        super(SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME, InstructionType.SYNTHETIC, variable, label, arguments, 
+        this(variable, label, requireJumpLabel(arguments), arguments.get(SEmulatorConstants.VARIABLE_NAME_ARG),
+             sourceInstruction);
+    }
+
+    public JumpEqualVariableInstruction(String variable, String label, String jumpLabel, String comparedVariable,
+                                       SInstruction sourceInstruction) {
+        super(SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME, InstructionType.SYNTHETIC, variable, label, 
               SEmulatorConstants.JUMP_EQUAL_VARIABLE_CYCLES, sourceInstruction);
         
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.JE_VARIABLE_LABEL_ARG) || !arguments.containsKey(SEmulatorConstants.VARIABLE_NAME_ARG)) {
-            throw new IllegalArgumentException("JUMP_EQUAL_VARIABLE instruction requires 'JEVariableLabel' and 'variableName' arguments");
-        }
-        
-        this.jumpLabel = arguments.get(SEmulatorConstants.JE_VARIABLE_LABEL_ARG);
         if (jumpLabel == null || jumpLabel.trim().isEmpty()) {
             throw new IllegalArgumentException("JEVariableLabel cannot be null or empty");
         }
-        
-        this.comparedVariable = arguments.get(SEmulatorConstants.VARIABLE_NAME_ARG);
         if (comparedVariable == null || comparedVariable.trim().isEmpty()) {
             throw new IllegalArgumentException("variableName cannot be null or empty");
         }
+        this.jumpLabel = jumpLabel;
+        this.comparedVariable = comparedVariable;
+    }
+
+    private static String requireJumpLabel(Map<String, String> arguments) {
+        if (arguments == null || !arguments.containsKey(SEmulatorConstants.JE_VARIABLE_LABEL_ARG) || !arguments.containsKey(SEmulatorConstants.VARIABLE_NAME_ARG)) {
+            throw new IllegalArgumentException("JUMP_EQUAL_VARIABLE instruction requires 'JEVariableLabel' and 'variableName' arguments");
+        }
+        return arguments.get(SEmulatorConstants.JE_VARIABLE_LABEL_ARG);
     }
 
     @Override
     protected void executeInstruction(ExecutionContext context) {
         context.addCycles(cycles);
         
-        int variableValue = context.getVariableManager().getValue(variable);
-        int comparedValue = context.getVariableManager().getValue(comparedVariable);
-        if (variableValue == comparedValue) {
+        if (context.getVariableManager().valuesEqual(variable, comparedVariable)) {
             context.jumpToLabel(jumpLabel);
         }
     }
@@ -63,22 +69,22 @@ public class JumpEqualVariableInstruction extends BaseInstruction {
         String skipLabel = context.getUniqueLabel();
         
         AssignmentInstruction copyV = new AssignmentInstruction(
-            workingVariable1, null, Map.of(SEmulatorConstants.ASSIGNED_VARIABLE_ARG, variable), this
+            workingVariable1, null, variable, this
         );
         expandedInstructions.add(copyV);
         
         AssignmentInstruction copyVPrime = new AssignmentInstruction(
-            workingVariable2, null, Map.of(SEmulatorConstants.ASSIGNED_VARIABLE_ARG, comparedVariable), this
+            workingVariable2, null, comparedVariable, this
         );
         expandedInstructions.add(copyVPrime);
         
         JumpZeroInstruction checkZ1Zero = new JumpZeroInstruction(
-            workingVariable1, compareLoopLabel, Map.of(SEmulatorConstants.JZ_LABEL_ARG, checkSecondLabel), this
+            workingVariable1, compareLoopLabel, checkSecondLabel, this
         );
         expandedInstructions.add(checkZ1Zero);
         
         JumpZeroInstruction checkZ2Zero = new JumpZeroInstruction(
-            workingVariable2, null, Map.of(SEmulatorConstants.JZ_LABEL_ARG, skipLabel), this
+            workingVariable2, null, skipLabel, this
         );
         expandedInstructions.add(checkZ2Zero);
         
@@ -93,12 +99,12 @@ public class JumpEqualVariableInstruction extends BaseInstruction {
         expandedInstructions.add(decreaseZ2);
         
         GotoLabelInstruction loopBack = new GotoLabelInstruction(
-            workingVariable1, null, Map.of(SEmulatorConstants.GOTO_LABEL_ARG, compareLoopLabel), this
+            workingVariable1, null, compareLoopLabel, this
         );
         expandedInstructions.add(loopBack);
         
         JumpZeroInstruction checkBothZero = new JumpZeroInstruction(
-            workingVariable2, checkSecondLabel, Map.of(SEmulatorConstants.JZ_LABEL_ARG, jumpLabel), this
+            workingVariable2, checkSecondLabel, jumpLabel, this
         );
         expandedInstructions.add(checkBothZero);
         
@@ -110,6 +116,28 @@ public class JumpEqualVariableInstruction extends BaseInstruction {
         return expandedInstructions;
     }
 
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.JE_VARIABLE_LABEL_ARG, jumpLabel,
+                      SEmulatorConstants.VARIABLE_NAME_ARG, comparedVariable);
+    }
+
+    @Override
+    public String getTargetLabel() {
+        return jumpLabel;
+    }
+
+    @Override
+    public String getSourceVariable() {
+        return comparedVariable;
+    }
+
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new JumpEqualVariableInstruction(variable, label, targetLabel, sourceVariable, sourceInstruction);
+    }
+
     public String getJumpLabel() {
         return jumpLabel;
     }
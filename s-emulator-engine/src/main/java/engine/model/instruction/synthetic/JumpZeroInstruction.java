@@ -17,25 +17,26 @@ public class JumpZeroInstruction extends BaseInstruction {
     
     public JumpZeroInstruction(String variable, String label, Map<String, String> arguments, 
                              SInstruction sourceInstruction) {
-        super(SEmulatorConstants.JUMP_ZERO_NAME, InstructionType.SYNTHETIC, variable, label, arguments, 
+        this(variable, label, requireArgument(arguments, SEmulatorConstants.JZ_LABEL_ARG,
+                "JUMP_ZERO instruction requires 'JZLabel' argument"), sourceInstruction);
+    }
+
+    public JumpZeroInstruction(String variable, String label, String jumpLabel,
+                             SInstruction sourceInstruction) {
+        super(SEmulatorConstants.JUMP_ZERO_NAME, InstructionType.SYNTHETIC, variable, label, 
               SEmulatorConstants.JUMP_ZERO_CYCLES, sourceInstruction);
         
-        if (arguments == null || !arguments.containsKey(SEmulatorConstants.JZ_LABEL_ARG)) {
-            throw new IllegalArgumentException("JUMP_ZERO instruction requires 'JZLabel' argument");
-        }
-        
-        this.jumpLabel = arguments.get(SEmulatorConstants.JZ_LABEL_ARG);
         if (jumpLabel == null || jumpLabel.trim().isEmpty()) {
             throw new IllegalArgumentException("JZLabel cannot be null or empty");
         }
+        this.jumpLabel = jumpLabel;
     }
 
     @Override
     protected void executeInstruction(ExecutionContext context) {
         context.addCycles(cycles);
         
-        int variableValue = context.getVariableManager().getValue(variable);
-        if (variableValue == 0) {
+        if (context.getVariableManager().isZero(variable)) {
             context.jumpToLabel(jumpLabel);
         }
     }
@@ -55,7 +56,7 @@ public class JumpZeroInstruction extends BaseInstruction {
         JumpNotZeroInstruction skipJump = new JumpNotZeroInstruction(
             variable,
             null,
-            Map.of(SEmulatorConstants.JNZ_LABEL_ARG, skipLabel),
+            skipLabel,
             this
         );
         expandedInstructions.add(skipJump);
@@ -63,7 +64,7 @@ public class JumpZeroInstruction extends BaseInstruction {
         GotoLabelInstruction doJump = new GotoLabelInstruction(
             workingVariable,
             null,
-            Map.of(SEmulatorConstants.GOTO_LABEL_ARG, jumpLabel),
+            jumpLabel,
             this
         );
         expandedInstructions.add(doJump);
@@ -79,6 +80,22 @@ public class JumpZeroInstruction extends BaseInstruction {
         return expandedInstructions;
     }
 
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.JZ_LABEL_ARG, jumpLabel);
+    }
+
+    @Override
+    public String getTargetLabel() {
+        return jumpLabel;
+    }
+
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new JumpZeroInstruction(variable, label, targetLabel, sourceInstruction);
+    }
+
     public String getJumpLabel() {
         return jumpLabel;
     }
@@ -1,13 +1,14 @@
 package engine.model.instruction.synthetic;
 
 import engine.api.SInstruction;
-import engine.api.SProgram;
 import engine.expansion.ExpansionContext;
+import engine.expansion.FunctionTemplate;
+import engine.link.LinkedCall;
 import engine.model.InstructionType;
 import engine.model.SEmulatorConstants;
 import engine.model.instruction.BaseInstruction;
-import engine.model.instruction.InstructionFactory;
 import engine.util.CompositionParser;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -17,34 +18,65 @@ public class QuoteInstruction extends BaseInstruction {
     
     private final String functionName;
     private final String functionArguments;
+    private LinkedCall linkedCall;
     
     public QuoteInstruction(String variable, String label, Map<String, String> arguments) {
-        super(SEmulatorConstants.QUOTE_NAME, InstructionType.SYNTHETIC, 
-              variable, label, arguments, SEmulatorConstants.QUOTE_CYCLES);
-        
-        validateArguments();
-        this.functionName = arguments.get(SEmulatorConstants.FUNCTION_NAME_ARG);
-        this.functionArguments = arguments.get(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG);
+        this(variable, label, arguments, null);
     }
     
     public QuoteInstruction(String variable, String label, Map<String, String> arguments, 
                            SInstruction sourceInstruction) {
-        super(SEmulatorConstants.QUOTE_NAME, InstructionType.SYNTHETIC, 
-              variable, label, arguments, SEmulatorConstants.QUOTE_CYCLES, sourceInstruction);
-        
-        validateArguments();
-        this.functionName = arguments.get(SEmulatorConstants.FUNCTION_NAME_ARG);
-        this.functionArguments = arguments.get(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG);
+        this(variable, label,
+             requireArgument(arguments, SEmulatorConstants.FUNCTION_NAME_ARG, "QUOTE instruction requires functionName argument"),
+             requireArgument(arguments, SEmulatorConstants.FUNCTION_ARGUMENTS_ARG, "QUOTE instruction requires functionArguments argument"),
+             sourceInstruction);
     }
     
-    private void validateArguments() {
-        if (!arguments.containsKey(SEmulatorConstants.FUNCTION_NAME_ARG)) {
+    public QuoteInstruction(String variable, String label, String functionName, String functionArguments,
+                           SInstruction sourceInstruction) {
+        super(SEmulatorConstants.QUOTE_NAME, InstructionType.SYNTHETIC, 
+              variable, label, SEmulatorConstants.QUOTE_CYCLES, sourceInstruction);
+        
+        if (functionName == null) {
             throw new IllegalArgumentException("QUOTE instruction requires functionName argument");
         }
-        
-        if (!arguments.containsKey(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG)) {
+        if (functionArguments == null) {
             throw new IllegalArgumentException("QUOTE instruction requires functionArguments argument");
         }
+        this.functionName = functionName;
+        this.functionArguments = functionArguments;
+    }
+    
+    @Override
+    protected Map<String, String> describeArguments() {
+        return Map.of(SEmulatorConstants.FUNCTION_NAME_ARG, functionName,
+                      SEmulatorConstants.FUNCTION_ARGUMENTS_ARG, functionArguments);
+    }
+    
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+    
+    @Override
+    public String getFunctionArguments() {
+        return functionArguments;
+    }
+    
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        QuoteInstruction instruction = new QuoteInstruction(variable, label, functionName, functionArguments, sourceInstruction);
+        instruction.linkedCall = linkedCall;
+        return instruction;
+    }
+
+    public void link(LinkedCall linkedCall) {
+        this.linkedCall = linkedCall;
+    }
+
+    public LinkedCall getLinkedCall() {
+        return linkedCall;
     }
     
     @Override
@@ -91,7 +123,6 @@ public class QuoteInstruction extends BaseInstruction {
             CompositionParser.FunctionCall functionCall = functionCalls.get(0);
             
             String resultVar = context.getUniqueWorkingVariable();
-            context.markVariableAsUsed(resultVar);
             
             expandSingleFunction(functionCall.getFunctionName(), functionCall.getArguments(), 
                                resultVar, expandedInstructions, context);
@@ -106,157 +137,12 @@ public class QuoteInstruction extends BaseInstruction {
     private void expandSingleFunction(String functionName, List<String> args, String resultVar, 
                                     List<SInstruction> expandedInstructions, ExpansionContext context) {
 
-        SProgram functionProgram = context.getFunctionRegistry().getFunction(functionName);
-        if (functionProgram == null) {
+        FunctionTemplate template = context.getFunctionRegistry().getFunctionTemplate(functionName);
+        if (template == null) {
             throw new IllegalArgumentException("Function not found: " + functionName);
         }
         
-        Map<String, String> variableMapping = createVariableMapping(args, context);
-        
-        Map<String, String> labelMapping = createLabelMapping(functionProgram, context);
-        String endLabel = context.getUniqueLabel();
-        context.markLabelAsUsed(endLabel);
-        
-        createInputAssignments(args, variableMapping, expandedInstructions);
-        
-        addSubstitutedInstructions(functionProgram, variableMapping, labelMapping, endLabel, expandedInstructions);
-        
-        createResultAssignment(variableMapping.get("y"), resultVar, endLabel, expandedInstructions);
-    }
-    
-    private Map<String, String> createVariableMapping(List<String> args, ExpansionContext context) {
-        Map<String, String> mapping = new HashMap<>();
-        
-        for (int i = 0; i < args.size(); i++) {
-            String inputVar = "x" + (i + 1);
-            String uniqueVar = context.getUniqueWorkingVariable();
-            mapping.put(inputVar, uniqueVar);
-            context.markVariableAsUsed(uniqueVar);
-        }
-        
-        String yVar = context.getUniqueWorkingVariable();
-        mapping.put("y", yVar);
-        context.markVariableAsUsed(yVar);
-        
-        return mapping;
-    }
-    
-    private Map<String, String> createLabelMapping(SProgram functionProgram, ExpansionContext context) {
-        Map<String, String> labelMapping = new HashMap<>();
-        
-        for (String label : functionProgram.getLabels()) {
-            if (!label.equals(SEmulatorConstants.EXIT_LABEL)) {
-                String uniqueLabel = context.getUniqueLabel();
-                labelMapping.put(label, uniqueLabel);
-                context.markLabelAsUsed(uniqueLabel);
-            }
-        }
-        
-        return labelMapping;
-    }
-    
-    private void createInputAssignments(List<String> args, Map<String, String> variableMapping, 
-                                      List<SInstruction> expandedInstructions) {
-        for (int i = 0; i < args.size(); i++) {
-            String inputVar = "x" + (i + 1);
-            String uniqueVar = variableMapping.get(inputVar);
-            String sourceVar = args.get(i);
-            
-            Map<String, String> assignmentArgs = new HashMap<>();
-            assignmentArgs.put(SEmulatorConstants.ASSIGNED_VARIABLE_ARG, sourceVar);
-            
-            SInstruction assignment = new AssignmentInstruction(uniqueVar, null, assignmentArgs, this);
-            expandedInstructions.add(assignment);
-        }
-    }
-    
-    private void addSubstitutedInstructions(SProgram functionProgram, Map<String, String> variableMapping,
-                                          Map<String, String> labelMapping, String endLabel,
-                                          List<SInstruction> expandedInstructions) {
-        
-        for (SInstruction instruction : functionProgram.getInstructions()) {
-            SInstruction substituted = substituteInstruction(instruction, variableMapping, labelMapping, endLabel);
-            expandedInstructions.add(substituted);
-        }
-    }
-    
-    private void createResultAssignment(String yVar, String resultVar, String endLabel,
-                                      List<SInstruction> expandedInstructions) {
-        Map<String, String> assignmentArgs = new HashMap<>();
-        assignmentArgs.put(SEmulatorConstants.ASSIGNED_VARIABLE_ARG, yVar);
-        
-        SInstruction resultAssignment = new AssignmentInstruction(resultVar, endLabel, assignmentArgs, this);
-        expandedInstructions.add(resultAssignment);
-    }
-    
-    private SInstruction substituteInstruction(SInstruction instruction, Map<String, String> variableMapping,
-                                             Map<String, String> labelMapping, String endLabel) {
-        try {
-            String newVariable = substituteVariable(instruction.getVariable(), variableMapping);
-            
-            String newLabel = substituteLabel(instruction.getLabel(), labelMapping);
-            
-            Map<String, String> newArguments = substituteArguments(instruction.getArguments(), 
-                                                                  variableMapping, labelMapping, endLabel);
-            
-            return InstructionFactory.createInstruction(
-                instruction.getName(), newVariable, newLabel, newArguments);
-                
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to substitute instruction: " + 
-                instruction.getDisplayFormat(), e);
-        }
-    }
-    
-    private String substituteVariable(String variable, Map<String, String> variableMapping) {
-        if (variable == null) {
-            return null;
-        }
-        return variableMapping.getOrDefault(variable, variable);
-    }
-    
-    private String substituteLabel(String label, Map<String, String> labelMapping) {
-        if (label == null) {
-            return null;
-        }
-        return labelMapping.getOrDefault(label, label);
-    }
-    
-    private Map<String, String> substituteArguments(Map<String, String> arguments, 
-                                                   Map<String, String> variableMapping,
-                                                   Map<String, String> labelMapping, 
-                                                   String endLabel) {
-        Map<String, String> newArguments = new HashMap<>();
-        
-        for (Map.Entry<String, String> entry : arguments.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            String newValue = value;
-            
-            if (key.equals(SEmulatorConstants.ASSIGNED_VARIABLE_ARG) || 
-                key.equals(SEmulatorConstants.VARIABLE_NAME_ARG)) {
-                if (variableMapping.containsKey(value)) {
-                    newValue = substituteVariable(value, variableMapping);
-                }
-            }
-            else if (key.equals(SEmulatorConstants.JNZ_LABEL_ARG) || 
-                     key.equals(SEmulatorConstants.JZ_LABEL_ARG) ||
-                     key.equals(SEmulatorConstants.GOTO_LABEL_ARG) ||
-                     key.equals(SEmulatorConstants.JE_CONSTANT_LABEL_ARG) ||
-                     key.equals(SEmulatorConstants.JE_VARIABLE_LABEL_ARG) ||
-                     key.equals(SEmulatorConstants.JE_FUNCTION_LABEL_ARG)) {
-                
-                if (SEmulatorConstants.EXIT_LABEL.equals(value)) {
-                    newValue = endLabel;
-                } else {
-                    newValue = substituteLabel(value, labelMapping);
-                }
-            }
-            
-            newArguments.put(key, newValue);
-        }
-        
-        return newArguments;
+        template.instantiate(args, resultVar, this, context, expandedInstructions);
     }
     
     private List<String> parseFunctionArguments(String argumentsStr) {
@@ -313,6 +199,16 @@ public class QuoteInstruction extends BaseInstruction {
     }
     
     private void executeVirtual(engine.execution.ExecutionContext context) {
+        if (linkedCall != null) {
+            try {
+                context.getVariableManager().setBigValue(variable, linkedCall.invoke(context));
+            } catch (Exception e) {
+                throw new UnsupportedOperationException("Virtual execution failed for QUOTE instruction", e);
+            }
+            context.addCycles(getCycles());
+            return;
+        }
+
         try {
             if (context.getFunctionRegistry() == null) {
                 throw new UnsupportedOperationException("Function registry not available for virtual execution");
@@ -463,14 +359,14 @@ public class QuoteInstruction extends BaseInstruction {
         
         executeFunctionProgram(functionProgram, functionContext);
         
-        int result = functionContext.getVariableManager().getYValue();
-        context.getVariableManager().setValue(resultVariable, result);
+        BigInteger result = functionContext.getVariableManager().getYValue();
+        context.getVariableManager().setBigValue(resultVariable, result);
     }
     
     private engine.execution.ExecutionContext createFunctionExecutionContext(engine.api.SProgram functionProgram, 
                                                                            List<String> functionArgs, 
                                                                            engine.execution.ExecutionContext mainContext) {
-        engine.execution.ExecutionContext functionContext = new engine.execution.ExecutionContext();
+        engine.execution.ExecutionContext functionContext = new engine.execution.ExecutionContext(mainContext.getValueMode());
         
         functionContext.enableDebugMode();
         
@@ -483,8 +379,8 @@ public class QuoteInstruction extends BaseInstruction {
             String inputVar = inputVariables.get(i);
             String argValue = functionArgs.get(i);
             
-            int value = mainContext.getVariableManager().getValue(argValue);
-            functionContext.getVariableManager().setValue(inputVar, value);
+            BigInteger value = mainContext.getVariableManager().getBigValue(argValue);
+            functionContext.getVariableManager().setBigValue(inputVar, value);
         }
         
         Map<String, Integer> labelToIndexMap = buildLabelToIndexMap(functionProgram.getInstructions());
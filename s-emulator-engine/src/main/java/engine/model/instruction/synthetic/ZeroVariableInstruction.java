@@ -16,7 +16,7 @@ public class ZeroVariableInstruction extends BaseInstruction {
     
     public ZeroVariableInstruction(String variable, String label, Map<String, String> arguments, 
                                  SInstruction sourceInstruction) {
-        super(SEmulatorConstants.ZERO_VARIABLE_NAME, InstructionType.SYNTHETIC, variable, label, arguments, 
+        super(SEmulatorConstants.ZERO_VARIABLE_NAME, InstructionType.SYNTHETIC, variable, label, 
               SEmulatorConstants.ZERO_VARIABLE_CYCLES, sourceInstruction);
     }
 
@@ -47,7 +47,7 @@ public class ZeroVariableInstruction extends BaseInstruction {
         JumpNotZeroInstruction jumpInstruction = new JumpNotZeroInstruction(
             variable,
             null,
-            Map.of(SEmulatorConstants.JNZ_LABEL_ARG, loopLabel),
+            loopLabel,
             this
         );
         
@@ -57,4 +57,10 @@ public class ZeroVariableInstruction extends BaseInstruction {
         return expandedInstructions;
     }
 
+    @Override
+    public SInstruction withOperands(String variable, String label, String targetLabel,
+                                     String sourceVariable, SInstruction sourceInstruction) {
+        return new ZeroVariableInstruction(variable, label, Map.of(), sourceInstruction);
+    }
+
 }
@@ -0,0 +1,63 @@
+package engine.reload;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class DefinitionFingerprint {
+    private final MessageDigest digest;
+
+    public DefinitionFingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String of(SProgram program) {
+        if (program == null) {
+            throw new IllegalArgumentException("Program cannot be null");
+        }
+        DefinitionFingerprint fingerprint = new DefinitionFingerprint();
+        for (SInstruction instruction : program.getInstructions()) {
+            fingerprint.add(instruction.getName(), instruction.getVariable(), instruction.getLabel(), instruction.getArguments());
+        }
+        return fingerprint.digest();
+    }
+
+    public DefinitionFingerprint add(String name, String variable, String label, Map<String, String> arguments) {
+        update(name != null ? name.trim().toUpperCase(Locale.ENGLISH) : null);
+        update(variable);
+        update(label);
+        if (arguments != null) {
+            Map<String, String> sorted = new TreeMap<>();
+            for (Map.Entry<String, String> argument : arguments.entrySet()) {
+                sorted.put(argument.getKey().trim(), argument.getValue());
+            }
+            for (Map.Entry<String, String> argument : sorted.entrySet()) {
+                update(argument.getKey());
+                update(argument.getValue());
+            }
+        }
+        digest.update((byte) '\n');
+        return this;
+    }
+
+    public String digest() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void update(String value) {
+        if (value != null) {
+            digest.update(value.trim().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
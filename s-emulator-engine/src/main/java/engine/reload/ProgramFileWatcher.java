@@ -0,0 +1,93 @@
+package engine.reload;
+
+import engine.model.SEmulatorConstants;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+public class ProgramFileWatcher implements AutoCloseable {
+    private final Path file;
+    private final Runnable onChange;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public ProgramFileWatcher(Path file, Runnable onChange) throws IOException {
+        this(file, onChange, SEmulatorConstants.HOT_RELOAD_DEBOUNCE_MILLIS);
+    }
+
+    public ProgramFileWatcher(Path file, Runnable onChange, long debounceMillis) throws IOException {
+        if (file == null || onChange == null) {
+            throw new IllegalArgumentException("File and change callback cannot be null");
+        }
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Debounce interval cannot be negative: " + debounceMillis);
+        }
+
+        this.file = file.toAbsolutePath().normalize();
+        this.onChange = onChange;
+        this.debounceMillis = debounceMillis;
+        Path directory = this.file.getParent();
+        this.watchService = directory.getFileSystem().newWatchService();
+        try {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+
+        this.thread = new Thread(this::watch, "program-file-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take());
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(key);
+                }
+                if (changed) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        continue;
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package engine.reload;
+
+import engine.api.SInstruction;
+import engine.api.SProgram;
+import engine.exception.LoadException;
+import engine.link.CallGraph;
+import engine.link.ProgramLinker;
+import engine.model.FunctionRegistry;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ProgramReloader {
+    private final ProgramLinker programLinker;
+
+    public ProgramReloader() {
+        this.programLinker = new ProgramLinker();
+    }
+
+    public ReloadReport reload(SProgram current, SProgram reloaded) throws LoadException {
+        if (current == null || reloaded == null) {
+            throw new IllegalArgumentException("Programs cannot be null");
+        }
+
+        FunctionRegistry previous = registryOf(current);
+        FunctionRegistry next = registryOf(reloaded);
+        Set<String> added = new TreeSet<>();
+        Set<String> removed = new TreeSet<>();
+        Set<String> changed = new TreeSet<>();
+        Set<String> reused = new TreeSet<>();
+        Set<String> functionNames = new TreeSet<>(next.getAllFunctionNames());
+        for (String functionName : functionNames) {
+            if (!previous.functionExists(functionName)) {
+                added.add(functionName);
+            } else if (Objects.equals(previous.getFunctionDisplayName(functionName), next.getFunctionDisplayName(functionName)) &&
+                       Objects.equals(previous.getFunctionFingerprint(functionName), next.getFunctionFingerprint(functionName))) {
+                reused.add(functionName);
+            } else {
+                changed.add(functionName);
+            }
+        }
+        for (String functionName : previous.getAllFunctionNames()) {
+            if (!next.functionExists(functionName)) {
+                removed.add(functionName);
+            }
+        }
+
+        int changedInstructions = countChangedInstructions(current.getInstructions(), reloaded.getInstructions());
+        boolean programChanged = changedInstructions > 0 || !current.getName().equals(reloaded.getName());
+        if (!programChanged && added.isEmpty() && removed.isEmpty() && changed.isEmpty()) {
+            return new ReloadReport(current, false, 0, added, removed, changed, reused, Set.of());
+        }
+
+        FunctionRegistry merged = new FunctionRegistry();
+        for (String functionName : functionNames) {
+            merged.adoptFunction(functionName, reused.contains(functionName) ? previous : next);
+        }
+        SProgram program = programChanged ? reloaded : current;
+        program.setFunctionRegistry(merged);
+        CallGraph callGraph;
+        try {
+            callGraph = programLinker.link(program);
+        } catch (LoadException | RuntimeException e) {
+            current.setFunctionRegistry(previous);
+            programLinker.link(current);
+            throw e;
+        }
+
+        Set<String> modified = new HashSet<>(changed);
+        modified.addAll(added);
+        return new ReloadReport(program, programChanged, changedInstructions, added, removed, changed, reused,
+            dependentsOf(callGraph, modified, reused));
+    }
+
+    private static FunctionRegistry registryOf(SProgram program) {
+        FunctionRegistry registry = program.getFunctionRegistry();
+        return registry != null ? registry : new FunctionRegistry();
+    }
+
+    private static int countChangedInstructions(List<SInstruction> before, List<SInstruction> after) {
+        int common = Math.min(before.size(), after.size());
+        int prefix = 0;
+        while (prefix < common && sameInstruction(before.get(prefix), after.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < common - prefix &&
+               sameInstruction(before.get(before.size() - 1 - suffix), after.get(after.size() - 1 - suffix))) {
+            suffix++;
+        }
+        return Math.max(before.size(), after.size()) - prefix - suffix;
+    }
+
+    private static boolean sameInstruction(SInstruction before, SInstruction after) {
+        return before == after ||
+               before.getName().equals(after.getName()) &&
+               Objects.equals(before.getVariable(), after.getVariable()) &&
+               Objects.equals(before.getLabel(), after.getLabel()) &&
+               before.getArguments().equals(after.getArguments());
+    }
+
+    private static Set<String> dependentsOf(CallGraph callGraph, Set<String> modified, Set<String> reused) {
+        Map<String, Set<String>> callers = new HashMap<>();
+        for (String caller : callGraph.getCallers()) {
+            for (String callee : callGraph.getCallees(caller)) {
+                callers.computeIfAbsent(callee, name -> new HashSet<>()).add(caller);
+            }
+        }
+
+        Set<String> dependents = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(modified);
+        while (!pending.isEmpty()) {
+            for (String caller : callers.getOrDefault(pending.pop(), Set.of())) {
+                if (reused.contains(caller) && dependents.add(caller)) {
+                    pending.push(caller);
+                }
+            }
+        }
+        return dependents;
+    }
+}
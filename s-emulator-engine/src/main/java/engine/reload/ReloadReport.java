@@ -0,0 +1,79 @@
+package engine.reload;
+
+import engine.api.SProgram;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class ReloadReport {
+    private final SProgram program;
+    private final boolean programChanged;
+    private final int changedInstructionCount;
+    private final Set<String> addedFunctions;
+    private final Set<String> removedFunctions;
+    private final Set<String> changedFunctions;
+    private final Set<String> reusedFunctions;
+    private final Set<String> dependentFunctions;
+
+    ReloadReport(SProgram program, boolean programChanged, int changedInstructionCount, Set<String> addedFunctions,
+                 Set<String> removedFunctions, Set<String> changedFunctions, Set<String> reusedFunctions,
+                 Set<String> dependentFunctions) {
+        this.program = program;
+        this.programChanged = programChanged;
+        this.changedInstructionCount = changedInstructionCount;
+        this.addedFunctions = copyOf(addedFunctions);
+        this.removedFunctions = copyOf(removedFunctions);
+        this.changedFunctions = copyOf(changedFunctions);
+        this.reusedFunctions = copyOf(reusedFunctions);
+        this.dependentFunctions = copyOf(dependentFunctions);
+    }
+
+    private static Set<String> copyOf(Set<String> names) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(names));
+    }
+
+    public SProgram getProgram() {
+        return program;
+    }
+
+    public boolean isProgramChanged() {
+        return programChanged;
+    }
+
+    public int getChangedInstructionCount() {
+        return changedInstructionCount;
+    }
+
+    public Set<String> getAddedFunctions() {
+        return addedFunctions;
+    }
+
+    public Set<String> getRemovedFunctions() {
+        return removedFunctions;
+    }
+
+    public Set<String> getChangedFunctions() {
+        return changedFunctions;
+    }
+
+    public Set<String> getReusedFunctions() {
+        return reusedFunctions;
+    }
+
+    public Set<String> getDependentFunctions() {
+        return dependentFunctions;
+    }
+
+    public boolean isUnchanged() {
+        return !programChanged && addedFunctions.isEmpty() && removedFunctions.isEmpty() && changedFunctions.isEmpty();
+    }
+
+    public String getSummary() {
+        if (isUnchanged()) {
+            return "No changes in '" + program.getName() + "'";
+        }
+        return "Reloaded '" + program.getName() + "': " + changedInstructionCount + " instruction(s) changed, " +
+            changedFunctions.size() + " function(s) changed, " + addedFunctions.size() + " added, " +
+            removedFunctions.size() + " removed, " + reusedFunctions.size() + " reused";
+    }
+}
@@ -0,0 +1,153 @@
+package engine.xml;
+
+import engine.api.LoadProgressListener;
+import engine.api.LoadStage;
+import engine.exception.XMLValidationException;
+import engine.model.FunctionRegistry;
+import engine.model.SProgramImpl;
+import engine.reload.DefinitionFingerprint;
+import engine.xml.model.SInstructionArgumentXml;
+import engine.xml.model.SInstructionXml;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+final class FunctionConverter {
+    private final ForkJoinPool pool;
+    private final boolean lazy;
+    private final List<FunctionTask> tasks;
+
+    FunctionConverter(ForkJoinPool pool, boolean lazy) {
+        this.pool = pool;
+        this.lazy = lazy;
+        this.tasks = new ArrayList<>();
+    }
+
+    void submit(String name, String userString, List<SInstructionXml> instructions) {
+        FunctionTask task = new FunctionTask(name, userString, instructions, lazy);
+        tasks.add(task);
+        task.start(pool);
+    }
+
+    void registerAll(FunctionRegistry functionRegistry, LoadProgressListener listener) throws XMLValidationException {
+        try {
+            LoadProgressListener.report(listener, LoadStage.CONVERTING_FUNCTIONS, 0.0);
+            for (int i = 0; i < tasks.size(); i++) {
+                FunctionTask task = tasks.get(i);
+                task.join();
+                if (task.failure != null) {
+                    throw task.failure;
+                }
+                if (lazy) {
+                    functionRegistry.registerLazyFunction(task.name, task.userString, task::materialize, task::fingerprint);
+                } else {
+                    functionRegistry.registerFunction(task.name, task.userString, task.function);
+                }
+                LoadProgressListener.report(listener, LoadStage.CONVERTING_FUNCTIONS, (i + 1.0) / tasks.size());
+            }
+            LoadProgressListener.report(listener, LoadStage.CONVERTING_FUNCTIONS, 1.0);
+        } finally {
+            cancel();
+        }
+    }
+
+    void cancel() {
+        for (FunctionTask task : tasks) {
+            task.cancel();
+        }
+        tasks.clear();
+    }
+
+    private static final class FunctionTask {
+        private final String name;
+        private final String userString;
+        private final List<SInstructionXml> instructions;
+        private final boolean validateOnly;
+        private ForkJoinTask<?> conversion;
+        private SProgramImpl function;
+        private XMLValidationException failure;
+
+        private FunctionTask(String name, String userString, List<SInstructionXml> instructions, boolean validateOnly) {
+            this.name = name;
+            this.userString = userString;
+            this.instructions = instructions;
+            this.validateOnly = validateOnly;
+        }
+
+        private void start(ForkJoinPool pool) {
+            conversion = pool.submit(this::compute);
+        }
+
+        private void join() {
+            conversion.join();
+        }
+
+        private void cancel() {
+            conversion.cancel(false);
+        }
+
+        private void compute() {
+            try {
+                if (validateOnly) {
+                    validate();
+                } else {
+                    function = convert();
+                }
+            } catch (XMLValidationException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new XMLValidationException(e.getMessage(), e);
+            }
+        }
+
+        private SProgramImpl materialize() {
+            try {
+                return convert();
+            } catch (XMLValidationException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        private void validate() throws XMLValidationException {
+            ProgramAssembler validator = ProgramAssembler.validatorForFunction(name, userString);
+            if (instructions != null) {
+                for (SInstructionXml instruction : instructions) {
+                    validator.addInstruction(instruction);
+                }
+            }
+            validator.finishInstructions();
+        }
+
+        private String fingerprint() {
+            DefinitionFingerprint fingerprint = new DefinitionFingerprint();
+            if (instructions != null) {
+                for (SInstructionXml instruction : instructions) {
+                    Map<String, String> arguments = new HashMap<>();
+                    if (instruction.getSInstructionArguments() != null) {
+                        for (SInstructionArgumentXml argument : instruction.getSInstructionArguments().getSInstructionArgument()) {
+                            if (argument.getName() != null) {
+                                arguments.put(argument.getName(), argument.getValue());
+                            }
+                        }
+                    }
+                    fingerprint.add(instruction.getName(), instruction.getSVariable(), instruction.getSLabel(), arguments);
+                }
+            }
+            return fingerprint.digest();
+        }
+
+        private SProgramImpl convert() throws XMLValidationException {
+            ProgramAssembler assembler = ProgramAssembler.forFunction(name, userString);
+            if (instructions != null) {
+                for (SInstructionXml instruction : instructions) {
+                    assembler.addInstruction(instruction);
+                }
+            }
+            assembler.finishInstructions();
+            return assembler.complete(null);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package engine.xml;
+
+import engine.api.SInstruction;
+import engine.exception.XMLValidationException;
+import engine.model.FunctionRegistry;
+import engine.model.SEmulatorConstants;
+import engine.model.SProgramImpl;
+import engine.model.instruction.InstructionFactory;
+import engine.xml.model.SInstructionArgumentXml;
+import engine.xml.model.SInstructionXml;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+final class ProgramAssembler {
+    private final SProgramImpl program;
+    private final String functionName;
+    private final Set<String> definedLabels;
+    private final Set<String> referencedLabels;
+    private int instructionCount;
+
+    private ProgramAssembler(String name, String functionName, boolean converting) {
+        this.program = converting ? new SProgramImpl(name) : null;
+        this.functionName = functionName;
+        this.definedLabels = new HashSet<>();
+        this.referencedLabels = new HashSet<>();
+    }
+
+    static ProgramAssembler forProgram(String name) throws XMLValidationException {
+        if (name == null || name.trim().isEmpty()) {
+            throw new XMLValidationException("Program name cannot be null or empty");
+        }
+        return new ProgramAssembler(name.trim(), null, true);
+    }
+
+    static ProgramAssembler forFunction(String name, String userString) throws XMLValidationException {
+        return forFunction(name, userString, true);
+    }
+
+    static ProgramAssembler validatorForFunction(String name, String userString) throws XMLValidationException {
+        return forFunction(name, userString, false);
+    }
+
+    private static ProgramAssembler forFunction(String name, String userString, boolean converting) throws XMLValidationException {
+        if (name == null || name.trim().isEmpty()) {
+            throw new XMLValidationException("Function name cannot be null or empty");
+        }
+        if (userString == null || userString.trim().isEmpty()) {
+            throw new XMLValidationException("Function user-string cannot be null or empty");
+        }
+        return new ProgramAssembler(name.trim(), name, converting);
+    }
+
+    void addInstruction(SInstructionXml xmlInstruction) throws XMLValidationException {
+        validateInstruction(xmlInstruction);
+
+        if (xmlInstruction.getSLabel() != null && !xmlInstruction.getSLabel().trim().isEmpty()) {
+            String label = xmlInstruction.getSLabel().trim();
+            if (definedLabels.contains(label)) {
+                throw new XMLValidationException(functionName == null
+                    ? "Duplicate label found: " + label
+                    : "Duplicate label found in function '" + functionName + "': " + label);
+            }
+            definedLabels.add(label);
+        }
+
+        collectReferencedLabels(xmlInstruction, referencedLabels);
+        if (program != null) {
+            program.addInstruction(convertXmlInstructionToSInstruction(xmlInstruction));
+        } else {
+            checkConvertible(xmlInstruction);
+        }
+        instructionCount++;
+    }
+
+    void finishInstructions() throws XMLValidationException {
+        if (instructionCount == 0) {
+            throw new XMLValidationException(functionName == null
+                ? "Program must contain at least one instruction"
+                : "Function '" + functionName + "' must contain at least one instruction");
+        }
+        validateLabelReferences(definedLabels, referencedLabels);
+    }
+
+    SProgramImpl complete(FunctionRegistry functionRegistry) {
+        if (program == null) {
+            throw new IllegalStateException("Function '" + functionName + "' was only validated and has no program");
+        }
+        if (functionRegistry != null) {
+            program.setFunctionRegistry(functionRegistry);
+        }
+        program.validate();
+        program.freeze();
+        return program;
+    }
+
+    private void validateInstruction(SInstructionXml xmlInstruction) throws XMLValidationException {
+        if (xmlInstruction.getName() == null || xmlInstruction.getName().trim().isEmpty()) {
+            throw new XMLValidationException("Instruction name cannot be null or empty");
+        }
+
+        if (xmlInstruction.getType() == null || xmlInstruction.getType().trim().isEmpty()) {
+            throw new XMLValidationException("Instruction type cannot be null or empty");
+        }
+
+        String type = xmlInstruction.getType().trim();
+        if (!type.equals(SEmulatorConstants.INSTRUCTION_TYPE_BASIC) && !type.equals(SEmulatorConstants.INSTRUCTION_TYPE_SYNTHETIC)) {
+            throw new XMLValidationException("Invalid instruction type: " + type + ". Must be '" + SEmulatorConstants.INSTRUCTION_TYPE_BASIC + "' or '" + SEmulatorConstants.INSTRUCTION_TYPE_SYNTHETIC + "'");
+        }
+
+        if (xmlInstruction.getSVariable() == null || xmlInstruction.getSVariable().trim().isEmpty()) {
+            throw new XMLValidationException("Instruction variable cannot be null or empty");
+        }
+
+        String variable = xmlInstruction.getSVariable().trim();
+        if (!isValidVariableName(variable)) {
+            throw new XMLValidationException("Invalid variable name: " + variable + 
+                ". Must be 'y', 'x' followed by digits, or 'z' followed by digits");
+        }
+
+        if (xmlInstruction.getSLabel() != null && !xmlInstruction.getSLabel().trim().isEmpty()) {
+            String label = xmlInstruction.getSLabel().trim();
+            if (!SEmulatorConstants.LABEL_PATTERN.matcher(label).matches()) {
+                throw new XMLValidationException("Invalid label format: " + label + 
+                    ". Must be 'L' followed by digits or 'EXIT'");
+            }
+        }
+
+        validateInstructionArguments(xmlInstruction);
+    }
+
+    private boolean isValidVariableName(String variable) {
+        return SEmulatorConstants.Y_VARIABLE_PATTERN.matcher(variable).matches() ||
+               SEmulatorConstants.X_VARIABLE_PATTERN.matcher(variable).matches() ||
+               SEmulatorConstants.Z_VARIABLE_PATTERN.matcher(variable).matches();
+    }
+
+    private void validateInstructionArguments(SInstructionXml xmlInstruction) throws XMLValidationException {
+        String instructionName = xmlInstruction.getName().trim();
+        
+        if (xmlInstruction.getSInstructionArguments() != null) {
+            Map<String, String> arguments = new HashMap<>();
+            
+            for (SInstructionArgumentXml arg : xmlInstruction.getSInstructionArguments().getSInstructionArgument()) {
+                if (arg.getName() == null || arg.getName().trim().isEmpty()) {
+                    throw new XMLValidationException("Argument name cannot be null or empty in instruction: " + instructionName);
+                }
+                if (arg.getValue() == null) {
+                    throw new XMLValidationException("Argument value cannot be null for argument '" + 
+                        arg.getName() + "' in instruction: " + instructionName);
+                }
+                
+                if (arg.getValue().trim().isEmpty() && !arg.getName().equals(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG)) {
+                    throw new XMLValidationException("Argument value cannot be empty for argument '" + 
+                        arg.getName() + "' in instruction: " + instructionName);
+                }
+                arguments.put(arg.getName().trim(), arg.getValue().trim());
+            }
+
+            validateArgumentsForInstructionType(instructionName, arguments);
+        }
+    }
+
+    private void validateArgumentsForInstructionType(String instructionName, Map<String, String> arguments) throws XMLValidationException {
+        switch (instructionName) {
+            case SEmulatorConstants.JUMP_NOT_ZERO_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.JNZ_LABEL_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.JUMP_NOT_ZERO_NAME + " instruction requires '" + SEmulatorConstants.JNZ_LABEL_ARG + "' argument");
+                }
+                break;
+            default:
+                break;
+            case SEmulatorConstants.ASSIGNMENT_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.ASSIGNED_VARIABLE_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.ASSIGNMENT_NAME + " instruction requires '" + SEmulatorConstants.ASSIGNED_VARIABLE_ARG + "' argument");
+                }
+                break;
+            case SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.CONSTANT_VALUE_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.CONSTANT_ASSIGNMENT_NAME + " instruction requires '" + SEmulatorConstants.CONSTANT_VALUE_ARG + "' argument");
+                }
+                break;
+            case SEmulatorConstants.GOTO_LABEL_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.GOTO_LABEL_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.GOTO_LABEL_NAME + " instruction requires '" + SEmulatorConstants.GOTO_LABEL_ARG + "' argument");
+                }
+                break;
+            case SEmulatorConstants.JUMP_ZERO_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.JZ_LABEL_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.JUMP_ZERO_NAME + " instruction requires '" + SEmulatorConstants.JZ_LABEL_ARG + "' argument");
+                }
+                break;
+            case SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.JE_CONSTANT_LABEL_ARG) || !arguments.containsKey(SEmulatorConstants.CONSTANT_VALUE_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.JUMP_EQUAL_CONSTANT_NAME + " instruction requires '" + SEmulatorConstants.JE_CONSTANT_LABEL_ARG + "' and '" + SEmulatorConstants.CONSTANT_VALUE_ARG + "' arguments");
+                }
+                break;
+            case SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.JE_VARIABLE_LABEL_ARG) || !arguments.containsKey(SEmulatorConstants.VARIABLE_NAME_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.JUMP_EQUAL_VARIABLE_NAME + " instruction requires '" + SEmulatorConstants.JE_VARIABLE_LABEL_ARG + "' and '" + SEmulatorConstants.VARIABLE_NAME_ARG + "' arguments");
+                }
+                break;
+            case SEmulatorConstants.QUOTE_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.FUNCTION_NAME_ARG) || !arguments.containsKey(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.QUOTE_NAME + " instruction requires '" + SEmulatorConstants.FUNCTION_NAME_ARG + "' and '" + SEmulatorConstants.FUNCTION_ARGUMENTS_ARG + "' arguments");
+                }
+                break;
+            case SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME:
+                if (!arguments.containsKey(SEmulatorConstants.JE_FUNCTION_LABEL_ARG) || 
+                    !arguments.containsKey(SEmulatorConstants.FUNCTION_NAME_ARG) || 
+                    !arguments.containsKey(SEmulatorConstants.FUNCTION_ARGUMENTS_ARG)) {
+                    throw new XMLValidationException(SEmulatorConstants.JUMP_EQUAL_FUNCTION_NAME + " instruction requires '" + 
+                        SEmulatorConstants.JE_FUNCTION_LABEL_ARG + "', '" + SEmulatorConstants.FUNCTION_NAME_ARG + "', and '" + 
+                        SEmulatorConstants.FUNCTION_ARGUMENTS_ARG + "' arguments");
+                }
+                break;
+        }
+    }
+
+    private void collectReferencedLabels(SInstructionXml xmlInstruction, Set<String> referencedLabels) {
+        if (xmlInstruction.getSInstructionArguments() != null) {
+            for (SInstructionArgumentXml arg : xmlInstruction.getSInstructionArguments().getSInstructionArgument()) {
+                String argName = arg.getName().trim();
+                String argValue = arg.getValue().trim();
+                
+                if (argName.contains("Label")) {
+                    referencedLabels.add(argValue);
+                }
+            }
+        }
+    }
+
+    private void validateLabelReferences(Set<String> definedLabels, Set<String> referencedLabels) throws XMLValidationException {
+        for (String referencedLabel : referencedLabels) {
+            if (!SEmulatorConstants.LABEL_PATTERN.matcher(referencedLabel).matches()) {
+                throw new XMLValidationException("Invalid label format: '" + referencedLabel + 
+                    "'. Must be 'L' followed by digits or 'EXIT'");
+            }
+            
+            if (!definedLabels.contains(referencedLabel) && !referencedLabel.equals(SEmulatorConstants.EXIT_LABEL)) {
+                throw new XMLValidationException("Referenced label '" + referencedLabel + "' is not defined in the program");
+            }
+        }
+    }
+
+    private void checkConvertible(SInstructionXml xmlInstruction) throws XMLValidationException {
+        String name = xmlInstruction.getName().trim();
+        Map<String, String> arguments = argumentsOf(xmlInstruction);
+        validateArgumentsForInstructionType(name, arguments);
+        try {
+            InstructionFactory.validateInstruction(name, xmlInstruction.getSVariable().trim(), arguments);
+        } catch (IllegalArgumentException e) {
+            throw new XMLValidationException("Failed to create instruction '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, String> argumentsOf(SInstructionXml xmlInstruction) {
+        Map<String, String> arguments = new HashMap<>();
+        if (xmlInstruction.getSInstructionArguments() != null) {
+            for (SInstructionArgumentXml arg : xmlInstruction.getSInstructionArguments().getSInstructionArgument()) {
+                arguments.put(arg.getName().trim(), arg.getValue().trim());
+            }
+        }
+        return arguments;
+    }
+
+    private SInstruction convertXmlInstructionToSInstruction(SInstructionXml xmlInstruction) throws XMLValidationException {
+        String name = xmlInstruction.getName().trim();
+        String variable = xmlInstruction.getSVariable().trim();
+        String label = (xmlInstruction.getSLabel() != null && !xmlInstruction.getSLabel().trim().isEmpty()) 
+            ? xmlInstruction.getSLabel().trim() : null;
+        
+        Map<String, String> arguments = argumentsOf(xmlInstruction);
+
+        try {
+            return InstructionFactory.createInstruction(name, variable, label, arguments);
+        } catch (IllegalArgumentException e) {
+            throw new XMLValidationException("Failed to create instruction '" + name + "': " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package engine.xml;
+
+import engine.api.LoadProgressListener;
+import engine.api.LoadStage;
+import engine.api.SProgram;
+import engine.exception.XMLValidationException;
+import engine.model.FunctionRegistry;
+import engine.xml.model.SInstructionArgumentXml;
+import engine.xml.model.SInstructionArgumentsXml;
+import engine.xml.model.SInstructionXml;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+final class StreamingProgramLoader {
+    private static volatile StreamingProgramLoader shared;
+    private static volatile boolean unsupported;
+
+    private final SAXParserFactory validatingFactory;
+    private final SAXParserFactory trustedFactory;
+    private final ThreadLocal<SAXParser> validatingParsers = new ThreadLocal<>();
+    private final ThreadLocal<SAXParser> trustedParsers = new ThreadLocal<>();
+
+    private StreamingProgramLoader(SAXParserFactory validatingFactory, SAXParserFactory trustedFactory) {
+        this.validatingFactory = validatingFactory;
+        this.trustedFactory = trustedFactory;
+    }
+
+    static StreamingProgramLoader shared() {
+        StreamingProgramLoader loader = shared;
+        if (loader == null && !unsupported) {
+            synchronized (StreamingProgramLoader.class) {
+                loader = shared;
+                if (loader == null && !unsupported) {
+                    loader = create();
+                    shared = loader;
+                    unsupported = loader == null;
+                }
+            }
+        }
+        return loader;
+    }
+
+    private static StreamingProgramLoader create() {
+        try {
+            SAXParserFactory validatingFactory = newFactory();
+            validatingFactory.setSchema(XMLValidator.sharedSchema());
+            validatingFactory.newSAXParser();
+            SAXParserFactory trustedFactory = newFactory();
+            trustedFactory.newSAXParser();
+            return new StreamingProgramLoader(validatingFactory, trustedFactory);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static SAXParserFactory newFactory() throws Exception {
+        SAXParserFactory parserFactory = SAXParserFactory.newInstance();
+        parserFactory.setNamespaceAware(true);
+        parserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        return parserFactory;
+    }
+
+    SProgram load(String filePath, byte[] content, XMLValidator xmlValidator, ForkJoinPool functionPool,
+                  boolean lazyFunctions, LoadProgressListener listener) throws XMLValidationException {
+        LoadProgressListener.report(listener, LoadStage.VALIDATING, 0.0);
+        File xmlFile = xmlValidator.checkXMLFile(filePath);
+        boolean trusted = content != null && xmlValidator.isTrusted(content);
+        ProgramHandler handler = new ProgramHandler(functionPool, lazyFunctions, listener);
+        try (CountingInputStream in = new CountingInputStream(
+                 content != null ? new ByteArrayInputStream(content) : new FileInputStream(xmlFile))) {
+            handler.track(in, content != null ? content.length : xmlFile.length());
+            InputSource source = new InputSource(in);
+            source.setSystemId(xmlFile.toURI().toString());
+            parser(trusted).parse(source, handler);
+        } catch (SAXParseException e) {
+            handler.cancel();
+            throw new XMLValidationException("XML validation failed for file '" + filePath + "': " + e.getMessage(), e);
+        } catch (Exception e) {
+            handler.cancel();
+            throw new XMLValidationException("Failed to parse XML file '" + filePath + "': " + e.getMessage(), e);
+        }
+
+        try {
+            return handler.result();
+        } catch (XMLValidationException e) {
+            throw new XMLValidationException("Failed to parse XML file '" + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    private SAXParser parser(boolean trusted) throws Exception {
+        ThreadLocal<SAXParser> parsers = trusted ? trustedParsers : validatingParsers;
+        SAXParser parser = parsers.get();
+        if (parser == null) {
+            SAXParserFactory parserFactory = trusted ? trustedFactory : validatingFactory;
+            synchronized (parserFactory) {
+                parser = parserFactory.newSAXParser();
+            }
+            parsers.set(parser);
+        } else {
+            parser.reset();
+        }
+        return parser;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private static final class ProgramHandler extends DefaultHandler {
+        private final FunctionConverter functionConverter;
+        private final LoadProgressListener listener;
+        private CountingInputStream input;
+        private long inputLength;
+        private int reportedPercent;
+        private ProgramAssembler program;
+        private List<SInstructionXml> functionInstructions;
+        private String functionName;
+        private String functionUserString;
+        private SInstructionXml instruction;
+        private List<SInstructionArgumentXml> arguments;
+        private StringBuilder text;
+        private SProgram result;
+        private XMLValidationException failure;
+
+        private ProgramHandler(ForkJoinPool functionPool, boolean lazyFunctions, LoadProgressListener listener) {
+            this.functionConverter = new FunctionConverter(functionPool, lazyFunctions);
+            this.listener = listener;
+            this.reportedPercent = -1;
+        }
+
+        private void track(CountingInputStream input, long inputLength) {
+            this.input = input;
+            this.inputLength = inputLength;
+        }
+
+        private void reportProgress() {
+            if (listener == null || inputLength <= 0) {
+                return;
+            }
+            int percent = (int) (input.count * 100 / inputLength);
+            if (percent > reportedPercent) {
+                reportedPercent = percent;
+                LoadProgressListener.report(listener, LoadStage.PARSING, percent / 100.0);
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                switch (qName) {
+                    case "S-Program":
+                        program = ProgramAssembler.forProgram(attributes.getValue("name"));
+                        break;
+                    case "S-Function":
+                        functionName = attributes.getValue("name");
+                        functionUserString = attributes.getValue("user-string");
+                        functionInstructions = new ArrayList<>();
+                        break;
+                    case "S-Instruction":
+                        instruction = new SInstructionXml();
+                        instruction.setName(attributes.getValue("name"));
+                        instruction.setType(attributes.getValue("type"));
+                        break;
+                    case "S-Instruction-Arguments":
+                        arguments = new ArrayList<>();
+                        SInstructionArgumentsXml xmlArguments = new SInstructionArgumentsXml();
+                        xmlArguments.setSInstructionArgument(arguments);
+                        instruction.setSInstructionArguments(xmlArguments);
+                        break;
+                    case "S-Instruction-Argument":
+                        SInstructionArgumentXml argument = new SInstructionArgumentXml();
+                        argument.setName(attributes.getValue("name"));
+                        argument.setValue(attributes.getValue("value"));
+                        arguments.add(argument);
+                        break;
+                    case "S-Variable":
+                    case "S-Label":
+                        text = new StringBuilder();
+                        break;
+                    default:
+                        break;
+                }
+            } catch (XMLValidationException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (text != null) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                switch (qName) {
+                    case "S-Variable":
+                        instruction.setSVariable(text.toString());
+                        text = null;
+                        break;
+                    case "S-Label":
+                        instruction.setSLabel(text.toString());
+                        text = null;
+                        break;
+                    case "S-Instruction":
+                        if (functionInstructions != null) {
+                            functionInstructions.add(instruction);
+                        } else {
+                            program.addInstruction(instruction);
+                        }
+                        instruction = null;
+                        arguments = null;
+                        reportProgress();
+                        break;
+                    case "S-Instructions":
+                        if (functionInstructions == null) {
+                            program.finishInstructions();
+                        }
+                        break;
+                    case "S-Function":
+                        functionConverter.submit(functionName, functionUserString, functionInstructions);
+                        functionInstructions = null;
+                        break;
+                    case "S-Program":
+                        LoadProgressListener.report(listener, LoadStage.PARSING, 1.0);
+                        FunctionRegistry functionRegistry = new FunctionRegistry();
+                        functionConverter.registerAll(functionRegistry, listener);
+                        result = program.complete(functionRegistry);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (XMLValidationException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new XMLValidationException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void error(SAXParseException e) throws SAXException {
+            throw e;
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            throw e;
+        }
+
+        private void cancel() {
+            functionConverter.cancel();
+        }
+
+        private SProgram result() throws XMLValidationException {
+            if (failure != null) {
+                cancel();
+                throw failure;
+            }
+            if (result == null) {
+                throw new XMLValidationException("Document does not contain an S-Program element");
+            }
+            return result;
+        }
+    }
+}
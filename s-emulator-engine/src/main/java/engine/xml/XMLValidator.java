@@ -6,29 +6,126 @@ import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class XMLValidator {
     private static final String XSD_RESOURCE_PATH = "/S-Emulator-v2.xsd";
+    private static volatile Schema sharedSchema;
+    private static final ThreadLocal<Validator> VALIDATORS = new ThreadLocal<>();
+
     private final Schema schema;
+    private final Set<String> trustedHashes;
 
     public XMLValidator() throws XMLValidationException {
-        try {
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            InputStream xsdStream = getClass().getResourceAsStream(XSD_RESOURCE_PATH);
-            
+        this.schema = sharedSchema();
+        this.trustedHashes = ConcurrentHashMap.newKeySet();
+    }
+
+    public static Schema sharedSchema() throws XMLValidationException {
+        Schema schema = sharedSchema;
+        if (schema == null) {
+            synchronized (XMLValidator.class) {
+                schema = sharedSchema;
+                if (schema == null) {
+                    schema = compileSchema();
+                    sharedSchema = schema;
+                }
+            }
+        }
+        return schema;
+    }
+
+    private static Schema compileSchema() throws XMLValidationException {
+        try (InputStream xsdStream = XMLValidator.class.getResourceAsStream(XSD_RESOURCE_PATH)) {
             if (xsdStream == null) {
                 throw new XMLValidationException("XSD schema file not found in resources: " + XSD_RESOURCE_PATH);
             }
-            
-            this.schema = factory.newSchema(new StreamSource(xsdStream));
+
+            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            return factory.newSchema(new StreamSource(xsdStream));
         } catch (Exception e) {
             throw new XMLValidationException("Failed to initialize XML schema validator", e);
         }
     }
 
-    public void validateXMLFile(String filePath) throws XMLValidationException {
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public void trustHash(String sha256) {
+        if (sha256 == null || sha256.trim().isEmpty()) {
+            throw new IllegalArgumentException("Trusted hash cannot be null or empty");
+        }
+        trustedHashes.add(sha256.trim().toLowerCase(Locale.ENGLISH));
+    }
+
+    public void clearTrustedHashes() {
+        trustedHashes.clear();
+    }
+
+    public boolean hasTrustedHashes() {
+        return !trustedHashes.isEmpty();
+    }
+
+    public boolean isTrusted(byte[] content) {
+        return !trustedHashes.isEmpty() && trustedHashes.contains(sha256(content));
+    }
+
+    public static String sha256(byte[] content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        return HexFormat.of().formatHex(digest.digest(content));
+    }
+
+    public byte[] readXMLFile(String filePath) throws XMLValidationException {
+        File xmlFile = checkXMLFile(filePath);
+        try {
+            return Files.readAllBytes(xmlFile.toPath());
+        } catch (IOException e) {
+            throw new XMLValidationException("Failed to read file '" + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    public void validateXML(String filePath, byte[] content) throws XMLValidationException {
+        if (isTrusted(content)) {
+            return;
+        }
+
+        try {
+            StreamSource source = new StreamSource(new ByteArrayInputStream(content));
+            source.setSystemId(new File(filePath).toURI().toString());
+            validator().validate(source);
+        } catch (Exception e) {
+            throw new XMLValidationException("XML validation failed for file '" + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    private Validator validator() {
+        Validator validator = VALIDATORS.get();
+        if (validator == null) {
+            validator = schema.newValidator();
+            VALIDATORS.set(validator);
+        } else {
+            validator.reset();
+        }
+        return validator;
+    }
+
+    public File checkXMLFile(String filePath) throws XMLValidationException {
         if (filePath == null || filePath.trim().isEmpty()) {
             throw new XMLValidationException("File path cannot be null or empty");
         }
@@ -43,15 +140,9 @@ public class XMLValidator {
             throw new XMLValidationException("Path does not point to a file: " + filePath);
         }
 
-        if (!filePath.toLowerCase(java.util.Locale.ENGLISH).endsWith(".xml")) {
+        if (!filePath.toLowerCase(Locale.ENGLISH).endsWith(".xml")) {
             throw new XMLValidationException("File must have .xml extension: " + filePath);
         }
-
-        try {
-            Validator validator = schema.newValidator();
-            validator.validate(new StreamSource(xmlFile));
-        } catch (Exception e) {
-            throw new XMLValidationException("XML validation failed for file '" + filePath + "': " + e.getMessage(), e);
-        }
+        return xmlFile;
     }
 }
@@ -16,6 +16,7 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -41,7 +42,7 @@ public class ExecutionController {
     private List<Integer> debugOriginalInputs = null;
     private int debugRunNumber = -1;
     private Consumer<Integer> onCurrentInstructionChanged;
-    private Consumer<Map<String, Integer>> onVariablesChanged;
+    private Consumer<Map<String, BigInteger>> onVariablesChanged;
     private Runnable onDebugSessionStarted;
     private Runnable onDebugSessionEnded;
     private Consumer<List<Integer>> onInputsPopulated;
@@ -93,7 +94,7 @@ public class ExecutionController {
         this.onCurrentInstructionChanged = onCurrentInstructionChanged;
     }
     
-    public void setOnVariablesChanged(Consumer<Map<String, Integer>> onVariablesChanged) {
+    public void setOnVariablesChanged(Consumer<Map<String, BigInteger>> onVariablesChanged) {
         this.onVariablesChanged = onVariablesChanged;
     }
     
@@ -106,8 +107,12 @@ public class ExecutionController {
     }
     
     public void resetExecutionState() {
+        boolean sessionWasActive = debugSessionActive;
         debugSessionActive = false;
         debugOriginalInputs = null;
+        if (sessionWasActive && onDebugSessionEnded != null) {
+            onDebugSessionEnded.run();
+        }
     }
     
     public void handleStartRun() {
@@ -256,7 +261,7 @@ public class ExecutionController {
                     onCurrentInstructionChanged.accept(context.getCurrentInstructionIndex());
                 }
 
-                Map<String, Integer> changedVars = engine.getChangedVariables();
+                Map<String, BigInteger> changedVars = engine.getChangedVariables();
                 if (onVariablesChanged != null) {
                     onVariablesChanged.accept(changedVars);
                 }
@@ -461,13 +466,13 @@ public class ExecutionController {
     private void updateVariablesTable(ExecutionResult result) {
         ObservableList<VariableTableRow> variableData = FXCollections.observableArrayList();
 
-        Map<String, Integer> inputVars = result.getInputVariables();
-        for (Map.Entry<String, Integer> entry : inputVars.entrySet()) {
+        Map<String, BigInteger> inputVars = result.getInputVariables();
+        for (Map.Entry<String, BigInteger> entry : inputVars.entrySet()) {
             variableData.add(new VariableTableRow(entry.getKey(), String.valueOf(entry.getValue())));
         }
 
-        Map<String, Integer> workingVars = result.getWorkingVariables();
-        for (Map.Entry<String, Integer> entry : workingVars.entrySet()) {
+        Map<String, BigInteger> workingVars = result.getWorkingVariables();
+        for (Map.Entry<String, BigInteger> entry : workingVars.entrySet()) {
             variableData.add(new VariableTableRow(entry.getKey(), String.valueOf(entry.getValue())));
         }
 
@@ -497,7 +502,7 @@ public class ExecutionController {
         variablesTable.setItems(variableData);
     }
     
-    private void updateCyclesDisplay(int totalCycles) {
+    private void updateCyclesDisplay(long totalCycles) {
         cyclesLabel.setText("Total Cycles: " + totalCycles);
     }
 
@@ -546,13 +551,13 @@ public class ExecutionController {
         ObservableList<VariableTableRow> variableData = FXCollections.observableArrayList();
         VariableManager variableManager = context.getVariableManager();
 
-        Map<String, Integer> inputVars = variableManager.getSortedInputVariablesMap();
-        for (Map.Entry<String, Integer> entry : inputVars.entrySet()) {
+        Map<String, BigInteger> inputVars = variableManager.getSortedInputVariablesMap();
+        for (Map.Entry<String, BigInteger> entry : inputVars.entrySet()) {
             variableData.add(new VariableTableRow(entry.getKey(), String.valueOf(entry.getValue())));
         }
 
-        Map<String, Integer> workingVars = variableManager.getSortedWorkingVariablesMap();
-        for (Map.Entry<String, Integer> entry : workingVars.entrySet()) {
+        Map<String, BigInteger> workingVars = variableManager.getSortedWorkingVariablesMap();
+        for (Map.Entry<String, BigInteger> entry : workingVars.entrySet()) {
             variableData.add(new VariableTableRow(entry.getKey(), String.valueOf(entry.getValue())));
         }
 
@@ -3,10 +3,15 @@ package fx.controller;
 import engine.api.SEmulatorEngine;
 import engine.api.SProgram;
 import engine.exception.SProgramException;
+import engine.reload.ProgramFileWatcher;
+import engine.reload.ReloadReport;
 import fx.service.FileService;
 import fx.util.ErrorDialogUtil;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.stage.Stage;
 import java.io.File;
+import java.io.IOException;
 import java.util.function.Consumer;
 
 public class FileController {
@@ -18,6 +23,13 @@ public class FileController {
     private Consumer<String> statusUpdater;
     private Runnable onProgramLoaded;
     private Runnable onProgramStateCleared;
+    private Runnable onProgramReloaded;
+
+    private File currentFile;
+    private boolean hotReloadEnabled;
+    private ProgramFileWatcher fileWatcher;
+    private Task<ReloadReport> reloadTask;
+    private boolean reloadPending;
     
     public FileController(SEmulatorEngine engine, FileService fileService) {
         this.engine = engine;
@@ -40,6 +52,23 @@ public class FileController {
         this.onProgramStateCleared = onProgramStateCleared;
     }
     
+    public void setOnProgramReloaded(Runnable onProgramReloaded) {
+        this.onProgramReloaded = onProgramReloaded;
+    }
+    
+    public boolean isHotReloadEnabled() {
+        return hotReloadEnabled;
+    }
+    
+    public void setHotReloadEnabled(boolean enabled) {
+        this.hotReloadEnabled = enabled;
+        if (enabled) {
+            startWatching();
+        } else {
+            stopWatching();
+        }
+    }
+    
     public void handleLoadFile() {
         if (primaryStage == null) {
             updateStatus("Error: No primary stage available for file dialog");
@@ -57,6 +86,7 @@ public class FileController {
         updateStatus("Loading file: " + file.getName());
         
         try {
+            stopWatching();
 
             if (onProgramStateCleared != null) {
                 onProgramStateCleared.run();
@@ -69,6 +99,8 @@ public class FileController {
             if (engine.isProgramLoaded()) {
                 SProgram program = engine.getCurrentProgram();
                 updateStatus("Program loaded: " + program.getName() + " with " + program.getInstructions().size() + " instructions");
+                currentFile = file;
+                startWatching();
 
                 if (onProgramLoaded != null) {
                     onProgramLoaded.run();
@@ -88,6 +120,7 @@ public class FileController {
     }
     
     public void loadProgramFileWithProgress(File file) {
+        stopWatching();
 
         if (onProgramStateCleared != null) {
             onProgramStateCleared.run();
@@ -103,6 +136,8 @@ public class FileController {
                 }
                 
                 updateStatus("Program loaded successfully: " + file.getName());
+                currentFile = file;
+                startWatching();
 
                 if (onProgramLoaded != null) {
                     onProgramLoaded.run();
@@ -117,6 +152,71 @@ public class FileController {
         );
     }
 
+    public void reloadCurrentProgram() {
+        if (!engine.isProgramLoaded()) {
+            return;
+        }
+        if (reloadTask != null) {
+            reloadPending = true;
+            return;
+        }
+
+        Task<ReloadReport> task = new Task<ReloadReport>() {
+            @Override
+            protected ReloadReport call() throws Exception {
+                return engine.reloadProgram();
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            ReloadReport report = task.getValue();
+            updateStatus(report.getSummary());
+            if (!report.isUnchanged() && onProgramReloaded != null) {
+                onProgramReloaded.run();
+            }
+            finishReload();
+        });
+
+        task.setOnFailed(e -> {
+            updateStatus("Hot reload failed: " + task.getException().getMessage());
+            finishReload();
+        });
+
+        reloadTask = task;
+        Thread taskThread = new Thread(task);
+        taskThread.setDaemon(true);
+        taskThread.start();
+    }
+
+    private void finishReload() {
+        reloadTask = null;
+        if (reloadPending) {
+            reloadPending = false;
+            reloadCurrentProgram();
+        }
+    }
+
+    private void startWatching() {
+        stopWatching();
+        if (!hotReloadEnabled || currentFile == null) {
+            return;
+        }
+
+        try {
+            fileWatcher = new ProgramFileWatcher(currentFile.toPath(), () -> Platform.runLater(this::reloadCurrentProgram));
+        } catch (IOException e) {
+            updateStatus("Hot reload unavailable: " + e.getMessage());
+        }
+    }
+
+    private void stopWatching() {
+        reloadPending = false;
+        if (fileWatcher != null) {
+            fileWatcher.close();
+            fileWatcher = null;
+        }
+    }
+
     private void updateStatus(String message) {
         if (statusUpdater != null) {
             statusUpdater.accept(message);
@@ -10,6 +10,7 @@ import engine.model.SProgramImpl;
 import engine.model.instruction.InstructionFactory;
 import engine.model.SEmulatorConstants;
 import engine.expansion.ExpansionEngine;
+import engine.expansion.ExpansionEstimate;
 import engine.model.SEmulatorEngineImpl;
 import fx.model.ExecutionHistoryRow;
 import fx.model.InstructionTableRow;
@@ -26,6 +27,7 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import java.math.BigInteger;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +45,7 @@ public class MainController implements Initializable {
     private WorkflowState currentWorkflowState = WorkflowState.IDLE;
 
     @FXML private MenuItem loadFileMenuItem;
+    @FXML private CheckMenuItem hotReloadMenuItem;
     @FXML private MenuItem exitMenuItem;
     @FXML private MenuItem aboutMenuItem;
     
@@ -234,6 +237,7 @@ public class MainController implements Initializable {
         fileController.setStatusUpdater(this::updateStatusLabel);
         fileController.setOnProgramLoaded(this::onProgramLoaded);
         fileController.setOnProgramStateCleared(this::clearAllProgramState);
+        fileController.setOnProgramReloaded(this::onProgramReloaded);
     }
     
     private void setupExecutionControllerCallbacks() {
@@ -362,6 +366,37 @@ public class MainController implements Initializable {
         }
     }
 
+    private void onProgramReloaded() {
+        if (!engine.isProgramLoaded()) {
+            return;
+        }
+
+        SProgram program = engine.getCurrentProgram();
+        currentFilePathLabel.setText(program.getName());
+        if (getContextProgram() == null) {
+            currentContextProgram = "Main Program";
+            executionController.setCurrentContext("Main Program");
+        }
+
+        SProgram contextProgram = getContextProgram();
+        if (contextProgram != null && currentExpansionLevel > contextProgram.getMaxExpansionLevel()) {
+            currentExpansionLevel = contextProgram.getMaxExpansionLevel();
+        }
+        executionController.resetExecutionState();
+        executionController.setCurrentExpansionLevel(currentExpansionLevel);
+        highlightController.clearHighlighting();
+        clearVariablesTable();
+
+        updateProgramFunctionSelector();
+        updateLevelSelector();
+        updateLevelDisplay();
+        updateProgramDisplay();
+
+        inputController.updateInputFieldsForProgram(program);
+
+        setWorkflowState(WorkflowState.IDLE);
+    }
+
     public void setPrimaryStage(Stage primaryStage) {
         this.primaryStage = primaryStage;
         if (fileController != null) {
@@ -377,6 +412,13 @@ public class MainController implements Initializable {
         fileController.handleLoadFile();
     }
 
+    @FXML
+    private void handleToggleHotReload() {
+        boolean enabled = hotReloadMenuItem.isSelected();
+        fileController.setHotReloadEnabled(enabled);
+        updateStatusLabel("Hot reload " + (enabled ? "enabled" : "disabled"));
+    }
+
     @FXML
     private void handleExit() {
         if (primaryStage != null) {
@@ -485,18 +527,38 @@ public class MainController implements Initializable {
         }
         
         int maxLevel = contextProgram.getMaxExpansionLevel();
+        int maxAllowedLevel = findMaxLevelWithinBudget(contextProgram, maxLevel);
         ObservableList<String> levelOptions = FXCollections.observableArrayList();
         
-        for (int i = 0; i <= maxLevel; i++) {
+        for (int i = 0; i <= maxAllowedLevel; i++) {
             levelOptions.add(String.valueOf(i));
         }
         
         levelSelector.setItems(levelOptions);
         
+        if (maxAllowedLevel < maxLevel) {
+            updateStatusLabel("Levels above " + maxAllowedLevel + " exceed the expansion budget of " + 
+                engine.getExpansionBudget() + " instructions");
+        }
+        
         levelSelector.setValue(String.valueOf(currentExpansionLevel));
         
     }
 
+    private int findMaxLevelWithinBudget(SProgram program, int maxLevel) {
+        try {
+            ExpansionEstimate estimate = engine.estimateExpansion(program);
+            for (int level = 1; level <= maxLevel; level++) {
+                if (estimate.getTotalInstructionCount(level) > engine.getExpansionBudget()) {
+                    return level - 1;
+                }
+            }
+        } catch (SProgramException e) {
+            updateStatusLabel("Warning: Could not estimate expansion size: " + e.getMessage());
+        }
+        return maxLevel;
+    }
+
     @FXML
     private void handleFinalStart() {
         if (currentWorkflowState == WorkflowState.READY_TO_RUN && executionModeCombo != null) {
@@ -637,12 +699,18 @@ public class MainController implements Initializable {
     }
     
     private SProgram createFunctionWrapperProgram(String functionName, String userString) {
+        SProgram actualFunction;
+        try {
+            actualFunction = engine.getFunction(functionName);
+        } catch (SProgramException e) {
+            updateStatusLabel(e.getMessage());
+            return null;
+        }
+        if (actualFunction == null) {
+            return null;
+        }
+        
         try {
-            SProgram actualFunction = engine.getFunction(functionName);
-            if (actualFunction == null) {
-                return null;
-            }
-            
             SProgramImpl wrapperProgram = new SProgramImpl(userString);
             
             List<String> inputVariables = actualFunction.getInputVariables();
@@ -657,12 +725,13 @@ public class MainController implements Initializable {
                 SEmulatorConstants.QUOTE_NAME, "y", null, quoteArgs);
             
             wrapperProgram.addInstruction(quoteInstruction);
+            wrapperProgram.freeze();
             
             wrapperProgram.setFunctionRegistry(engine.getCurrentProgram().getFunctionRegistry());
             
             return wrapperProgram;
         } catch (Exception e) {
-            return engine.getFunction(functionName);
+            return actualFunction;
         }
     }
     
@@ -894,7 +963,13 @@ public class MainController implements Initializable {
             return;
         }
         
-        SProgram functionProgram = engine.getFunction(functionName);
+        SProgram functionProgram;
+        try {
+            functionProgram = engine.getFunction(functionName);
+        } catch (SProgramException e) {
+            updateStatusLabel(e.getMessage());
+            return;
+        }
         if (functionProgram == null) {
             updateStatusLabel("Function program not found: " + functionName);
             return;
@@ -920,10 +995,10 @@ public class MainController implements Initializable {
 
             int instructionIndex = Integer.parseInt(selectedRow.getCommandNumber()) - 1;
             
-            if (instructionIndex >= 0 && instructionIndex < program.getInstructions().size()) {
-                SInstruction instruction = program.getInstructions().get(instructionIndex);
+            if (instructionIndex >= 0 && instructionIndex < program.size()) {
+                SInstruction instruction = program.instructionAt(instructionIndex);
 
-                List<SInstruction> ancestryChain = instruction.getAncestryChain();
+                List<SInstruction> ancestryChain = program.ancestryChainAt(instructionIndex);
 
                 ObservableList<InstructionTableRow> historyData = FXCollections.observableArrayList();
 
@@ -995,7 +1070,7 @@ public class MainController implements Initializable {
         }
     }
     
-    private void highlightChangedVariables(Map<String, Integer> changedVariables) {
+    private void highlightChangedVariables(Map<String, BigInteger> changedVariables) {
         if (variablesTable == null || changedVariables == null) {
             return;
         }
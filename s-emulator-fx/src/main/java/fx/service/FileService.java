@@ -1,7 +1,9 @@
 package fx.service;
 
+import engine.api.LoadStage;
 import engine.api.SEmulatorEngine;
 import engine.exception.SProgramException;
+import engine.io.text.TextProgramFormat;
 import fx.util.FileLoadingProgressDialog;
 import javafx.concurrent.Task;
 import javafx.stage.FileChooser;
@@ -45,33 +47,19 @@ public class FileService {
             protected Void call() throws Exception {
                 updateTitle("Loading Program File");
                 updateMessage("Validating file: " + file.getName());
-                updateProgress(0, 100);
+                updateProgress(0, 1);
                 
-                Thread.sleep(500);
-                updateProgress(25, 100);
-                
-                updateMessage("Parsing XML structure...");
-                Thread.sleep(300);
-                updateProgress(50, 100);
-                
-                updateMessage("Validating program structure...");
-                Thread.sleep(400);
-                updateProgress(75, 100);
-                
-                updateMessage("Loading program into engine...");
                 try {
-                    engine.loadProgram(file.getAbsolutePath());
+                    engine.loadProgram(file.getAbsolutePath(), (stage, progress) -> {
+                        updateMessage(describeStage(stage, file) + " " + Math.round(progress * 100) + "%");
+                        updateProgress(progress, 1);
+                    });
                 } catch (SProgramException e) {
                     throw new RuntimeException("Failed to load program: " + e.getMessage(), e);
-                } catch (Exception e) {
-                    throw e;
                 }
                 
-                updateProgress(100, 100);
+                updateProgress(1, 1);
                 updateMessage("Program loaded successfully");
-                Thread.sleep(200);
-                
-                updateMessage("Task completed successfully");
                 
                 return null;
             }
@@ -120,12 +108,32 @@ public class FileService {
         }
     }
     
+    private static String describeStage(LoadStage stage, File file) {
+        switch (stage) {
+            case VALIDATING:
+                return "Validating file: " + file.getName();
+            case PARSING:
+                return TextProgramFormat.isTextFile(file.getName()) ? "Parsing S-assembly..." : "Parsing XML structure...";
+            case CONVERTING_FUNCTIONS:
+                return "Converting functions...";
+            case LINKING:
+                return "Linking function calls...";
+            case WARMING_UP:
+                return "Preparing expansions...";
+            default:
+                return "Program loaded";
+        }
+    }
+    
     public File showLoadFileDialog(Stage parentStage) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Load S-Program File");
         fileChooser.getExtensionFilters().add(
             new FileChooser.ExtensionFilter("XML Files", "*.xml")
         );
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("S-Assembly Files", "*" + TextProgramFormat.FILE_EXTENSION)
+        );
 
         String userHome = System.getProperty("user.home");
         if (userHome != null) {
@@ -156,8 +164,8 @@ public class FileService {
         }
 
         String fileName = file.getName().toLowerCase(java.util.Locale.ENGLISH);
-        if (!fileName.endsWith(".xml")) {
-            throw new IllegalArgumentException("File must be an XML file: " + file.getName());
+        if (!fileName.endsWith(".xml") && !TextProgramFormat.isTextFile(fileName)) {
+            throw new IllegalArgumentException("File must be an XML or S-assembly file: " + file.getName());
         }
 
         long fileSizeKB = file.length() / 1024;
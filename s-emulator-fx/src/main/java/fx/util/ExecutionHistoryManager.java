@@ -4,6 +4,7 @@ import fx.model.ExecutionHistoryRow;
 import engine.api.ExecutionResult;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
@@ -70,7 +71,7 @@ public class ExecutionHistoryManager {
     }
 
     public void addExecutionToCurrentContext(int runNumber, int expansionLevel, String inputs, 
-                                           int yValue, int totalCycles, String actions) {
+                                           BigInteger yValue, long totalCycles, String actions) {
         ExecutionHistoryRow historyRow = new ExecutionHistoryRow(
             String.valueOf(runNumber),
             String.valueOf(expansionLevel),
@@ -86,7 +87,7 @@ public class ExecutionHistoryManager {
 
     public void addExecutionResultToCurrentContext(ExecutionResult executionResult, int runNumber, 
                                                  int expansionLevel, String inputs, 
-                                                 int yValue, int totalCycles, String actions) {
+                                                 BigInteger yValue, long totalCycles, String actions) {
         
         addExecutionToCurrentContext(runNumber, expansionLevel, inputs, yValue, totalCycles, actions);
         
@@ -89,11 +89,7 @@ public class FileLoadingProgressDialog {
             progressBar.progressProperty().unbind();
             messageLabel.setText("File loaded successfully!");
             progressBar.setProgress(1.0);
-            
-            Timeline closeTimeline = new Timeline(new KeyFrame(Duration.millis(500), event -> {
-                dialogStage.close();
-            }));
-            closeTimeline.play();
+            dialogStage.close();
         });
         
         task.setOnFailed(e -> {
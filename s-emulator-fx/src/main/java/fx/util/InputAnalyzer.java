@@ -20,8 +20,7 @@ public class InputAnalyzer {
 
         Set<String> usedVariables = new HashSet<>();
         
-        for (int i = 0; i < program.getInstructions().size(); i++) {
-            SInstruction instruction = program.getInstructions().get(i);
+        for (SInstruction instruction : program.getInstructions()) {
             analyzeInstruction(instruction, usedVariables);
         }
 
@@ -11,6 +11,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
+import java.math.BigInteger;
 import java.util.Map;
 
 public class StateInspectionDialog {
@@ -96,8 +97,8 @@ public class StateInspectionDialog {
         
         ObservableList<VariableStateRow> data = FXCollections.observableArrayList();
         
-        Map<String, Integer> inputVars = executionResult.getInputVariables();
-        Map<String, Integer> workingVars = executionResult.getWorkingVariables();
+        Map<String, BigInteger> inputVars = executionResult.getInputVariables();
+        Map<String, BigInteger> workingVars = executionResult.getWorkingVariables();
         
         inputVars.entrySet().stream()
             .sorted(Map.Entry.comparingByKey())